@@ -0,0 +1,158 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.googlecode.catchexception.CatchException;
+import com.googlecode.catchexception.ExceptionNotThrownAssertionError;
+import com.googlecode.catchexception.IntResult;
+import com.googlecode.catchexception.Result;
+import com.googlecode.catchexception.ThrowingCallable;
+import com.googlecode.catchexception.apis.BDDCatchException;
+
+/**
+ * Measures the hot path of {@link CatchException} and {@link BDDCatchException}
+ * for the three branches every call takes: no exception, an exception of the
+ * expected type and an exception of another type.
+ * <p>
+ * The actors throw preallocated exceptions so that the numbers reflect the
+ * overhead of the library rather than the cost of filling in stack traces.
+ * Run with <code>-prof gc</code> to see the allocation per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CatchExceptionBenchmark {
+
+    private static final IllegalArgumentException EXPECTED = new IllegalArgumentException("expected");
+
+    private static final IllegalStateException UNEXPECTED = new IllegalStateException("unexpected");
+
+    private static final ThrowingCallable NO_THROW = () -> {
+    };
+
+    private static final ThrowingCallable THROW_EXPECTED = () -> {
+        throw EXPECTED;
+    };
+
+    private static final ThrowingCallable THROW_UNEXPECTED = () -> {
+        throw UNEXPECTED;
+    };
+
+    // outside of the Integer cache, so boxing allocates
+    private String input = "4242";
+
+    private static void parse(String input) {
+        Integer.parseInt(input);
+    }
+
+    @Benchmark
+    public Exception catchException_noThrow() {
+        CatchException.catchException(NO_THROW, IllegalArgumentException.class);
+        return CatchException.caughtException();
+    }
+
+    @Benchmark
+    public Exception catchException_expectedThrow() {
+        CatchException.catchException(THROW_EXPECTED, IllegalArgumentException.class);
+        return CatchException.caughtException();
+    }
+
+    @Benchmark
+    public Exception catchException_wrongTypeThrow() {
+        try {
+            CatchException.catchException(THROW_UNEXPECTED, IllegalArgumentException.class);
+            return null;
+        } catch (IllegalStateException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Exception catchException_capturingLambda() {
+        CatchException.catchException(() -> parse(input), NumberFormatException.class);
+        return CatchException.caughtException();
+    }
+
+    @Benchmark
+    public Exception catchException_consumer() {
+        CatchException.catchException(input, CatchExceptionBenchmark::parse, NumberFormatException.class);
+        return CatchException.caughtException();
+    }
+
+    @Benchmark
+    public Result<Integer> attempt_success() {
+        return CatchException.attempt(() -> Integer.parseInt(input));
+    }
+
+    @Benchmark
+    public IntResult attemptInt_success() {
+        return CatchException.attemptInt(() -> Integer.parseInt(input));
+    }
+
+    @Benchmark
+    public Throwable verifyException_noThrow() {
+        try {
+            CatchException.verifyException(NO_THROW, IllegalArgumentException.class);
+            return null;
+        } catch (ExceptionNotThrownAssertionError e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Exception verifyException_expectedThrow() {
+        CatchException.verifyException(THROW_EXPECTED, IllegalArgumentException.class);
+        return CatchException.caughtException();
+    }
+
+    @Benchmark
+    public Throwable verifyException_wrongTypeThrow() {
+        try {
+            CatchException.verifyException(THROW_UNEXPECTED, IllegalArgumentException.class);
+            return null;
+        } catch (ExceptionNotThrownAssertionError e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Exception bddWhen_noThrow() {
+        BDDCatchException.when(NO_THROW);
+        return BDDCatchException.caughtException();
+    }
+
+    @Benchmark
+    public Exception bddWhen_expectedThrow() {
+        BDDCatchException.when(THROW_EXPECTED);
+        return BDDCatchException.caughtException();
+    }
+
+}
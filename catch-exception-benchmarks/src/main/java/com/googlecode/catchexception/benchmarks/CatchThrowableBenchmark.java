@@ -0,0 +1,113 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.googlecode.catchexception.throwable.CatchThrowable;
+import com.googlecode.catchexception.throwable.ThrowableNotThrownAssertionError;
+import com.googlecode.catchexception.throwable.ThrowingCallable;
+
+/**
+ * Measures the hot path of {@link CatchThrowable} for the no-throw,
+ * expected-throw and wrong-type-throw branches.
+ * <p>
+ * The actors throw preallocated throwables so that the numbers reflect the
+ * overhead of the library rather than the cost of filling in stack traces.
+ * Run with <code>-prof gc</code> to see the allocation per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CatchThrowableBenchmark {
+
+    private static final AssertionError EXPECTED = new AssertionError("expected");
+
+    private static final IllegalStateException UNEXPECTED = new IllegalStateException("unexpected");
+
+    private static final ThrowingCallable NO_THROW = () -> {
+    };
+
+    private static final ThrowingCallable THROW_EXPECTED = () -> {
+        throw EXPECTED;
+    };
+
+    private static final ThrowingCallable THROW_UNEXPECTED = () -> {
+        throw UNEXPECTED;
+    };
+
+    @Benchmark
+    public Throwable catchThrowable_noThrow() {
+        CatchThrowable.catchThrowable(NO_THROW, AssertionError.class);
+        return CatchThrowable.caughtThrowable();
+    }
+
+    @Benchmark
+    public Throwable catchThrowable_expectedThrow() {
+        CatchThrowable.catchThrowable(THROW_EXPECTED, AssertionError.class);
+        return CatchThrowable.caughtThrowable();
+    }
+
+    @Benchmark
+    public Throwable catchThrowable_wrongTypeThrow() {
+        try {
+            CatchThrowable.catchThrowable(THROW_UNEXPECTED, AssertionError.class);
+            return null;
+        } catch (IllegalStateException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Throwable verifyThrowable_noThrow() {
+        try {
+            CatchThrowable.verifyThrowable(NO_THROW, AssertionError.class);
+            return null;
+        } catch (ThrowableNotThrownAssertionError e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Throwable verifyThrowable_expectedThrow() {
+        CatchThrowable.verifyThrowable(THROW_EXPECTED, AssertionError.class);
+        return CatchThrowable.caughtThrowable();
+    }
+
+    @Benchmark
+    public Throwable verifyThrowable_wrongTypeThrow() {
+        try {
+            CatchThrowable.verifyThrowable(THROW_UNEXPECTED, AssertionError.class);
+            return null;
+        } catch (ThrowableNotThrownAssertionError e) {
+            return e;
+        }
+    }
+
+}
@@ -0,0 +1,60 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.googlecode.catchexception.CatchException;
+import com.googlecode.catchexception.throwable.CatchThrowable;
+
+/**
+ * Isolates the cost of the holders that keep the caught exception (resp.
+ * throwable) of the current thread, i.e. a read and a reset without invoking
+ * any actor. The benchmarks run with several threads to reveal contention.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Thread)
+public class HolderBenchmark {
+
+    @Benchmark
+    public Exception exceptionHolder_resetAndGet() {
+        CatchException.resetCaughtException();
+        return CatchException.caughtException();
+    }
+
+    @Benchmark
+    public Throwable throwableHolder_resetAndGet() {
+        CatchThrowable.resetCaughtThrowable();
+        return CatchThrowable.caughtThrowable();
+    }
+
+}
@@ -0,0 +1,121 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects the outcome of the inputs of a batch and creates the
+ * {@link BatchResult}. Not thread-safe, parallel batches use one accumulator
+ * per worker and {@link #merge(BatchAccumulator) merge} them at the end.
+ */
+class BatchAccumulator {
+
+    private final Class<? extends Exception> expectedType;
+
+    private int size;
+
+    private int caughtCount;
+
+    private int[] notThrownIndices = new int[8];
+
+    private int notThrownCount;
+
+    private int[] unexpectedIndices = new int[8];
+
+    private int unexpectedCount;
+
+    /**
+     * The number of thrown exceptions per type. The counters are mutable so
+     * that counting does not box.
+     */
+    private final Map<Class<? extends Exception>, int[]> histogram = new LinkedHashMap<>();
+
+    BatchAccumulator(Class<? extends Exception> expectedType) {
+        this.expectedType = expectedType;
+    }
+
+    /**
+     * @param index
+     *            the index of the input
+     * @param exception
+     *            the exception thrown by the input or null if no exception was
+     *            thrown
+     */
+    void record(int index, Exception exception) {
+        size++;
+        if (exception == null) {
+            notThrownIndices = add(notThrownIndices, notThrownCount++, index);
+            return;
+        }
+        int[] counter = histogram.get(exception.getClass());
+        if (counter == null) {
+            histogram.put(exception.getClass(), new int[] { 1 });
+        } else {
+            counter[0]++;
+        }
+        if (expectedType.isAssignableFrom(exception.getClass())) {
+            caughtCount++;
+        } else {
+            unexpectedIndices = add(unexpectedIndices, unexpectedCount++, index);
+        }
+    }
+
+    private static int[] add(int[] indices, int count, int index) {
+        int[] result = count < indices.length ? indices : Arrays.copyOf(indices, indices.length * 2);
+        result[count] = index;
+        return result;
+    }
+
+    /**
+     * Appends the outcome of the given accumulator. All indices recorded by
+     * the given accumulator must be greater than the indices recorded by this
+     * accumulator.
+     *
+     * @param other
+     *            the accumulator of the subsequent inputs
+     */
+    void merge(BatchAccumulator other) {
+        size += other.size;
+        caughtCount += other.caughtCount;
+        for (int i = 0; i < other.notThrownCount; i++) {
+            notThrownIndices = add(notThrownIndices, notThrownCount++, other.notThrownIndices[i]);
+        }
+        for (int i = 0; i < other.unexpectedCount; i++) {
+            unexpectedIndices = add(unexpectedIndices, unexpectedCount++, other.unexpectedIndices[i]);
+        }
+        for (Map.Entry<Class<? extends Exception>, int[]> entry : other.histogram.entrySet()) {
+            int[] counter = histogram.get(entry.getKey());
+            if (counter == null) {
+                histogram.put(entry.getKey(), entry.getValue().clone());
+            } else {
+                counter[0] += entry.getValue()[0];
+            }
+        }
+    }
+
+    BatchResult toResult() {
+        Map<Class<? extends Exception>, Integer> counts = new LinkedHashMap<>();
+        for (Map.Entry<Class<? extends Exception>, int[]> entry : histogram.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue()[0]);
+        }
+        return new BatchResult(expectedType, size, caughtCount, Arrays.copyOf(notThrownIndices, notThrownCount),
+                Arrays.copyOf(unexpectedIndices, unexpectedCount), counts);
+    }
+
+}
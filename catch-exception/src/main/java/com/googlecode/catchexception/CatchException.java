@@ -15,6 +15,19 @@
  */
 package com.googlecode.catchexception;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
 import com.googlecode.catchexception.apis.BDDCatchException;
 import com.googlecode.catchexception.apis.CatchExceptionHamcrestMatchers;
 
@@ -181,6 +194,25 @@ import com.googlecode.catchexception.apis.CatchExceptionHamcrestMatchers;
  * worry you. If you use this library for other purposes than testing, you
  * should care.
  *
+ * The place where the caught exception is kept can be replaced at startup via
+ * the system property <code>catchexception.holder</code>, see
+ * {@link ExceptionHolderStrategy}. The default strategy can reference the
+ * caught exception softly or weakly or let it expire, see the system
+ * properties <code>catchexception.holder.retention</code> and
+ * <code>catchexception.holder.expireAfterMillis</code>. Use
+ * {@link #estimateRetainedBytes()} to find out how much memory a caught
+ * exception retains.
+ *
+ * If the system property <code>catchexception.capture</code> is set to
+ * <code>snapshot</code>, a compact {@link ExceptionSnapshot} of the caught
+ * exception is stored instead of the exception itself, so the object graph of
+ * the original exception can be collected.
+ *
+ * The stack traces of caught exceptions can be trimmed to the frames above the
+ * call of <code>catchException()</code> via the system property
+ * <code>catchexception.stacktrace=callsite</code> and/or to a maximum number of
+ * frames via <code>catchexception.stacktrace.maxDepth</code>.
+ *
  * <h3>7. The caught exception is not available in another thread. Why?</h3>
  *
  * The caught exception is saved <a href="#threadlocal">at the thread</a> the
@@ -214,14 +246,32 @@ public class CatchException {
      * thread - if the call was made through a proxy that has been created via
      * {@link #verifyException(ThrowingCallable, Class) verifyException()} or
      * {@link #catchException(ThrowingCallable, Class) catchException()}. Returns
-     * null when no exception was caught.
+     * null when no exception was caught. If the system property
+     * <code>catchexception.capture</code> is set to <code>snapshot</code>, the
+     * caught exception is an {@link ExceptionSnapshot}, so <code>E</code> must
+     * not be inferred as a more specific type.
      */
     public static <E extends Exception> E caughtException() {
         return ExceptionHolder.get();
     }
 
+    /**
+     * @param <E> the expected type of the caught exception
+     * @param caughtExceptionType the expected type of the caught exception
+     * @return Returns the exception caught during the last call in the current
+     * thread, see {@link #caughtException()}.
+     * @throws IllegalStateException if the caught exception is an
+     * {@link ExceptionSnapshot} that is not an instance of the given type
+     */
     public static <E extends Exception> E caughtException(Class<E> caughtExceptionType) {
-        return ExceptionHolder.get();
+        Exception caught = ExceptionHolder.get();
+        if (caught instanceof ExceptionSnapshot && !caughtExceptionType.isInstance(caught)) {
+            throw new IllegalStateException("The caught exception is a snapshot of "
+                    + ((ExceptionSnapshot) caught).getType().getName() + " that cannot be returned as "
+                    + caughtExceptionType.getName() + ". Use caughtException() without a type, the hamcrest"
+                    + " matchers or CatchExceptionAssertions.thenCaughtException() in the snapshot capture mode");
+        }
+        return caughtExceptionType.cast(caught);
     }
 
     /**
@@ -321,10 +371,763 @@ public class CatchException {
         catchException(actor, clazz, false);
     }
 
+    /**
+     * Use it to verify that an action throws an exception of specific type for
+     * the given target.
+     *
+     * In contrast to {@link #verifyException(ThrowingCallable, Class)} the
+     * target is passed to the action, so a static method reference or a
+     * lambda that does not capture anything can be used. Such an action is
+     * not allocated per call, which matters in tight loops:
+     * <code>verifyException(input, Parser::parse, ParseException.class);</code>
+     *
+     * @param <T>    the type of the target
+     * @param target The target to pass to the action.
+     * @param action The action to call. Must not be <code>null</code>.
+     * @param clazz  The type of the exception that shall be thrown by the
+     *               action. Must not be <code>null</code>.
+     * @see #verifyException(ThrowingCallable, Class)
+     */
+    public static <T> void verifyException(T target, ThrowingConsumer<? super T> action,
+                                           Class<? extends Exception> clazz) {
+        validateArguments(action, clazz);
+        catchException(target, action, clazz, true);
+    }
+
+    /**
+     * Use it to verify that an action throws an exception of specific type for
+     * the given target and argument, e.g.
+     * <code>verifyException(parser, input, Parser::parse, ParseException.class);</code>
+     *
+     * @param <T>      the type of the target
+     * @param <U>      the type of the argument
+     * @param target   The target to pass to the action.
+     * @param argument The argument to pass to the action.
+     * @param action   The action to call. Must not be <code>null</code>.
+     * @param clazz    The type of the exception that shall be thrown by the
+     *                 action. Must not be <code>null</code>.
+     * @see #verifyException(Object, ThrowingConsumer, Class)
+     */
+    public static <T, U> void verifyException(T target, U argument, ThrowingBiConsumer<? super T, ? super U> action,
+                                              Class<? extends Exception> clazz) {
+        validateArguments(action, clazz);
+        catchException(target, argument, action, clazz, true);
+    }
+
+    /**
+     * Use it to catch an exception of a specific type that an action throws
+     * for the given target.
+     *
+     * In contrast to {@link #catchException(ThrowingCallable, Class)} the
+     * target is passed to the action, so a static method reference or a
+     * lambda that does not capture anything can be used. Such an action is
+     * not allocated per call, which matters in tight loops:
+     * <code>catchException(input, Parser::parse, ParseException.class);</code>
+     *
+     * @param <T>    the type of the target
+     * @param target The target to pass to the action.
+     * @param action The action to call. Must not be <code>null</code>.
+     * @param clazz  The type of the exception that shall be caught. Must not be
+     *               <code>null</code>.
+     * @see #catchException(ThrowingCallable, Class)
+     */
+    public static <T> void catchException(T target, ThrowingConsumer<? super T> action,
+                                          Class<? extends Exception> clazz) {
+        validateArguments(action, clazz);
+        catchException(target, action, clazz, false);
+    }
+
+    /**
+     * Use it to catch an exception of a specific type that an action throws
+     * for the given target and argument, e.g.
+     * <code>catchException(parser, input, Parser::parse, ParseException.class);</code>
+     *
+     * @param <T>      the type of the target
+     * @param <U>      the type of the argument
+     * @param target   The target to pass to the action.
+     * @param argument The argument to pass to the action.
+     * @param action   The action to call. Must not be <code>null</code>.
+     * @param clazz    The type of the exception that shall be caught. Must not
+     *                 be <code>null</code>.
+     * @see #catchException(Object, ThrowingConsumer, Class)
+     */
+    public static <T, U> void catchException(T target, U argument, ThrowingBiConsumer<? super T, ? super U> action,
+                                             Class<? extends Exception> clazz) {
+        validateArguments(action, clazz);
+        catchException(target, argument, action, clazz, false);
+    }
+
+    /**
+     * Use it to verify that an exception of one of several types is thrown and
+     * to get access to the thrown exception (for further verifications).
+     *
+     * <code>Class&lt;? extends Exception&gt; type = verifyAnyException(() -&gt; reader.read(), IO_ERRORS);
+     * assert type == EOFException.class;</code>
+     * If the actor does not throw an exception of one of the given types, then
+     * a {@link ExceptionNotThrownAssertionError} is thrown. Otherwise the
+     * thrown exception can be retrieved via {@link #caughtException()}.
+     *
+     * @param actor The actor to call. Must not be <code>null</code>.
+     * @param types The acceptable types of the exception. Must not be
+     *              <code>null</code>.
+     * @return Returns the first of the acceptable types the thrown exception is
+     * an instance of.
+     */
+    public static Class<? extends Exception> verifyAnyException(ThrowingCallable actor, ExceptionTypes types) {
+        validateArguments(actor, types);
+        return catchException(actor, types, true);
+    }
+
+    /**
+     * Use it to catch an exception of one of several types and to get access
+     * to the thrown exception (for further verifications).
+     *
+     * If the actor throws an exception of one of the given types, then
+     * {@link #caughtException()} will return the caught exception. If the
+     * actor does not throw an exception, then {@link #caughtException()} will
+     * return <code>null</code>. If the actor throws an exception of another
+     * type, then this exception is rethrown and {@link #caughtException()}
+     * will return <code>null</code>.
+     *
+     * @param actor The actor to call. Must not be <code>null</code>.
+     * @param types The acceptable types of the exception. Must not be
+     *              <code>null</code>.
+     * @return Returns the first of the acceptable types the thrown exception is
+     * an instance of. Returns null if no exception is thrown.
+     */
+    public static Class<? extends Exception> catchAnyException(ThrowingCallable actor, ExceptionTypes types) {
+        validateArguments(actor, types);
+        return catchException(actor, types, false);
+    }
+
+    /**
+     * Use it to verify that an exception that meets a precompiled spec is
+     * thrown and to get access to the thrown exception (for further
+     * verifications).
+     *
+     * <code>private static final ExceptionSpec INVALID_INPUT = ExceptionSpec.of(IllegalArgumentException.class)
+     *         .withMessage("invalid input").withNoCause();
+     * ...
+     * verifyExceptionMatching(() -&gt; parser.parse(input), INVALID_INPUT);</code>
+     * If the actor does not throw an exception that meets the spec, then a
+     * {@link ExceptionNotThrownAssertionError} is thrown that names the first
+     * expectation the exception does not meet. Otherwise the thrown exception
+     * can be retrieved via {@link #caughtException()}.
+     *
+     * This method is not an overload of
+     * {@link #verifyException(ThrowingCallable, Class)} because
+     * <code>verifyException(actor, null)</code> would no longer compile.
+     *
+     * @param actor The actor to call. Must not be <code>null</code>.
+     * @param spec  The expectation on the exception. Must not be
+     *              <code>null</code>.
+     */
+    public static void verifyExceptionMatching(ThrowingCallable actor, ExceptionSpec spec) {
+        if (actor == null) throw new IllegalArgumentException("obj must not be null");
+        if (spec == null) throw new IllegalArgumentException("spec must not be null");
+        resetCaughtException();
+        Exception exception = ExceptionCaptor.captureThrowable(actor);
+        if (exception == null) {
+            throw new ExceptionNotThrownAssertionError(spec);
+        }
+        String mismatch = spec.describeMismatch(exception);
+        if (mismatch != null) {
+            throw new ExceptionNotThrownAssertionError(spec, mismatch, exception);
+        }
+        ExceptionHolder.set(ExceptionCaptor.retain(exception));
+    }
+
+    /**
+     * Use it to check whether an actor throws an exception, e.g. to filter
+     * generated inputs.
+     *
+     * In contrast to {@link #catchException(ThrowingCallable)} the caught
+     * exception is neither stored for {@link #caughtException()} nor is the
+     * stored exception reset, so the check does not write to the thread-local
+     * holder and does not retain the exception.
+     *
+     * @param actor The actor to call. Must not be <code>null</code>.
+     * @return Returns true if the actor throws an exception.
+     */
+    public static boolean throwsException(ThrowingCallable actor) {
+        return throwsException(actor, Exception.class);
+    }
+
+    /**
+     * Use it to check whether an actor throws an exception of a specific type,
+     * e.g. to filter generated inputs:
+     * <code>inputs.stream().filter(input -&gt; !throwsException(() -&gt; parse(input), ParseException.class))</code>
+     * In contrast to {@link #catchException(ThrowingCallable, Class)} the
+     * caught exception is neither stored for {@link #caughtException()} nor is
+     * the stored exception reset, and an exception of another type is not
+     * rethrown.
+     *
+     * @param actor The actor to call. Must not be <code>null</code>.
+     * @param clazz The type of the exception. Must not be <code>null</code>.
+     * @return Returns true if the actor throws an exception of the given type.
+     * Returns false if the actor throws no exception or an exception of another
+     * type.
+     */
+    public static boolean throwsException(ThrowingCallable actor, Class<? extends Exception> clazz) {
+        validateArguments(actor, clazz);
+        return clazz.isInstance(ExceptionCaptor.captureThrowable(actor));
+    }
+
+    /**
+     * Use it to catch the exception an asynchronous computation fails with,
+     * without blocking a thread until the computation completes:
+     * <code>catchExceptionAsync(client.fetch(id), NotFoundException.class)
+     *     .thenAccept(e -&gt; assertEquals("id 7 not found", e.getMessage()));</code>
+     * The returned stage completes with the exception the given stage fails
+     * with, {@link CompletionException} and {@link ExecutionException}
+     * wrappers removed, or with <code>null</code> if the given stage completes
+     * normally. If the given stage fails with an exception of another type,
+     * then the returned stage fails with that exception.
+     *
+     * If the given stage is already completed when this method is called,
+     * then the caught exception is also stored for {@link #caughtException()}.
+     * A stage that completes later never stores the caught exception, not even
+     * if it completes on the calling thread, because that thread has moved on
+     * in the meantime. The caught exception of other threads is not touched.
+     *
+     * @param <E>   the type of the exception that shall be caught
+     * @param stage The asynchronous computation. Must not be <code>null</code>.
+     * @param clazz The type of the exception that shall be caught. Must not be
+     *              <code>null</code>.
+     * @return Returns a stage that completes with the caught exception.
+     */
+    public static <E extends Exception> CompletionStage<E> catchExceptionAsync(CompletionStage<?> stage,
+                                                                               Class<E> clazz) {
+        validateArguments(stage, clazz);
+        return handleAsync(stage, clazz, false);
+    }
+
+    /**
+     * Use it to catch the exception of an asynchronous computation that is
+     * started by the given actor, see
+     * {@link #catchExceptionAsync(CompletionStage, Class)}. Anything the
+     * actor throws instead of returning a stage, including checked exceptions
+     * and errors, is treated like a failed stage.
+     *
+     * @param <E>   the type of the exception that shall be caught
+     * @param actor The actor that starts the asynchronous computation. Must
+     *              not be <code>null</code>.
+     * @param clazz The type of the exception that shall be caught. Must not be
+     *              <code>null</code>.
+     * @return Returns a stage that completes with the caught exception.
+     */
+    public static <E extends Exception> CompletionStage<E> catchExceptionAsync(
+            Supplier<? extends CompletionStage<?>> actor, Class<E> clazz) {
+        validateArguments(actor, clazz);
+        return handleAsync(start(actor), clazz, false);
+    }
+
+    /**
+     * Use it to verify that an asynchronous computation fails with an
+     * exception of a specific type, without blocking a thread until the
+     * computation completes:
+     * <code>verifyExceptionAsync(client.fetch(id), NotFoundException.class)
+     *     .toCompletableFuture().join();</code>
+     * In contrast to {@link #catchExceptionAsync(CompletionStage, Class)} the
+     * returned stage fails with an {@link ExceptionNotThrownAssertionError} if
+     * the given stage completes normally or fails with an exception of another
+     * type.
+     *
+     * @param <E>   the type of the exception that shall be thrown
+     * @param stage The asynchronous computation. Must not be <code>null</code>.
+     * @param clazz The type of the exception that shall be thrown. Must not be
+     *              <code>null</code>.
+     * @return Returns a stage that completes with the caught exception.
+     */
+    public static <E extends Exception> CompletionStage<E> verifyExceptionAsync(CompletionStage<?> stage,
+                                                                                Class<E> clazz) {
+        validateArguments(stage, clazz);
+        return handleAsync(stage, clazz, true);
+    }
+
+    /**
+     * Use it to verify that an asynchronous computation that is started by the
+     * given actor fails with an exception of a specific type, see
+     * {@link #verifyExceptionAsync(CompletionStage, Class)}.
+     *
+     * @param <E>   the type of the exception that shall be thrown
+     * @param actor The actor that starts the asynchronous computation. Must
+     *              not be <code>null</code>.
+     * @param clazz The type of the exception that shall be thrown. Must not be
+     *              <code>null</code>.
+     * @return Returns a stage that completes with the caught exception.
+     */
+    public static <E extends Exception> CompletionStage<E> verifyExceptionAsync(
+            Supplier<? extends CompletionStage<?>> actor, Class<E> clazz) {
+        validateArguments(actor, clazz);
+        return handleAsync(start(actor), clazz, true);
+    }
+
+    /**
+     * Use it to get both the value returned by an actor and the exception
+     * thrown by the actor without calling the actor twice.
+     *
+     * <code>Result&lt;Integer&gt; result = attempt(() -&gt; parser.parse(input));
+     * if (result.isSuccess()) {
+     * assert result.getValue() == 42;
+     * } else {
+     * assert result.getException() instanceof ParseException;
+     * }</code>
+     * In contrast to {@link #catchException(ThrowingCallable)} the caught
+     * exception is not stored for {@link #caughtException()}, it is only
+     * available from the returned {@link Result}.
+     *
+     * @param <T>   the type of the value
+     * @param actor The actor to call. Must not be <code>null</code>.
+     * @return Returns the value returned by the actor or the exception thrown
+     * by the actor.
+     */
+    public static <T> Result<T> attempt(ThrowingSupplier<? extends T> actor) {
+        validateArguments(actor, Exception.class);
+        return ExceptionCaptor.attempt(actor);
+    }
+
+    /**
+     * Use it to get both the <code>int</code> returned by an actor and the
+     * exception thrown by the actor without boxing the returned value, e.g. in
+     * loops over numeric decoders:
+     * <code>IntResult result = attemptInt(() -&gt; Integer.parseInt(input));</code>
+     *
+     * @param actor The actor to call. Must not be <code>null</code>.
+     * @return Returns the value returned by the actor or the exception thrown
+     * by the actor.
+     * @see #attempt(ThrowingSupplier)
+     */
+    public static IntResult attemptInt(ThrowingIntSupplier actor) {
+        validateArguments(actor, Exception.class);
+        return ExceptionCaptor.attemptInt(actor);
+    }
+
+    /**
+     * Use it to get both the <code>long</code> returned by an actor and the
+     * exception thrown by the actor without boxing the returned value.
+     *
+     * @param actor The actor to call. Must not be <code>null</code>.
+     * @return Returns the value returned by the actor or the exception thrown
+     * by the actor.
+     * @see #attemptInt(ThrowingIntSupplier)
+     */
+    public static LongResult attemptLong(ThrowingLongSupplier actor) {
+        validateArguments(actor, Exception.class);
+        return ExceptionCaptor.attemptLong(actor);
+    }
+
+    /**
+     * Use it to get both the <code>double</code> returned by an actor and the
+     * exception thrown by the actor without boxing the returned value.
+     *
+     * @param actor The actor to call. Must not be <code>null</code>.
+     * @return Returns the value returned by the actor or the exception thrown
+     * by the actor.
+     * @see #attemptInt(ThrowingIntSupplier)
+     */
+    public static DoubleResult attemptDouble(ThrowingDoubleSupplier actor) {
+        validateArguments(actor, Exception.class);
+        return ExceptionCaptor.attemptDouble(actor);
+    }
+
+    /**
+     * Use it to catch the exceptions of a batch of actors, e.g. to check that
+     * many bad inputs are rejected.
+     *
+     * Every actor is called once in iteration order. In contrast to
+     * {@link #catchException(ThrowingCallable, Class)} neither exceptions of
+     * the expected type nor exceptions of other types are stored for
+     * {@link #caughtException()} or rethrown. Instead the returned
+     * {@link BatchResult} counts them per type and names the indices of the
+     * actors that did not throw an exception of the expected type. A
+     * <code>null</code> actor is rejected with an
+     * {@link IllegalArgumentException} before it would be called.
+     * <code>BatchResult result = catchAll(actors, IllegalArgumentException.class);
+     * assert result.isAllCaught();</code>
+     *
+     * @param actors The actors to call. Must not be <code>null</code>.
+     * @param clazz  The type of the exception that shall be thrown by each
+     *               actor. Must not be <code>null</code>.
+     * @return Returns the outcome of the batch.
+     */
+    public static BatchResult catchAll(Iterable<? extends ThrowingCallable> actors,
+                                       Class<? extends Exception> clazz) {
+        validateArguments(actors, clazz);
+        BatchAccumulator accumulator = new BatchAccumulator(clazz);
+        int index = 0;
+        for (ThrowingCallable actor : actors) {
+            accumulator.record(index++, ExceptionCaptor.captureThrowable(requireActor(actor)));
+        }
+        return accumulator.toResult();
+    }
+
+    /**
+     * @param actors The actors to call. Must not be <code>null</code>.
+     * @param clazz  The type of the exception that shall be thrown by each
+     *               actor. Must not be <code>null</code>.
+     * @return Returns the outcome of the batch.
+     * @see #catchAll(Iterable, Class)
+     */
+    public static BatchResult catchAll(ThrowingCallable[] actors, Class<? extends Exception> clazz) {
+        validateArguments(actors, clazz);
+        for (ThrowingCallable actor : actors) {
+            requireActor(actor);
+        }
+        return catchAll(Arrays.asList(actors), clazz);
+    }
+
+    /**
+     * @param actors The actors to call. Must not be <code>null</code>.
+     * @param clazz  The type of the exception that shall be thrown by each
+     *               actor. Must not be <code>null</code>.
+     * @return Returns the outcome of the batch.
+     * @see #catchAll(Iterable, Class)
+     */
+    public static BatchResult catchAll(Stream<? extends ThrowingCallable> actors,
+                                       Class<? extends Exception> clazz) {
+        validateArguments(actors, clazz);
+        // the actors are checked one by one before they are called
+        Stream<ThrowingCallable> checked = actors.map(CatchException::requireActor);
+        return catchAll(checked::iterator, clazz);
+    }
+
+    /**
+     * Use it to catch the exceptions that a single action throws for a batch
+     * of inputs.
+     * <code>BatchResult result = catchAll(badInputs, parser::parse, ParseException.class);</code>
+     *
+     * @param <T>    the type of the inputs
+     * @param inputs The inputs to pass to the action. Must not be
+     *               <code>null</code>.
+     * @param action The action to call for each input. Must not be
+     *               <code>null</code>.
+     * @param clazz  The type of the exception that shall be thrown for each
+     *               input. Must not be <code>null</code>.
+     * @return Returns the outcome of the batch.
+     * @see #catchAll(Iterable, Class)
+     */
+    public static <T> BatchResult catchAll(Iterable<T> inputs, ThrowingConsumer<? super T> action,
+                                           Class<? extends Exception> clazz) {
+        validateArguments(inputs, clazz);
+        validateArguments(action, clazz);
+        BatchAccumulator accumulator = new BatchAccumulator(clazz);
+        int index = 0;
+        for (T input : inputs) {
+            accumulator.record(index++, ExceptionCaptor.captureThrowable(action, input));
+        }
+        return accumulator.toResult();
+    }
+
+    /**
+     * @param <T>    the type of the inputs
+     * @param inputs The inputs to pass to the action. Must not be
+     *               <code>null</code>.
+     * @param action The action to call for each input. Must not be
+     *               <code>null</code>.
+     * @param clazz  The type of the exception that shall be thrown for each
+     *               input. Must not be <code>null</code>.
+     * @return Returns the outcome of the batch.
+     * @see #catchAll(Iterable, ThrowingConsumer, Class)
+     */
+    public static <T> BatchResult catchAll(Stream<T> inputs, ThrowingConsumer<? super T> action,
+                                           Class<? extends Exception> clazz) {
+        validateArguments(inputs, clazz);
+        return catchAll(inputs::iterator, action, clazz);
+    }
+
+    /**
+     * Use it to verify that each actor of a batch throws an exception of the
+     * expected type.
+     *
+     * If at least one actor does not throw an exception of the expected type,
+     * then a {@link ExceptionNotThrownAssertionError} is thrown that describes
+     * the {@link BatchResult outcome} of the batch. Like
+     * {@link #catchAll(Iterable, Class)} this method does not touch
+     * {@link #caughtException()}.
+     *
+     * @param actors The actors to call. Must not be <code>null</code>.
+     * @param clazz  The type of the exception that shall be thrown by each
+     *               actor. Must not be <code>null</code>.
+     * @return Returns the outcome of the batch.
+     */
+    public static BatchResult verifyAll(Iterable<? extends ThrowingCallable> actors,
+                                        Class<? extends Exception> clazz) {
+        return verify(catchAll(actors, clazz));
+    }
+
+    /**
+     * @param actors The actors to call. Must not be <code>null</code>.
+     * @param clazz  The type of the exception that shall be thrown by each
+     *               actor. Must not be <code>null</code>.
+     * @return Returns the outcome of the batch.
+     * @see #verifyAll(Iterable, Class)
+     */
+    public static BatchResult verifyAll(ThrowingCallable[] actors, Class<? extends Exception> clazz) {
+        return verify(catchAll(actors, clazz));
+    }
+
+    /**
+     * @param actors The actors to call. Must not be <code>null</code>.
+     * @param clazz  The type of the exception that shall be thrown by each
+     *               actor. Must not be <code>null</code>.
+     * @return Returns the outcome of the batch.
+     * @see #verifyAll(Iterable, Class)
+     */
+    public static BatchResult verifyAll(Stream<? extends ThrowingCallable> actors,
+                                        Class<? extends Exception> clazz) {
+        return verify(catchAll(actors, clazz));
+    }
+
+    /**
+     * @param <T>    the type of the inputs
+     * @param inputs The inputs to pass to the action. Must not be
+     *               <code>null</code>.
+     * @param action The action to call for each input. Must not be
+     *               <code>null</code>.
+     * @param clazz  The type of the exception that shall be thrown for each
+     *               input. Must not be <code>null</code>.
+     * @return Returns the outcome of the batch.
+     * @see #verifyAll(Iterable, Class)
+     */
+    public static <T> BatchResult verifyAll(Iterable<T> inputs, ThrowingConsumer<? super T> action,
+                                            Class<? extends Exception> clazz) {
+        return verify(catchAll(inputs, action, clazz));
+    }
+
+    /**
+     * @param <T>    the type of the inputs
+     * @param inputs The inputs to pass to the action. Must not be
+     *               <code>null</code>.
+     * @param action The action to call for each input. Must not be
+     *               <code>null</code>.
+     * @param clazz  The type of the exception that shall be thrown for each
+     *               input. Must not be <code>null</code>.
+     * @return Returns the outcome of the batch.
+     * @see #verifyAll(Iterable, Class)
+     */
+    public static <T> BatchResult verifyAll(Stream<T> inputs, ThrowingConsumer<? super T> action,
+                                            Class<? extends Exception> clazz) {
+        return verify(catchAll(inputs, action, clazz));
+    }
+
+    /**
+     * Use it to catch the exceptions that a single action throws for a large
+     * batch of inputs on all cores.
+     *
+     * The inputs are split across the threads of the
+     * {@link ForkJoinPool#commonPool() common pool}. Each worker collects the
+     * outcome of its share of the inputs separately and the outcomes are
+     * merged at the end, so the workers do not contend. The action must be
+     * thread-safe. The returned {@link BatchResult} is the same as the one
+     * {@link #catchAll(Iterable, ThrowingConsumer, Class)} returns.
+     *
+     * @param <T>    the type of the inputs
+     * @param inputs The inputs to pass to the action. Must not be
+     *               <code>null</code>.
+     * @param action The action to call for each input. Must not be
+     *               <code>null</code>.
+     * @param clazz  The type of the exception that shall be thrown for each
+     *               input. Must not be <code>null</code>.
+     * @return Returns the outcome of the batch.
+     */
+    public static <T> BatchResult catchAllParallel(List<T> inputs, ThrowingConsumer<? super T> action,
+                                                   Class<? extends Exception> clazz) {
+        return collectParallel(inputs, action, clazz, null);
+    }
+
+    /**
+     * @param <T>    the type of the inputs
+     * @param inputs The inputs to pass to the action. Must not be
+     *               <code>null</code>.
+     * @param action The action to call for each input. Must not be
+     *               <code>null</code>.
+     * @param clazz  The type of the exception that shall be thrown for each
+     *               input. Must not be <code>null</code>.
+     * @param pool   The pool whose threads call the action. Must not be
+     *               <code>null</code>.
+     * @return Returns the outcome of the batch.
+     * @see #catchAllParallel(List, ThrowingConsumer, Class)
+     */
+    public static <T> BatchResult catchAllParallel(List<T> inputs, ThrowingConsumer<? super T> action,
+                                                   Class<? extends Exception> clazz, ForkJoinPool pool) {
+        if (pool == null) throw new IllegalArgumentException("pool must not be null");
+        return collectParallel(inputs, action, clazz, pool);
+    }
+
+    /**
+     * @param actors The actors to call. Must not be <code>null</code>.
+     * @param clazz  The type of the exception that shall be thrown by each
+     *               actor. Must not be <code>null</code>.
+     * @return Returns the outcome of the batch.
+     * @see #catchAllParallel(List, ThrowingConsumer, Class)
+     */
+    public static BatchResult catchAllParallel(List<? extends ThrowingCallable> actors,
+                                               Class<? extends Exception> clazz) {
+        validateArguments(actors, clazz);
+        for (ThrowingCallable actor : actors) {
+            requireActor(actor);
+        }
+        return collectParallel(actors, ThrowingCallable::call, clazz, null);
+    }
+
+    /**
+     * Use it to verify on all cores that an action throws an exception of the
+     * expected type for each input of a large batch.
+     *
+     * @param <T>    the type of the inputs
+     * @param inputs The inputs to pass to the action. Must not be
+     *               <code>null</code>.
+     * @param action The action to call for each input. Must not be
+     *               <code>null</code>.
+     * @param clazz  The type of the exception that shall be thrown for each
+     *               input. Must not be <code>null</code>.
+     * @return Returns the outcome of the batch.
+     * @see #catchAllParallel(List, ThrowingConsumer, Class)
+     * @see #verifyAll(Iterable, Class)
+     */
+    public static <T> BatchResult verifyAllParallel(List<T> inputs, ThrowingConsumer<? super T> action,
+                                                    Class<? extends Exception> clazz) {
+        return verify(catchAllParallel(inputs, action, clazz));
+    }
+
+    /**
+     * @param <T>    the type of the inputs
+     * @param inputs The inputs to pass to the action. Must not be
+     *               <code>null</code>.
+     * @param action The action to call for each input. Must not be
+     *               <code>null</code>.
+     * @param clazz  The type of the exception that shall be thrown for each
+     *               input. Must not be <code>null</code>.
+     * @param pool   The pool whose threads call the action. Must not be
+     *               <code>null</code>.
+     * @return Returns the outcome of the batch.
+     * @see #verifyAllParallel(List, ThrowingConsumer, Class)
+     */
+    public static <T> BatchResult verifyAllParallel(List<T> inputs, ThrowingConsumer<? super T> action,
+                                                    Class<? extends Exception> clazz, ForkJoinPool pool) {
+        return verify(catchAllParallel(inputs, action, clazz, pool));
+    }
+
+    /**
+     * @param actors The actors to call. Must not be <code>null</code>.
+     * @param clazz  The type of the exception that shall be thrown by each
+     *               actor. Must not be <code>null</code>.
+     * @return Returns the outcome of the batch.
+     * @see #verifyAllParallel(List, ThrowingConsumer, Class)
+     */
+    public static BatchResult verifyAllParallel(List<? extends ThrowingCallable> actors,
+                                                Class<? extends Exception> clazz) {
+        return verify(catchAllParallel(actors, clazz));
+    }
+
+    /**
+     * Use it to catch the exceptions of a large batch of blocking actors, e.g.
+     * actors that do I/O before they throw.
+     *
+     * Each actor is called on its own thread, but at most
+     * <code>maxConcurrency</code> actors run at the same time. On Java 21 and
+     * later the actors run on virtual threads, so thousands of blocking actors
+     * do not exhaust the platform threads. On older runtimes they run on a
+     * pool of <code>maxConcurrency</code> platform threads. The actors must be
+     * thread-safe. The returned {@link BatchResult} is the same as the one
+     * {@link #catchAll(Iterable, Class)} returns.
+     *
+     * @param actors         The actors to call. Must not be <code>null</code>.
+     * @param maxConcurrency The maximum number of actors that run at the same
+     *                       time. Must be positive.
+     * @param clazz          The type of the exception that shall be thrown by
+     *                       each actor. Must not be <code>null</code>.
+     * @return Returns the outcome of the batch.
+     */
+    public static BatchResult catchAllConcurrent(Iterable<? extends ThrowingCallable> actors, int maxConcurrency,
+                                                 Class<? extends Exception> clazz) {
+        validateArguments(actors, clazz);
+        if (maxConcurrency < 1) throw new IllegalArgumentException("maxConcurrency must be positive");
+        return ConcurrentBatch.run(actors, maxConcurrency, clazz);
+    }
+
+    /**
+     * Use it to verify that each actor of a large batch of blocking actors
+     * throws an exception of the expected type.
+     *
+     * @param actors         The actors to call. Must not be <code>null</code>.
+     * @param maxConcurrency The maximum number of actors that run at the same
+     *                       time. Must be positive.
+     * @param clazz          The type of the exception that shall be thrown by
+     *                       each actor. Must not be <code>null</code>.
+     * @return Returns the outcome of the batch.
+     * @see #catchAllConcurrent(Iterable, int, Class)
+     * @see #verifyAll(Iterable, Class)
+     */
+    public static BatchResult verifyAllConcurrent(Iterable<? extends ThrowingCallable> actors, int maxConcurrency,
+                                                  Class<? extends Exception> clazz) {
+        return verify(catchAllConcurrent(actors, maxConcurrency, clazz));
+    }
+
+    private static <T> BatchResult collectParallel(List<T> inputs, ThrowingConsumer<? super T> action,
+                                                   Class<? extends Exception> clazz, ForkJoinPool pool) {
+        validateArguments(inputs, clazz);
+        validateArguments(action, clazz);
+        // the inputs are accessed by index
+        List<T> list = inputs instanceof RandomAccess ? inputs : new ArrayList<>(inputs);
+        Supplier<BatchAccumulator> batch = () -> IntStream.range(0, list.size()).parallel().collect(
+                () -> new BatchAccumulator(clazz),
+                (accumulator, index) -> accumulator.record(index,
+                        ExceptionCaptor.captureThrowable(action, list.get(index))),
+                BatchAccumulator::merge);
+        return (pool == null ? batch.get() : pool.submit(batch::get).join()).toResult();
+    }
+
+    private static BatchResult verify(BatchResult result) {
+        if (!result.isAllCaught()) {
+            throw new ExceptionNotThrownAssertionError(result);
+        }
+        return result;
+    }
+
     private static void catchException(ThrowingCallable actor, Class<? extends Exception> clazz,
                                        boolean assertException) {
         resetCaughtException();
+        handleCaught(ExceptionCaptor.captureThrowable(actor), clazz, assertException);
+    }
+
+    private static <T> void catchException(T target, ThrowingConsumer<? super T> action,
+                                           Class<? extends Exception> clazz, boolean assertException) {
+        resetCaughtException();
+        handleCaught(ExceptionCaptor.captureThrowable(action, target), clazz, assertException);
+    }
+
+    private static <T, U> void catchException(T target, U argument, ThrowingBiConsumer<? super T, ? super U> action,
+                                              Class<? extends Exception> clazz, boolean assertException) {
+        resetCaughtException();
+        handleCaught(ExceptionCaptor.captureThrowable(action, target, argument), clazz, assertException);
+    }
+
+    private static Class<? extends Exception> catchException(ThrowingCallable actor, ExceptionTypes types,
+                                                             boolean assertException) {
+        resetCaughtException();
         Exception exception = ExceptionCaptor.captureThrowable(actor);
+        if (exception == null) {
+            if (assertException) {
+                throw new ExceptionNotThrownAssertionError(types);
+            }
+            return null;
+        }
+        // is the thrown exception of one of the acceptable types?
+        Class<? extends Exception> matched = types.match(exception);
+        if (matched != null) {
+            ExceptionHolder.set(ExceptionCaptor.retain(exception));
+        } else if (assertException) {
+            throw new ExceptionNotThrownAssertionError(types, exception);
+        } else {
+            ExceptionUtil.sneakyThrow(exception);
+        }
+        return matched;
+    }
+
+    private static void handleCaught(Exception exception, Class<? extends Exception> clazz,
+                                     boolean assertException) {
         if (exception == null) {
             if (!assertException) {
                 return;
@@ -334,7 +1137,7 @@ public class CatchException {
         }
         // is the thrown exception of the expected type?
         if (clazz.isAssignableFrom(exception.getClass())) {
-            ExceptionHolder.set(exception);
+            ExceptionHolder.set(ExceptionCaptor.retain(exception));
         } else {
             if (assertException) {
                 throw new ExceptionNotThrownAssertionError(clazz, exception);
@@ -344,11 +1147,90 @@ public class CatchException {
         }
     }
 
-    private static void validateArguments(ThrowingCallable actor, Class<? extends Exception> clazz) {
+    private static CompletionStage<?> start(Supplier<? extends CompletionStage<?>> actor) {
+        CompletionStage<?> stage;
+        try {
+            stage = actor.get();
+        } catch (Throwable e) {
+            // also checked exceptions that are thrown sneakily
+            CompletableFuture<Object> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+        if (stage == null) throw new IllegalArgumentException("actor must not return null");
+        return stage;
+    }
+
+    private static <E extends Exception> CompletionStage<E> handleAsync(CompletionStage<?> stage, Class<E> clazz,
+                                                                        boolean assertException) {
+        Thread caller = Thread.currentThread();
+        boolean completed = isDone(stage);
+        resetCaughtException();
+        return stage.handle((value, failure) -> {
+            Throwable cause = failure;
+            while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                    && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause == null) {
+                if (assertException) {
+                    throw new ExceptionNotThrownAssertionError(clazz);
+                }
+                return null;
+            }
+            if (clazz.isInstance(cause)) {
+                if (completed && Thread.currentThread() == caller) {
+                    ExceptionHolder.set(ExceptionCaptor.retain((Exception) cause));
+                }
+                return clazz.cast(cause);
+            }
+            if (assertException && cause instanceof Exception) {
+                throw new ExceptionNotThrownAssertionError(clazz, (Exception) cause);
+            }
+            throw new CompletionException(cause);
+        });
+    }
+
+    private static boolean isDone(CompletionStage<?> stage) {
+        try {
+            return stage.toCompletableFuture().isDone();
+        } catch (UnsupportedOperationException e) {
+            // a stage that cannot be converted is treated as pending
+            return false;
+        }
+    }
+
+    private static ThrowingCallable requireActor(ThrowingCallable actor) {
+        if (actor == null) throw new IllegalArgumentException("actor must not be null");
+        return actor;
+    }
+
+    private static void validateArguments(Object actor, Class<? extends Exception> clazz) {
         if (actor == null) throw new IllegalArgumentException("obj must not be null");
         if (clazz == null) throw new IllegalArgumentException("exceptionClazz must not be null");
     }
 
+    private static void validateArguments(Object actor, ExceptionTypes types) {
+        if (actor == null) throw new IllegalArgumentException("obj must not be null");
+        if (types == null) throw new IllegalArgumentException("types must not be null");
+    }
+
+    /**
+     * Estimates the heap memory retained by the {@link #caughtException()
+     * caught exception} of the current thread, including its causes,
+     * suppressed exceptions, messages and stack traces.
+     *
+     * Note that the stack traces of the exceptions are materialized to count
+     * their frames, i.e. the exceptions retain the
+     * {@link StackTraceElement StackTraceElements} after the call.
+     *
+     * @return Returns the estimated number of bytes. Returns 0 when no
+     * exception was caught.
+     */
+    public static long estimateRetainedBytes() {
+        return ExceptionFootprint.estimate(ExceptionHolder.get());
+    }
+
     /**
      * Sets the {@link #caughtException() caught exception} to null. This does
      * not affect exceptions saved at threads other than the current one.
@@ -17,6 +17,15 @@ package com.googlecode.catchexception;
 
 class ExceptionCaptor {
 
+    /**
+     * The system property that selects what is stored for a caught exception:
+     * <code>live</code> (default) stores the exception itself,
+     * <code>snapshot</code> stores an {@link ExceptionSnapshot}.
+     */
+    static final String CAPTURE_PROPERTY = "catchexception.capture";
+
+    private static final boolean SNAPSHOT = "snapshot".equals(System.getProperty(CAPTURE_PROPERTY, "live"));
+
     public static Exception captureThrowable(ThrowingCallable exceptionThrower) {
         try {
             exceptionThrower.call();
@@ -30,4 +39,97 @@ class ExceptionCaptor {
 
         }
     }
+
+    public static <T> Exception captureThrowable(ThrowingConsumer<? super T> exceptionThrower, T input) {
+        try {
+            exceptionThrower.accept(input);
+            // not exception was thrown
+            return null;
+        } catch (Exception caught) {
+            return caught;
+        } catch (Throwable throwable) {
+            throw new IllegalArgumentException("Throwable is not supported by CatchException library, " +
+                    "use CatchThrowable instead");
+
+        }
+    }
+
+    public static <T, U> Exception captureThrowable(ThrowingBiConsumer<? super T, ? super U> exceptionThrower,
+                                                    T input, U argument) {
+        try {
+            exceptionThrower.accept(input, argument);
+            // not exception was thrown
+            return null;
+        } catch (Exception caught) {
+            return caught;
+        } catch (Throwable throwable) {
+            throw new IllegalArgumentException("Throwable is not supported by CatchException library, " +
+                    "use CatchThrowable instead");
+
+        }
+    }
+
+    public static <T> Result<T> attempt(ThrowingSupplier<? extends T> supplier) {
+        try {
+            return Result.success(supplier.get());
+        } catch (Exception caught) {
+            return Result.failure(caught);
+        } catch (Throwable throwable) {
+            throw new IllegalArgumentException("Throwable is not supported by CatchException library, " +
+                    "use CatchThrowable instead");
+
+        }
+    }
+
+    public static IntResult attemptInt(ThrowingIntSupplier supplier) {
+        try {
+            return IntResult.success(supplier.getAsInt());
+        } catch (Exception caught) {
+            return IntResult.failure(caught);
+        } catch (Throwable throwable) {
+            throw new IllegalArgumentException("Throwable is not supported by CatchException library, " +
+                    "use CatchThrowable instead");
+
+        }
+    }
+
+    public static LongResult attemptLong(ThrowingLongSupplier supplier) {
+        try {
+            return LongResult.success(supplier.getAsLong());
+        } catch (Exception caught) {
+            return LongResult.failure(caught);
+        } catch (Throwable throwable) {
+            throw new IllegalArgumentException("Throwable is not supported by CatchException library, " +
+                    "use CatchThrowable instead");
+
+        }
+    }
+
+    public static DoubleResult attemptDouble(ThrowingDoubleSupplier supplier) {
+        try {
+            return DoubleResult.success(supplier.getAsDouble());
+        } catch (Exception caught) {
+            return DoubleResult.failure(caught);
+        } catch (Throwable throwable) {
+            throw new IllegalArgumentException("Throwable is not supported by CatchException library, " +
+                    "use CatchThrowable instead");
+
+        }
+    }
+
+    /**
+     * Trims the stack trace of the given exception as configured for the
+     * {@link StackTraceTrimmer#DEFAULT default trimmer}.
+     *
+     * @param caught
+     *            an exception of the expected type
+     * @return Returns what shall be stored in the {@link ExceptionHolder} for
+     *         the given exception according to {@link #CAPTURE_PROPERTY}.
+     */
+    static Exception retain(Exception caught) {
+        if (StackTraceTrimmer.DEFAULT.isEnabled()) {
+            StackTraceTrimmer.DEFAULT.trim(caught);
+        }
+        return SNAPSHOT ? ExceptionSnapshot.of(caught) : caught;
+    }
 }
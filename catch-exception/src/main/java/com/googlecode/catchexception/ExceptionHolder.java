@@ -15,10 +15,10 @@
  */
 package com.googlecode.catchexception;
 
-import java.lang.ref.WeakReference;
-
 /**
- * Holds a caught exception {@link ThreadLocal per Thread}.
+ * Holds the most recently caught exception. Delegates to the
+ * {@link ExceptionHolderStrategy} that is selected at startup via the system
+ * property {@value #STRATEGY_PROPERTY}.
  * 
  * @author rwoo
  * 
@@ -26,15 +26,44 @@ import java.lang.ref.WeakReference;
 class ExceptionHolder {
 
     /**
-     * The container for the most recently caught exception.
-     * <p>
-     * There is no need to use {@link WeakReference weak references} here as all
-     * the code is for testing so that we don't have to care about memory leaks.
+     * The system property that selects the {@link ExceptionHolderStrategy}.
+     */
+    static final String STRATEGY_PROPERTY = "catchexception.holder";
+
+    /**
+     * The name of the default strategy that holds a caught exception
+     * {@link ThreadLocal per Thread}.
      */
-    private static final ThreadLocal<Exception> caughtException = new ThreadLocal<>();
+    static final String THREAD_LOCAL = "threadlocal";
+
+    /**
+     * The strategy that holds the most recently caught exception. It is final
+     * so that the JIT can inline the calls.
+     */
+    private static final ExceptionHolderStrategy strategy = createStrategy(System
+            .getProperty(STRATEGY_PROPERTY, THREAD_LOCAL));
+
+    /**
+     * @param name
+     *            {@value #THREAD_LOCAL} or the fully qualified name of an
+     *            {@link ExceptionHolderStrategy} implementation
+     * @return Returns a new instance of the strategy with the given name.
+     */
+    static ExceptionHolderStrategy createStrategy(String name) {
+        if (THREAD_LOCAL.equals(name)) {
+            return new ThreadLocalExceptionHolderStrategy();
+        }
+        try {
+            return Class.forName(name, true, ExceptionHolder.class.getClassLoader())
+                    .asSubclass(ExceptionHolderStrategy.class).getConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalStateException("Cannot create the strategy '" + name + "' given by the system property "
+                    + STRATEGY_PROPERTY, e);
+        }
+    }
 
     /**
-     * Saves the given exception in {@link #caughtException}.
+     * Saves the given exception via the selected {@link ExceptionHolderStrategy}.
      * 
      * @param <E>
      *            the type of the caught exception
@@ -42,7 +71,7 @@ class ExceptionHolder {
      *            the caught exception
      */
     public static <E extends Exception> void set(E caughtException) {
-        ExceptionHolder.caughtException.set(caughtException);
+        strategy.set(caughtException);
     }
 
     /**
@@ -53,7 +82,7 @@ class ExceptionHolder {
      */
     @SuppressWarnings("unchecked")
     public static <E extends Exception> E get() {
-        return (E) caughtException.get();
+        return (E) strategy.get();
     }
 
 }
@@ -15,10 +15,19 @@
  */
 package com.googlecode.catchexception;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 
+import com.googlecode.catchexception.apis.internal.MessageAbbreviator;
+
 /**
  * Thrown if a method has not thrown an exception of the expected type.
+ * <p>
+ * The message is built on the first call of {@link #getMessage()}, so an
+ * error that is caught and discarded, e.g. by a soft assertion or a retry,
+ * does not pay for it. The exception that has been thrown instead of the
+ * expected one is attached as {@link #getCause() cause}.
  * 
  * @author rwoo
  * @since 16.09.2011
@@ -30,6 +39,24 @@ public class ExceptionNotThrownAssertionError extends AssertionError {
      */
     private static final long serialVersionUID = 7044423604241785057L;
 
+    /**
+     * The expectation that is not met, either a {@link Class}, an
+     * {@link ExceptionTypes}, an {@link ExceptionSpec} or a
+     * {@link BatchResult}.
+     */
+    private final transient Object expected;
+
+    /**
+     * The description of the expectation the thrown exception does not meet,
+     * null if not applicable.
+     */
+    private final transient String mismatch;
+
+    /**
+     * The message, null until it is requested the first time.
+     */
+    private String message;
+
     /**
      * Use this constructor if neither an exception of the expected type nor
      * another exception is thrown.
@@ -40,9 +67,7 @@ public class ExceptionNotThrownAssertionError extends AssertionError {
      *            the type of the exception that is not thrown.
      */
     public <E extends Exception> ExceptionNotThrownAssertionError(Class<E> clazz) {
-        super(clazz == Exception.class ? "Exception expected but not thrown"
-                : "Neither an exception of type " + clazz.getName()
-                        + " nor another exception was thrown");
+        this(clazz, null, null);
     }
 
     /**
@@ -59,9 +84,188 @@ public class ExceptionNotThrownAssertionError extends AssertionError {
      */
     public <E extends Exception> ExceptionNotThrownAssertionError(
             Class<E> clazz, Exception e) {
-        super("Exception of type " + clazz.getName()
-                + " expected but was not thrown. "
-                + "Instead an exception of type " + e.getClass()
-                + " with message '" + e.getMessage() + "' was thrown.");
+        this(clazz, null, e);
+    }
+
+    /**
+     * Use this constructor if no exception is thrown although an exception of
+     * one of several types is expected.
+     * 
+     * @param types
+     *            the acceptable types of the exception that is not thrown.
+     */
+    public ExceptionNotThrownAssertionError(ExceptionTypes types) {
+        this(types, null, null);
+    }
+
+    /**
+     * Use this constructor if an exception of none of the acceptable types is
+     * thrown.
+     * 
+     * @param types
+     *            the acceptable types of the exception that is not thrown.
+     * @param e
+     *            the exception that has been thrown instead of the expected
+     *            one.
+     */
+    public ExceptionNotThrownAssertionError(ExceptionTypes types, Exception e) {
+        this(types, null, e);
+    }
+
+    /**
+     * Use this constructor if no exception is thrown although an exception
+     * that meets a spec is expected.
+     * 
+     * @param spec
+     *            the expectation on the exception that is not thrown.
+     */
+    public ExceptionNotThrownAssertionError(ExceptionSpec spec) {
+        this(spec, null, null);
+    }
+
+    /**
+     * Use this constructor if the thrown exception does not meet the spec.
+     * 
+     * @param spec
+     *            the expectation on the exception that is not thrown.
+     * @param mismatch
+     *            the description of the expectation the thrown exception does
+     *            not meet.
+     * @param e
+     *            the exception that has been thrown instead of the expected
+     *            one.
+     */
+    public ExceptionNotThrownAssertionError(ExceptionSpec spec, String mismatch, Exception e) {
+        this((Object) spec, mismatch, e);
+    }
+
+    /**
+     * Use this constructor if not every input of a batch has thrown an
+     * exception of the expected type.
+     * 
+     * @param result
+     *            the outcome of the batch
+     */
+    public ExceptionNotThrownAssertionError(BatchResult result) {
+        this(result, null, null);
+    }
+
+    private ExceptionNotThrownAssertionError(Object expected, String mismatch, Exception e) {
+        super();
+        this.expected = expected;
+        this.mismatch = mismatch;
+        if (e != null) {
+            initCause(e);
+        }
+    }
+
+    /**
+     * Creates an error that does not fill in its stack trace. Use it if the
+     * error serves as control flow and is not reported to the user.
+     * 
+     * @param clazz
+     *            the type of the exception that is not thrown.
+     * @param e
+     *            the exception that has been thrown instead of the expected
+     *            one, null if no exception has been thrown.
+     * @return Returns an error without a stack trace.
+     */
+    public static ExceptionNotThrownAssertionError withoutStackTrace(
+            Class<? extends Exception> clazz, Exception e) {
+        return new Stackless(clazz, null, e);
+    }
+
+    /**
+     * Creates an error that does not fill in its stack trace. Use it if the
+     * error serves as control flow and is not reported to the user.
+     * 
+     * @param result
+     *            the outcome of the batch
+     * @return Returns an error without a stack trace.
+     */
+    public static ExceptionNotThrownAssertionError withoutStackTrace(BatchResult result) {
+        return new Stackless(result, null, null);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see java.lang.Throwable#getMessage()
+     */
+    @Override
+    public String getMessage() {
+        String result = message;
+        if (result == null) {
+            result = describe(getCause());
+            message = result;
+        }
+        return result;
+    }
+
+    private String describe(Throwable e) {
+        if (expected instanceof BatchResult) {
+            BatchResult result = (BatchResult) expected;
+            return "Exception of type " + result.getExpectedType().getName()
+                    + " expected but not thrown by all inputs. " + result;
+        }
+        if (expected instanceof ExceptionTypes) {
+            return e == null ? "Neither an exception of one of the types "
+                    + expected + " nor another exception was thrown"
+                    : "Exception of one of the types " + expected
+                            + " expected but was not thrown. " + instead(e)
+                            + ".";
+        }
+        if (expected instanceof ExceptionSpec) {
+            return e == null ? "Neither an exception matching " + expected
+                    + " nor another exception was thrown"
+                    : "Exception matching " + expected
+                            + " expected but was not thrown. " + instead(e)
+                            + ", its " + mismatch + ".";
+        }
+        Class<?> clazz = (Class<?>) expected;
+        if (e == null) {
+            return clazz == Exception.class ? "Exception expected but not thrown"
+                    : "Neither an exception of type " + clazz.getName()
+                            + " nor another exception was thrown";
+        }
+        return "Exception of type " + clazz.getName()
+                + " expected but was not thrown. " + instead(e) + ".";
+    }
+
+    private static String instead(Throwable e) {
+        Class<?> type = e instanceof ExceptionSnapshot ? ((ExceptionSnapshot) e)
+                .getType() : e.getClass();
+        return "Instead an exception of type " + type
+                + " with message '"
+                + MessageAbbreviator.abbreviate(e.getMessage())
+                + "' was thrown";
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        // the expectation is transient, so the message must be built now
+        getMessage();
+        out.defaultWriteObject();
+    }
+
+    /**
+     * An error that does not fill in its stack trace.
+     */
+    private static final class Stackless extends ExceptionNotThrownAssertionError {
+
+        private static final long serialVersionUID = -2712468338520512497L;
+
+        Stackless(Object expected, String mismatch, Exception e) {
+            super(expected, mismatch, e);
+        }
+
+        /*
+         * (non-Javadoc)
+         * 
+         * @see java.lang.Throwable#fillInStackTrace()
+         */
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
     }
 }
@@ -0,0 +1,160 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * A compact, immutable copy of a caught exception that does not reference the
+ * original exception.
+ * <p>
+ * If the system property {@value ExceptionCaptor#CAPTURE_PROPERTY} is set to
+ * <code>snapshot</code>, {@link CatchException} stores a snapshot instead of
+ * the caught exception. The snapshot keeps the type, the message, the topmost
+ * {@value #MAX_FRAMES} stack frames and snapshots of the causes and suppressed
+ * exceptions. Everything else, in particular application objects referenced by
+ * fields of custom exceptions, can be collected by the garbage collector.
+ * <p>
+ * Matchers and assertions that inspect the message, the cause or the stack
+ * trace work on snapshots as they work on the original exception.
+ * {@link #toString()} renders the name of the original type. Type checks must
+ * use {@link #getType()}, {@link #isSnapshotOf(Class)}, the hamcrest matchers
+ * or {@link com.googlecode.catchexception.apis.CatchExceptionAssertions#thenCaughtException()}
+ * instead of <code>instanceof</code>, AssertJ's <code>isInstanceOf()</code> or
+ * {@link CatchException#caughtException(Class)}.
+ *
+ * @since 2.0
+ */
+public final class ExceptionSnapshot extends Exception {
+
+    private static final long serialVersionUID = -2263094581406519578L;
+
+    /**
+     * The maximum number of stack frames that are copied.
+     */
+    static final int MAX_FRAMES = 32;
+
+    /**
+     * The maximum nesting of causes and suppressed exceptions that are copied.
+     */
+    static final int MAX_DEPTH = 32;
+
+    /**
+     * The type of the original exception.
+     */
+    private final Class<? extends Throwable> type;
+
+    private ExceptionSnapshot(Throwable original, int depth, Map<Throwable, ExceptionSnapshot> copies) {
+        super(original.getMessage());
+        this.type = original.getClass();
+        StackTraceElement[] stackTrace = original.getStackTrace();
+        setStackTrace(stackTrace.length > MAX_FRAMES ? Arrays.copyOf(stackTrace, MAX_FRAMES) : stackTrace);
+        copies.put(original, this);
+        if (depth < MAX_DEPTH) {
+            Throwable cause = original.getCause();
+            if (cause != null) {
+                ExceptionSnapshot causeCopy = copy(cause, depth + 1, copies);
+                if (causeCopy != this) {
+                    initCause(causeCopy);
+                }
+            }
+            for (Throwable suppressed : original.getSuppressed()) {
+                ExceptionSnapshot suppressedCopy = copy(suppressed, depth + 1, copies);
+                if (suppressedCopy != this) {
+                    addSuppressed(suppressedCopy);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Returns the snapshot of the given throwable. A throwable that
+     *         is referenced more than once in the graph, e.g. as cause and as
+     *         suppressed exception or in a cycle, is copied only once.
+     */
+    private static ExceptionSnapshot copy(Throwable original, int depth, Map<Throwable, ExceptionSnapshot> copies) {
+        ExceptionSnapshot copy = copies.get(original);
+        return copy != null ? copy : new ExceptionSnapshot(original, depth, copies);
+    }
+
+    /**
+     * @param original
+     *            the throwable to copy. Must not be <code>null</code>.
+     * @return Returns a snapshot of the given throwable. Returns the given
+     *         throwable if it is a snapshot already.
+     */
+    public static ExceptionSnapshot of(Throwable original) {
+        if (original == null) {
+            throw new IllegalArgumentException("original must not be null");
+        }
+        if (original instanceof ExceptionSnapshot) {
+            return (ExceptionSnapshot) original;
+        }
+        return new ExceptionSnapshot(original, 0, new IdentityHashMap<>());
+    }
+
+    /**
+     * @return Returns the type of the original exception.
+     */
+    public Class<? extends Throwable> getType() {
+        return type;
+    }
+
+    /**
+     * @param clazz
+     *            a throwable type
+     * @return Returns true if the original exception was an instance of the
+     *         given type.
+     */
+    public boolean isSnapshotOf(Class<? extends Throwable> clazz) {
+        return clazz.isAssignableFrom(type);
+    }
+
+    /**
+     * @param clazz
+     *            a throwable type
+     * @param throwable
+     *            a throwable or a snapshot, may be <code>null</code>
+     * @return Returns true if the given throwable is an instance of the given
+     *         type or a snapshot of such an instance.
+     */
+    public static boolean isInstance(Class<? extends Throwable> clazz, Throwable throwable) {
+        return throwable instanceof ExceptionSnapshot ? ((ExceptionSnapshot) throwable).isSnapshotOf(clazz)
+                : clazz.isInstance(throwable);
+    }
+
+    /**
+     * The stack trace is copied from the original exception, so it is not
+     * filled in.
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+
+    /**
+     * @return Returns the string representation of the original exception,
+     *         i.e. the name of the original type followed by the message.
+     */
+    @Override
+    public String toString() {
+        String message = getLocalizedMessage();
+        return message != null ? type.getName() + ": " + message : type.getName();
+    }
+
+}
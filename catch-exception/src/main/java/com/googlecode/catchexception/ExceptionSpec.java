@@ -0,0 +1,252 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception;
+
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import com.googlecode.catchexception.apis.internal.MessageAbbreviator;
+
+/**
+ * An immutable, reusable expectation on an exception: its type, its message,
+ * its cause and its suppressed exceptions, see
+ * {@link CatchException#verifyExceptionMatching(ThrowingCallable, ExceptionSpec)}.
+ *
+ * Build a spec once, e.g. in a static final field, and apply it to many calls.
+ * A spec is evaluated in a single pass over the exception, reads each message
+ * once and allocates nothing if the exception matches. The exception is that
+ * {@link Throwable#getSuppressed()} returns a copy, so a spec that expects
+ * suppressed exceptions allocates when the exception has any.
+ *
+ * <code>private static final ExceptionSpec INVALID_INPUT = ExceptionSpec.of(IllegalArgumentException.class)
+ *         .withMessage("invalid input")
+ *         .withNoCause();</code>
+ */
+public final class ExceptionSpec {
+
+    private static final ExceptionSpec[] NONE = new ExceptionSpec[0];
+
+    private final Class<? extends Throwable> type;
+
+    /**
+     * The expectation on the message or null if any message is accepted.
+     */
+    private final Predicate<String> message;
+
+    private final String messageDescription;
+
+    /**
+     * The expectation on the cause or null if any cause is accepted.
+     */
+    private final ExceptionSpec cause;
+
+    private final boolean noCause;
+
+    /**
+     * The expectations on the suppressed exceptions in order or null if any
+     * suppressed exceptions are accepted.
+     */
+    private final ExceptionSpec[] suppressed;
+
+    private ExceptionSpec(Class<? extends Throwable> type, Predicate<String> message, String messageDescription,
+                          ExceptionSpec cause, boolean noCause, ExceptionSpec[] suppressed) {
+        this.type = type;
+        this.message = message;
+        this.messageDescription = messageDescription;
+        this.cause = cause;
+        this.noCause = noCause;
+        this.suppressed = suppressed;
+    }
+
+    /**
+     * @param type
+     *            the expected type of the exception. Must not be
+     *            <code>null</code>.
+     * @return Returns a spec that matches any instance of the given type or an
+     *         {@link ExceptionSnapshot snapshot} of such an instance.
+     */
+    public static ExceptionSpec of(Class<? extends Throwable> type) {
+        if (type == null) throw new IllegalArgumentException("type must not be null");
+        return new ExceptionSpec(type, null, null, null, false, null);
+    }
+
+    /**
+     * @param expectedMessage
+     *            the expected message, may be null
+     * @return Returns a copy of this spec that also expects the given message.
+     */
+    public ExceptionSpec withMessage(String expectedMessage) {
+        return withMessage(message -> Objects.equals(expectedMessage, message),
+                expectedMessage == null ? "no message" : "message \"" + expectedMessage + "\"");
+    }
+
+    /**
+     * @param expectedPart
+     *            a part of the expected message. Must not be
+     *            <code>null</code>.
+     * @return Returns a copy of this spec that also expects a message that
+     *         contains the given string.
+     */
+    public ExceptionSpec withMessageContaining(String expectedPart) {
+        if (expectedPart == null) throw new IllegalArgumentException("expectedPart must not be null");
+        return withMessage(message -> message != null && message.contains(expectedPart),
+                "message containing \"" + expectedPart + "\"");
+    }
+
+    /**
+     * @param predicate
+     *            the expectation on the message, is passed null if the
+     *            exception has no message. Must not be <code>null</code>.
+     * @param description
+     *            the description of the expectation, e.g.
+     *            <code>"a numeric message"</code>
+     * @return Returns a copy of this spec that also expects a message that
+     *         satisfies the given predicate.
+     */
+    public ExceptionSpec withMessageThat(Predicate<String> predicate, String description) {
+        if (predicate == null) throw new IllegalArgumentException("predicate must not be null");
+        return withMessage(predicate, String.valueOf(description));
+    }
+
+    private ExceptionSpec withMessage(Predicate<String> predicate, String description) {
+        return new ExceptionSpec(type, predicate, description, cause, noCause, suppressed);
+    }
+
+    /**
+     * @param causeSpec
+     *            the expectation on the cause. Must not be <code>null</code>.
+     * @return Returns a copy of this spec that also expects a cause that
+     *         matches the given spec.
+     */
+    public ExceptionSpec withCause(ExceptionSpec causeSpec) {
+        if (causeSpec == null) throw new IllegalArgumentException("causeSpec must not be null");
+        return new ExceptionSpec(type, message, messageDescription, causeSpec, false, suppressed);
+    }
+
+    /**
+     * @return Returns a copy of this spec that also expects no cause.
+     */
+    public ExceptionSpec withNoCause() {
+        return new ExceptionSpec(type, message, messageDescription, null, true, suppressed);
+    }
+
+    /**
+     * @param suppressedSpecs
+     *            the expectations on the suppressed exceptions in the order
+     *            they were added. Must not contain <code>null</code>.
+     * @return Returns a copy of this spec that also expects exactly the
+     *         suppressed exceptions that match the given specs.
+     */
+    public ExceptionSpec withSuppressed(ExceptionSpec... suppressedSpecs) {
+        for (ExceptionSpec suppressedSpec : suppressedSpecs) {
+            if (suppressedSpec == null) throw new IllegalArgumentException("suppressedSpecs must not contain null");
+        }
+        return new ExceptionSpec(type, message, messageDescription, cause, noCause, suppressedSpecs.clone());
+    }
+
+    /**
+     * @return Returns a copy of this spec that also expects no suppressed
+     *         exceptions.
+     */
+    public ExceptionSpec withNoSuppressed() {
+        return new ExceptionSpec(type, message, messageDescription, cause, noCause, NONE);
+    }
+
+    /**
+     * @param throwable
+     *            the throwable to check, may be null
+     * @return Returns true if the given throwable meets this spec.
+     */
+    public boolean matches(Throwable throwable) {
+        return describeMismatch(throwable) == null;
+    }
+
+    /**
+     * @param throwable
+     *            the throwable to check, may be null
+     * @return Returns null if the given throwable meets this spec. Otherwise
+     *         returns a description of the first expectation the throwable
+     *         does not meet.
+     */
+    public String describeMismatch(Throwable throwable) {
+        if (throwable == null) {
+            return "was null";
+        }
+        if (!ExceptionSnapshot.isInstance(type, throwable)) {
+            return "type was " + typeName(throwable);
+        }
+        if (message != null) {
+            String actualMessage = throwable.getMessage();
+            if (!message.test(actualMessage)) {
+                return actualMessage == null ? "had no message" : "message was \"" + MessageAbbreviator.abbreviate(actualMessage) + "\"";
+            }
+        }
+        Throwable actualCause = throwable.getCause();
+        if (noCause && actualCause != null) {
+            return "cause was " + MessageAbbreviator.abbreviate(String.valueOf(actualCause));
+        }
+        if (cause != null) {
+            if (actualCause == null) {
+                return "had no cause";
+            }
+            String causeMismatch = cause.describeMismatch(actualCause);
+            if (causeMismatch != null) {
+                return "cause " + causeMismatch;
+            }
+        }
+        if (suppressed != null) {
+            Throwable[] actualSuppressed = throwable.getSuppressed();
+            if (actualSuppressed.length != suppressed.length) {
+                return "had " + actualSuppressed.length + " suppressed exceptions";
+            }
+            for (int i = 0; i < suppressed.length; i++) {
+                String suppressedMismatch = suppressed[i].describeMismatch(actualSuppressed[i]);
+                if (suppressedMismatch != null) {
+                    return "suppressed exception " + i + " " + suppressedMismatch;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String typeName(Throwable throwable) {
+        return throwable instanceof ExceptionSnapshot ? ((ExceptionSnapshot) throwable).getType().getName()
+                : throwable.getClass().getName();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder description = new StringBuilder(type.getName());
+        if (message != null) {
+            description.append(" with ").append(messageDescription);
+        }
+        if (noCause) {
+            description.append(" with no cause");
+        } else if (cause != null) {
+            description.append(" with cause (").append(cause).append(')');
+        }
+        if (suppressed != null && suppressed.length == 0) {
+            description.append(" with no suppressed exceptions");
+        } else if (suppressed != null) {
+            description.append(" with suppressed exceptions [");
+            for (int i = 0; i < suppressed.length; i++) {
+                description.append(i == 0 ? "(" : ", (").append(suppressed[i]).append(')');
+            }
+            description.append(']');
+        }
+        return description.toString();
+    }
+}
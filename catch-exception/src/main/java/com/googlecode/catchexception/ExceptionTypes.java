@@ -0,0 +1,124 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable set of acceptable exception types, see
+ * {@link CatchException#verifyAnyException(ThrowingCallable, ExceptionTypes)}.
+ *
+ * The expected type that matches a thrown type is computed once per thrown
+ * type and cached in a {@link ClassValue}, so repeated checks against many
+ * expected types are a single lookup. Create an instance once, e.g. in a
+ * static final field, and reuse it.
+ *
+ * <code>private static final ExceptionTypes IO_ERRORS = ExceptionTypes.of(FileNotFoundException.class, EOFException.class);</code>
+ */
+public final class ExceptionTypes {
+
+    /**
+     * Cached for a thrown type if none of the expected types matches. A
+     * {@link ClassValue} cannot tell a cached null from a missing value.
+     */
+    private static final Class<?> NO_MATCH = Void.class;
+
+    private final List<Class<? extends Exception>> types;
+
+    /**
+     * The first of the expected types the key type is assignable to, or
+     * {@link #NO_MATCH}.
+     */
+    private final ClassValue<Class<?>> matches = new ClassValue<Class<?>>() {
+        @Override
+        protected Class<?> computeValue(Class<?> thrownType) {
+            for (Class<? extends Exception> type : types) {
+                if (type.isAssignableFrom(thrownType)) {
+                    return type;
+                }
+            }
+            return NO_MATCH;
+        }
+    };
+
+    private ExceptionTypes(List<Class<? extends Exception>> types) {
+        this.types = types;
+    }
+
+    /**
+     * @param types
+     *            the acceptable types in the order they shall be matched.
+     *            Must not be empty or contain <code>null</code>.
+     * @return Returns the set of the given types.
+     */
+    @SafeVarargs
+    public static ExceptionTypes of(Class<? extends Exception>... types) {
+        if (types == null || types.length == 0) throw new IllegalArgumentException("types must not be empty");
+        List<Class<? extends Exception>> list = new ArrayList<>(types.length);
+        for (Class<? extends Exception> type : types) {
+            if (type == null) throw new IllegalArgumentException("types must not contain null");
+            if (!list.contains(type)) {
+                list.add(type);
+            }
+        }
+        return new ExceptionTypes(Collections.unmodifiableList(list));
+    }
+
+    /**
+     * @param throwable
+     *            the thrown throwable, may be null
+     * @return Returns the first of the acceptable types the given throwable is
+     *         an instance of. Returns null if the throwable is null or not an
+     *         instance of any acceptable type.
+     */
+    @SuppressWarnings("unchecked")
+    public Class<? extends Exception> match(Throwable throwable) {
+        if (throwable == null) {
+            return null;
+        }
+        Class<?> type = matches.get(throwable.getClass());
+        return type == NO_MATCH ? null : (Class<? extends Exception>) type;
+    }
+
+    /**
+     * @param throwable
+     *            the thrown throwable, may be null
+     * @return Returns true if the given throwable is an instance of any
+     *         acceptable type.
+     */
+    public boolean matches(Throwable throwable) {
+        return match(throwable) != null;
+    }
+
+    /**
+     * @return Returns the acceptable types in the order they are matched.
+     */
+    public List<Class<? extends Exception>> getTypes() {
+        return types;
+    }
+
+    @Override
+    public String toString() {
+        String[] names = new String[types.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = types.get(i).getName();
+        }
+        return Arrays.toString(names);
+    }
+}
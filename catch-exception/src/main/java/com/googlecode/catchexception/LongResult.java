@@ -0,0 +1,127 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception;
+
+import java.util.Objects;
+
+/**
+ * The outcome of a call that returns a <code>long</code>, either the returned
+ * value or the thrown exception, see
+ * {@link CatchException#attemptLong(ThrowingLongSupplier)}. The value is not
+ * boxed.
+ *
+ * @see Result
+ */
+public final class LongResult {
+
+    private final long value;
+
+    /**
+     * The thrown exception or null if the call returned normally.
+     */
+    private final Exception exception;
+
+    private LongResult(long value, Exception exception) {
+        this.value = value;
+        this.exception = exception;
+    }
+
+    /**
+     * @param value
+     *            the value returned by the call
+     * @return Returns the result of a call that returned the given value.
+     */
+    public static LongResult success(long value) {
+        return new LongResult(value, null);
+    }
+
+    /**
+     * @param exception
+     *            the exception thrown by the call. Must not be
+     *            <code>null</code>.
+     * @return Returns the result of a call that threw the given exception.
+     */
+    public static LongResult failure(Exception exception) {
+        if (exception == null) throw new IllegalArgumentException("exception must not be null");
+        return new LongResult(0, exception);
+    }
+
+    /**
+     * @return Returns true if the call returned normally.
+     */
+    public boolean isSuccess() {
+        return exception == null;
+    }
+
+    /**
+     * @return Returns true if the call threw an exception.
+     */
+    public boolean isFailure() {
+        return exception != null;
+    }
+
+    /**
+     * @return Returns the value returned by the call.
+     * @throws IllegalStateException
+     *             if the call threw an exception. The exception is the cause.
+     */
+    public long getAsLong() {
+        if (exception != null) {
+            throw new IllegalStateException("The call did not return a value but threw " + exception, exception);
+        }
+        return value;
+    }
+
+    /**
+     * @param other
+     *            the value to return if the call threw an exception
+     * @return Returns the value returned by the call or the given value if the
+     *         call threw an exception.
+     */
+    public long orElse(long other) {
+        return exception == null ? value : other;
+    }
+
+    /**
+     * @return Returns the exception thrown by the call or null if the call
+     *         returned normally.
+     */
+    public Exception getException() {
+        return exception;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof LongResult)) {
+            return false;
+        }
+        LongResult other = (LongResult) obj;
+        return value == other.value && Objects.equals(exception, other.exception);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(value) + Objects.hashCode(exception);
+    }
+
+    @Override
+    public String toString() {
+        return exception == null ? "LongResult[value=" + value + "]" : "LongResult[exception=" + exception + "]";
+    }
+}
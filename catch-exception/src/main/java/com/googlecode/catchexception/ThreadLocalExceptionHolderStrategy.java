@@ -0,0 +1,154 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception;
+
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds a caught exception {@link ThreadLocal per Thread}. This is the default
+ * {@link ExceptionHolderStrategy}.
+ * <p>
+ * By default the caught exception is referenced strongly until the next
+ * catch in the same thread. Long-lived pooled threads (e.g. surefire with
+ * reused forks or parallel ForkJoin workers) would retain the last exception
+ * of every worker that way, so the retention can be configured via system
+ * properties:
+ * <ul>
+ * <li>{@value #RETENTION_PROPERTY}: <code>strong</code> (default),
+ * <code>soft</code> (the garbage collector may clear the exception under memory
+ * pressure) or <code>weak</code> (the garbage collector may clear the exception
+ * as soon as the test no longer references it, so the test should keep the
+ * result of <code>caughtException()</code> in a local variable if it inspects
+ * the exception more than once),
+ * <li>{@value #EXPIRE_AFTER_MILLIS_PROPERTY}: a caught exception that is older
+ * than the given number of milliseconds is no longer returned and its
+ * reference is dropped, default <code>0</code> (never expire).
+ * </ul>
+ */
+class ThreadLocalExceptionHolderStrategy implements ExceptionHolderStrategy {
+
+    static final String RETENTION_PROPERTY = "catchexception.holder.retention";
+
+    static final String EXPIRE_AFTER_MILLIS_PROPERTY = "catchexception.holder.expireAfterMillis";
+
+    /**
+     * How a caught exception is referenced by the holder.
+     */
+    enum Retention {
+        STRONG, SOFT, WEAK
+    }
+
+    /**
+     * A caught exception that is referenced softly, weakly or that expires.
+     */
+    private static final class Capture {
+
+        private final Exception strongReference;
+
+        private final Reference<Exception> reference;
+
+        private final long capturedAt;
+
+        private Capture(Exception exception, Retention retention, long capturedAt) {
+            this.strongReference = retention == Retention.STRONG ? exception : null;
+            this.reference = retention == Retention.SOFT ? new SoftReference<>(exception)
+                    : retention == Retention.WEAK ? new WeakReference<>(exception) : null;
+            this.capturedAt = capturedAt;
+        }
+
+        private Exception get() {
+            return reference == null ? strongReference : reference.get();
+        }
+    }
+
+    /**
+     * The container for the most recently caught exception, either the
+     * {@link Exception} itself or a {@link Capture}.
+     */
+    private final ThreadLocal<Object> caughtException = new ThreadLocal<>();
+
+    private final Retention retention;
+
+    private final long expireAfterNanos;
+
+    ThreadLocalExceptionHolderStrategy() {
+        this(retention(System.getProperty(RETENTION_PROPERTY, "strong")), Long.getLong(EXPIRE_AFTER_MILLIS_PROPERTY,
+                0));
+    }
+
+    /**
+     * @param retention
+     *            how a caught exception is referenced
+     * @param expireAfterMillis
+     *            the time after which a caught exception is dropped, 0 to
+     *            never expire
+     */
+    ThreadLocalExceptionHolderStrategy(Retention retention, long expireAfterMillis) {
+        if (retention == null) {
+            throw new IllegalArgumentException("retention must not be null");
+        }
+        if (expireAfterMillis < 0) {
+            throw new IllegalArgumentException("expireAfterMillis must not be negative");
+        }
+        this.retention = retention;
+        this.expireAfterNanos = TimeUnit.MILLISECONDS.toNanos(expireAfterMillis);
+    }
+
+    /**
+     * @param name
+     *            <code>strong</code>, <code>soft</code> or <code>weak</code>
+     * @return Returns the retention with the given name.
+     */
+    static Retention retention(String name) {
+        for (Retention retention : Retention.values()) {
+            if (retention.name().equals(name.toUpperCase(Locale.ROOT))) {
+                return retention;
+            }
+        }
+        throw new IllegalStateException("Unknown retention '" + name + "' given by the system property "
+                + RETENTION_PROPERTY + ", expected strong, soft or weak");
+    }
+
+    @Override
+    public Exception get() {
+        Object caught = caughtException.get();
+        if (!(caught instanceof Capture)) {
+            return (Exception) caught;
+        }
+        Capture capture = (Capture) caught;
+        Exception exception = capture.get();
+        if (exception == null || (expireAfterNanos != 0 && System.nanoTime() - capture.capturedAt > expireAfterNanos)) {
+            caughtException.set(null);
+            return null;
+        }
+        return exception;
+    }
+
+    @Override
+    public void set(Exception caughtException) {
+        if (caughtException == null || (retention == Retention.STRONG && expireAfterNanos == 0)) {
+            // the common case must not allocate
+            this.caughtException.set(caughtException);
+            return;
+        }
+        this.caughtException.set(new Capture(caughtException, retention, System.nanoTime()));
+    }
+
+}
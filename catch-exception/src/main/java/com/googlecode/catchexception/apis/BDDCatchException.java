@@ -15,6 +15,10 @@
  */
 package com.googlecode.catchexception.apis;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import com.googlecode.catchexception.CatchException;
 import com.googlecode.catchexception.ThrowingCallable;
 
@@ -77,6 +81,57 @@ public class BDDCatchException {
 		return CatchException.caughtException(caughtExceptionType);
 	}
 
+	/**
+	 * Returns the exceptions that were {@link Throwable#getSuppressed()
+	 * suppressed} by the exception caught during the last call in the current
+	 * thread, e.g. failures of <code>close()</code> in a try-with-resources
+	 * statement.
+	 *
+	 * EXAMPLE:
+	 *
+	 * {@code
+	 *
+	 * then(caughtSuppressed())
+	 *     .hasSize(2)
+	 *     .extracting(Throwable::getMessage)
+	 *     .containsExactly("close failed", "flush failed");
+	 * }
+	 *
+	 * @return Returns an unmodifiable list of the suppressed exceptions in the
+	 * order they have been suppressed. Returns an empty list when no exception
+	 * was caught.
+	 */
+	public static List<Throwable> caughtSuppressed() {
+		Exception caught = CatchException.caughtException();
+		if (caught == null) {
+			return Collections.emptyList();
+		}
+		// getSuppressed() returns a copy already, so wrap it instead of copying it again
+		return Collections.unmodifiableList(Arrays.asList(caught.getSuppressed()));
+	}
+
+	/**
+	 * Returns a property of the exception caught during the last call in the
+	 * current thread, e.g. the error code of a domain exception.
+	 *
+	 * EXAMPLE:
+	 *
+	 * {@code
+	 *
+	 * then(caughtProperty("errorCode")).isEqualTo(500);
+	 * }
+	 *
+	 * @param name the name of the property, see {@link ExceptionProperties}
+	 * @return Returns the value of the property. Returns null when no exception
+	 * was caught.
+	 * @throws IllegalArgumentException if the caught exception does not have the
+	 *                                  property
+	 */
+	public static Object caughtProperty(String name) {
+		Exception caught = CatchException.caughtException();
+		return caught == null ? null : ExceptionProperties.get(caught, name);
+	}
+
 	/**
 	 * Throws an assertion if no exception is thrown or if an exception of an
 	 * unexpected type is thrown.
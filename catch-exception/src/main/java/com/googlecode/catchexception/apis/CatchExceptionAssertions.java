@@ -0,0 +1,78 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.apis;
+
+import com.googlecode.catchexception.CatchException;
+import com.googlecode.catchexception.ExceptionSnapshot;
+import com.googlecode.catchexception.Result;
+
+/**
+ * Entry point for the AssertJ assertions on the types of this library.
+ *
+ * EXAMPLE:
+ *
+ * {@code
+ *
+ * import static com.googlecode.catchexception.apis.CatchExceptionAssertions.then;
+ *
+ * // when we try to parse a number
+ * Result<Integer> result = attempt(() -> Integer.parseInt("x"));
+ *
+ * // then we expect a NumberFormatException
+ * then(result).exception()
+ *     .isInstanceOf(NumberFormatException.class)
+ *     .hasMessage("For input string: \"x\"");
+ * }
+ */
+public class CatchExceptionAssertions {
+
+    /**
+     * @param <T>
+     *            the type of the value
+     * @param actual
+     *            the result to verify
+     * @return Returns the assertions for the given result.
+     */
+    public static <T> ResultAssert<T> assertThat(Result<T> actual) {
+        return new ResultAssert<>(actual);
+    }
+
+    /**
+     * @param <T>
+     *            the type of the value
+     * @param actual
+     *            the result to verify
+     * @return Returns the assertions for the given result.
+     */
+    public static <T> ResultAssert<T> then(Result<T> actual) {
+        return new ResultAssert<>(actual);
+    }
+
+    /**
+     * Use it instead of AssertJ's <code>then(caughtException())</code> if
+     * the system property <code>catchexception.capture</code> is set to
+     * <code>snapshot</code>: the type checks of the returned assertions compare
+     * the type of the original exception, not the class of the
+     * {@link ExceptionSnapshot}.
+     *
+     * @return Returns the assertions for the
+     *         {@link CatchException#caughtException() caught exception}.
+     */
+    public static CaughtExceptionAssert thenCaughtException() {
+        return new CaughtExceptionAssert(CatchException.caughtException());
+    }
+
+}
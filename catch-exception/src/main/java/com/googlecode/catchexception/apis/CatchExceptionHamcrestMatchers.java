@@ -15,11 +15,28 @@
  */
 package com.googlecode.catchexception.apis;
 
+import java.util.Arrays;
+import java.util.Collection;
+
 import org.hamcrest.Matcher;
+import org.hamcrest.core.IsAnything;
 import org.junit.matchers.JUnitMatchers;
 
+import com.googlecode.catchexception.ExceptionSpec;
+import com.googlecode.catchexception.Result;
+
+import com.googlecode.catchexception.apis.internal.hamcrest.ExceptionCauseMatcher;
 import com.googlecode.catchexception.apis.internal.hamcrest.ExceptionMessageMatcher;
+import com.googlecode.catchexception.apis.internal.hamcrest.ExceptionMessagePatternMatcher;
+import com.googlecode.catchexception.apis.internal.hamcrest.ExceptionMessagePhrasesMatcher;
 import com.googlecode.catchexception.apis.internal.hamcrest.ExceptionNoCauseMatcher;
+import com.googlecode.catchexception.apis.internal.hamcrest.ExceptionOriginMatcher;
+import com.googlecode.catchexception.apis.internal.hamcrest.ExceptionPropertyMatcher;
+import com.googlecode.catchexception.apis.internal.hamcrest.ExceptionSpecMatcher;
+import com.googlecode.catchexception.apis.internal.hamcrest.ExceptionSuppressedMatcher;
+import com.googlecode.catchexception.apis.internal.hamcrest.ExceptionTypeMatcher;
+import com.googlecode.catchexception.apis.internal.hamcrest.ResultExceptionMatcher;
+import com.googlecode.catchexception.apis.internal.hamcrest.ResultValueMatcher;
 
 /**
  * Provides some Hamcrest {@link Matcher matchers} to match some
@@ -103,4 +120,517 @@ assertThat(caughtException(), hasMessageThat(containsPattern("Index: \\d+"))); /
         return new ExceptionNoCauseMatcher<>();
     }
 
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtException(), hasCause(SQLException.class));</code>
+     * 
+     * @param <T>
+     *            the exception subclass
+     * @param type
+     *            the expected type of the cause
+     * @return Returns a matcher that matches the exception if its direct
+     *         {@link Throwable#getCause() cause} is an instance of the given
+     *         type.
+     */
+    public static <T extends Exception> org.hamcrest.Matcher<T> hasCause(Class<? extends Throwable> type) {
+        if (type == null) throw new IllegalArgumentException("type must not be null");
+        return new ExceptionCauseMatcher<>(ExceptionCauseMatcher.Scope.CAUSE, type);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtException(), hasRootCause(SocketTimeoutException.class));</code>
+     * 
+     * @param <T>
+     *            the exception subclass
+     * @param type
+     *            the expected type of the root cause
+     * @return Returns a matcher that matches the exception if the last cause of
+     *         its cause chain is an instance of the given type.
+     */
+    public static <T extends Exception> org.hamcrest.Matcher<T> hasRootCause(Class<? extends Throwable> type) {
+        if (type == null) throw new IllegalArgumentException("type must not be null");
+        return new ExceptionCauseMatcher<>(ExceptionCauseMatcher.Scope.ROOT_CAUSE, type);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtException(), hasRootCause(hasMessage("timeout")));</code>
+     * 
+     * @param <T>
+     *            the exception subclass
+     * @param causeMatcher
+     *            the matcher that shall match the root cause
+     * @return Returns a matcher that matches the exception if the last cause of
+     *         its cause chain matches the given matcher.
+     */
+    public static <T extends Exception> org.hamcrest.Matcher<T> hasRootCause(Matcher<?> causeMatcher) {
+        if (causeMatcher == null) throw new IllegalArgumentException("causeMatcher must not be null");
+        return new ExceptionCauseMatcher<>(ExceptionCauseMatcher.Scope.ROOT_CAUSE, causeMatcher, Integer.MAX_VALUE);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtException(), hasCauseInChain(instanceOf(SQLException.class)));</code>
+     * 
+     * The chain is walked until the first matching cause, a cycle in the
+     * chain ends the walk.
+     * 
+     * @param <T>
+     *            the exception subclass
+     * @param causeMatcher
+     *            the matcher that shall match a cause
+     * @return Returns a matcher that matches the exception if any cause of its
+     *         cause chain matches the given matcher.
+     */
+    public static <T extends Exception> org.hamcrest.Matcher<T> hasCauseInChain(Matcher<?> causeMatcher) {
+        return hasCauseInChain(causeMatcher, Integer.MAX_VALUE);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtException(), hasCauseInChain(instanceOf(SQLException.class), 3));</code>
+     * 
+     * @param <T>
+     *            the exception subclass
+     * @param causeMatcher
+     *            the matcher that shall match a cause
+     * @param maxDepth
+     *            the number of causes that are checked, 1 checks the direct
+     *            cause only
+     * @return Returns a matcher that matches the exception if one of the first
+     *         <code>maxDepth</code> causes of its cause chain matches the
+     *         given matcher.
+     */
+    public static <T extends Exception> org.hamcrest.Matcher<T> hasCauseInChain(Matcher<?> causeMatcher,
+            int maxDepth) {
+        if (causeMatcher == null) throw new IllegalArgumentException("causeMatcher must not be null");
+        if (maxDepth < 1) throw new IllegalArgumentException("maxDepth must be positive");
+        return new ExceptionCauseMatcher<>(ExceptionCauseMatcher.Scope.CHAIN, causeMatcher, maxDepth);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtException(), hasSuppressedCount(2));</code>
+     * 
+     * @param <T>
+     *            the exception subclass
+     * @param count
+     *            the expected number of suppressed exceptions
+     * @return Returns a matcher that matches the exception if it has the given
+     *         number of {@link Throwable#getSuppressed() suppressed}
+     *         exceptions.
+     */
+    public static <T extends Exception> org.hamcrest.Matcher<T> hasSuppressedCount(int count) {
+        if (count < 0) throw new IllegalArgumentException("count must not be negative");
+        return new ExceptionSuppressedMatcher<>(count);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtException(), hasSuppressedTypes(IOException.class, SQLException.class));</code>
+     * 
+     * @param <T>
+     *            the exception subclass
+     * @param types
+     *            the expected types of the suppressed exceptions in the order
+     *            they have been suppressed
+     * @return Returns a matcher that matches the exception if its
+     *         {@link Throwable#getSuppressed() suppressed} exceptions are
+     *         instances of the given types in the given order.
+     */
+    @SafeVarargs
+    public static <T extends Exception> org.hamcrest.Matcher<T> hasSuppressedTypes(
+            Class<? extends Throwable>... types) {
+        if (types == null || Arrays.asList(types).contains(null))
+            throw new IllegalArgumentException("types must not be null");
+        return new ExceptionSuppressedMatcher<>(types);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtException(), hasSuppressedMessages("close failed", "flush failed"));</code>
+     * 
+     * @param <T>
+     *            the exception subclass
+     * @param messages
+     *            the expected messages of the suppressed exceptions in the
+     *            order they have been suppressed
+     * @return Returns a matcher that matches the exception if its
+     *         {@link Throwable#getSuppressed() suppressed} exceptions have the
+     *         given messages in the given order.
+     */
+    public static <T extends Exception> org.hamcrest.Matcher<T> hasSuppressedMessages(String... messages) {
+        if (messages == null) throw new IllegalArgumentException("messages must not be null");
+        return new ExceptionSuppressedMatcher<>(messages);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtException(), hasSuppressed(hasMessage("close failed")));</code>
+     * 
+     * @param <T>
+     *            the exception subclass
+     * @param suppressedMatcher
+     *            the matcher that shall match a suppressed exception
+     * @return Returns a matcher that matches the exception if any of its
+     *         {@link Throwable#getSuppressed() suppressed} exceptions matches
+     *         the given matcher.
+     */
+    public static <T extends Exception> org.hamcrest.Matcher<T> hasSuppressed(Matcher<?> suppressedMatcher) {
+        if (suppressedMatcher == null) throw new IllegalArgumentException("suppressedMatcher must not be null");
+        return new ExceptionSuppressedMatcher<>(suppressedMatcher);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtException(), thrownFrom(FastPathValidator.class));</code>
+     * 
+     * The stack trace is scanned from the top for the first frame of the given
+     * class, so an exception thrown by a JDK method or by a helper like
+     * <code>Preconditions.checkArgument()</code> is attributed to the code that
+     * called it. At most {@link ExceptionOriginMatcher#DEFAULT_MAX_DEPTH} frames
+     * outside the JDK are scanned, see
+     * {@link #thrownFrom(Class, String, int)} for longer chains of helpers.
+     * 
+     * @param <T>
+     *            the exception subclass
+     * @param type
+     *            the class the exception shall be thrown from
+     * @return Returns a matcher that matches the exception if it has been
+     *         thrown from the given class.
+     */
+    public static <T extends Exception> org.hamcrest.Matcher<T> thrownFrom(Class<?> type) {
+        if (type == null) throw new IllegalArgumentException("type must not be null");
+        return new ExceptionOriginMatcher<>(type.getName(), null);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtException(), thrownFrom(FastPathValidator.class, "validate"));</code>
+     * 
+     * @param <T>
+     *            the exception subclass
+     * @param type
+     *            the class the exception shall be thrown from
+     * @param methodName
+     *            the name of the method the exception shall be thrown from
+     * @return Returns a matcher that matches the exception if it has been
+     *         thrown from the given method, see {@link #thrownFrom(Class)}.
+     */
+    public static <T extends Exception> org.hamcrest.Matcher<T> thrownFrom(Class<?> type, String methodName) {
+        if (type == null) throw new IllegalArgumentException("type must not be null");
+        if (methodName == null) throw new IllegalArgumentException("methodName must not be null");
+        return new ExceptionOriginMatcher<>(type.getName(), methodName);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtException(), thrownFrom(FastPathValidator.class, "validate", 4));</code>
+     * 
+     * @param <T>
+     *            the exception subclass
+     * @param type
+     *            the class the exception shall be thrown from
+     * @param methodName
+     *            the name of the method the exception shall be thrown from
+     * @param maxDepth
+     *            the maximum number of frames outside the JDK that are
+     *            scanned, i.e. the frame that threw, the frames of helpers
+     *            and the frame of the given method. Must be positive.
+     * @return Returns a matcher that matches the exception if it has been
+     *         thrown from the given method, see {@link #thrownFrom(Class)}.
+     */
+    public static <T extends Exception> org.hamcrest.Matcher<T> thrownFrom(Class<?> type, String methodName,
+            int maxDepth) {
+        if (type == null) throw new IllegalArgumentException("type must not be null");
+        if (methodName == null) throw new IllegalArgumentException("methodName must not be null");
+        return new ExceptionOriginMatcher<>(type.getName(), methodName, maxDepth);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtException(), thrownWithin("com.acme.validation.fast"));</code>
+     * 
+     * @param <T>
+     *            the exception subclass
+     * @param packageName
+     *            the package the exception shall be thrown within, subpackages
+     *            included
+     * @return Returns a matcher that matches the exception if it has been
+     *         thrown from a class of the given package, see
+     *         {@link #thrownFrom(Class)}.
+     */
+    public static <T extends Exception> org.hamcrest.Matcher<T> thrownWithin(String packageName) {
+        if (packageName == null || packageName.isEmpty())
+            throw new IllegalArgumentException("packageName must not be empty");
+        return new ExceptionOriginMatcher<>(packageName);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtException(), hasProperty("errorCode", is(500)));</code>
+     * 
+     * @param <T>
+     *            the exception subclass
+     * @param name
+     *            the name of the property, see {@link ExceptionProperties}
+     * @param valueMatcher
+     *            the matcher that shall match the value of the property
+     * @return Returns a matcher that matches the exception if it has the given
+     *         property and the value of the property matches the given
+     *         matcher.
+     */
+    public static <T extends Exception> org.hamcrest.Matcher<T> hasProperty(String name, Matcher<?> valueMatcher) {
+        if (name == null) throw new IllegalArgumentException("name must not be null");
+        if (valueMatcher == null) throw new IllegalArgumentException("valueMatcher must not be null");
+        return new ExceptionPropertyMatcher<>(name, valueMatcher);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtException(), hasMessageMatching("Index: \\d+, Size: \\d+"));</code>
+     * 
+     * The compiled expression is cached, so checking many exceptions against the
+     * same expression does not compile it again.
+     * 
+     * @param <T>
+     *            the exception subclass
+     * @param regex
+     *            the regular expression the whole message shall match
+     * @return Returns a matcher that matches an exception if its message matches
+     *         the given regular expression.
+     */
+    public static <T extends Exception> org.hamcrest.Matcher<T> hasMessageMatching(String regex) {
+        if (regex == null) throw new IllegalArgumentException("regex must not be null");
+        return new ExceptionMessagePatternMatcher<>(regex, false);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtException(), hasMessageFinding("Size: \\d+"));</code>
+     * 
+     * The compiled expression is cached, so checking many exceptions against the
+     * same expression does not compile it again.
+     * 
+     * @param <T>
+     *            the exception subclass
+     * @param regex
+     *            the regular expression a part of the message shall match
+     * @return Returns a matcher that matches an exception if a part of its message
+     *         matches the given regular expression.
+     */
+    public static <T extends Exception> org.hamcrest.Matcher<T> hasMessageFinding(String regex) {
+        if (regex == null) throw new IllegalArgumentException("regex must not be null");
+        return new ExceptionMessagePatternMatcher<>(regex, true);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtException(), hasMessageContainingAnyOf("E1001", "E1002", "E2001"));</code>
+     * 
+     * The phrases are compiled into an automaton that scans the message once,
+     * regardless of the number of phrases.
+     * 
+     * @param <T>
+     *            the exception subclass
+     * @param phrases
+     *            the phrases. Must not be empty and must not contain
+     *            <code>null</code> or empty strings.
+     * @return Returns a matcher that matches an exception if its message
+     *         contains at least one of the given phrases.
+     */
+    public static <T extends Exception> org.hamcrest.Matcher<T> hasMessageContainingAnyOf(String... phrases) {
+        return hasMessageContainingAnyOf(Arrays.asList(phrases));
+    }
+
+    /**
+     * @param <T>
+     *            the exception subclass
+     * @param phrases
+     *            the phrases. Must not be empty and must not contain
+     *            <code>null</code> or empty strings.
+     * @return Returns a matcher that matches an exception if its message
+     *         contains at least one of the given phrases.
+     * @see #hasMessageContainingAnyOf(String...)
+     */
+    public static <T extends Exception> org.hamcrest.Matcher<T> hasMessageContainingAnyOf(
+            Collection<String> phrases) {
+        return new ExceptionMessagePhrasesMatcher<>(phrases, false);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtException(), hasMessageContainingAllOf("E1001", "retry"));</code>
+     * 
+     * The phrases are compiled into an automaton that scans the message once,
+     * regardless of the number of phrases.
+     * 
+     * @param <T>
+     *            the exception subclass
+     * @param phrases
+     *            the phrases. Must not be empty and must not contain
+     *            <code>null</code> or empty strings.
+     * @return Returns a matcher that matches an exception if its message
+     *         contains all of the given phrases.
+     */
+    public static <T extends Exception> org.hamcrest.Matcher<T> hasMessageContainingAllOf(String... phrases) {
+        return hasMessageContainingAllOf(Arrays.asList(phrases));
+    }
+
+    /**
+     * @param <T>
+     *            the exception subclass
+     * @param phrases
+     *            the phrases. Must not be empty and must not contain
+     *            <code>null</code> or empty strings.
+     * @return Returns a matcher that matches an exception if its message
+     *         contains all of the given phrases.
+     * @see #hasMessageContainingAllOf(String...)
+     */
+    public static <T extends Exception> org.hamcrest.Matcher<T> hasMessageContainingAllOf(
+            Collection<String> phrases) {
+        return new ExceptionMessagePhrasesMatcher<>(phrases, true);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtException(), hasMessageTemplate("Index: {}, Size: {}").withInt(1, 9));</code>
+     * 
+     * @param <T>
+     *            the exception subclass
+     * @param template
+     *            the template the message shall match, see
+     *            {@link MessageTemplate}
+     * @return Returns a matcher that matches an exception if its message matches
+     *         the given template.
+     */
+    public static <T extends Exception> ExceptionMessageTemplateMatcher<T> hasMessageTemplate(String template) {
+        return hasMessageTemplate(MessageTemplate.compile(template));
+    }
+
+    /**
+     * @param <T>
+     *            the exception subclass
+     * @param template
+     *            the template the message shall match. Must not be
+     *            <code>null</code>.
+     * @return Returns a matcher that matches an exception if its message matches
+     *         the given template.
+     * @see #hasMessageTemplate(String)
+     */
+    public static <T extends Exception> ExceptionMessageTemplateMatcher<T> hasMessageTemplate(MessageTemplate template) {
+        if (template == null) throw new IllegalArgumentException("template must not be null");
+        return new ExceptionMessageTemplateMatcher<>(template);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtException(), hasType(IndexOutOfBoundsException.class));</code>
+     * 
+     * @param <T>
+     *            the exception subclass
+     * @param expectedType
+     *            the expected type of the exception
+     * @return Returns a matcher that matches an exception if it is an instance
+     *         of the given type or an
+     *         {@link com.googlecode.catchexception.ExceptionSnapshot snapshot}
+     *         of such an instance.
+     */
+    public static <T extends Exception> org.hamcrest.Matcher<T> hasType(
+            Class<? extends Throwable> expectedType) {
+        return new ExceptionTypeMatcher<>(expectedType);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtException(), exceptionOfType(IndexOutOfBoundsException.class)
+     *     .withMessage("Index: 9, Size: 9")
+     *     .withNoCause());</code>
+     * 
+     * @param <T>
+     *            the exception subclass
+     * @param expectedType
+     *            the expected type of the exception
+     * @return Returns a matcher that checks the type, the message and the
+     *         cause chain of an exception in a single traversal.
+     */
+    public static <T extends Exception> CompositeExceptionMatcher<T> exceptionOfType(
+            Class<? extends Throwable> expectedType) {
+        if (expectedType == null) throw new IllegalArgumentException("expectedType must not be null");
+        return new CompositeExceptionMatcher<>(expectedType);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtException(), matchesSpec(INDEX_OUT_OF_BOUNDS));</code>
+     * 
+     * @param <T>
+     *            the exception subclass
+     * @param spec
+     *            the precompiled expectation on the exception
+     * @return Returns a matcher that matches an exception if it meets the given
+     *         {@link ExceptionSpec spec}.
+     */
+    public static <T extends Exception> org.hamcrest.Matcher<T> matchesSpec(
+            ExceptionSpec spec) {
+        return new ExceptionSpecMatcher<>(spec);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(attempt(() -&gt; myList.get(0)), isSuccess());</code>
+     * 
+     * @param <T>
+     *            the type of the value
+     * @return Returns a matcher that matches a {@link Result result} if the
+     *         call returned normally.
+     */
+    public static <T> org.hamcrest.Matcher<Result<T>> isSuccess() {
+        return new ResultValueMatcher<>(new IsAnything<>("anything"));
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(attempt(() -&gt; myList.get(0)), hasValue(is("frodo")));</code>
+     * 
+     * @param <T>
+     *            the type of the value
+     * @param valueMatcher
+     *            a matcher for the value
+     * @return Returns a matcher that matches a {@link Result result} if the
+     *         call returned a value that is matched by the given matcher.
+     */
+    public static <T> org.hamcrest.Matcher<Result<T>> hasValue(Matcher<? super T> valueMatcher) {
+        return new ResultValueMatcher<>(valueMatcher);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(attempt(() -&gt; myList.get(9)), isFailure());</code>
+     * 
+     * @param <T>
+     *            the type of the value
+     * @return Returns a matcher that matches a {@link Result result} if the
+     *         call threw an exception.
+     */
+    public static <T> org.hamcrest.Matcher<Result<T>> isFailure() {
+        return new ResultExceptionMatcher<>(new IsAnything<>("anything"));
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(attempt(() -&gt; myList.get(9)), hasException(hasType(IndexOutOfBoundsException.class)));</code>
+     * 
+     * @param <T>
+     *            the type of the value
+     * @param exceptionMatcher
+     *            a matcher for the exception
+     * @return Returns a matcher that matches a {@link Result result} if the
+     *         call threw an exception that is matched by the given matcher.
+     */
+    public static <T> org.hamcrest.Matcher<Result<T>> hasException(Matcher<? super Exception> exceptionMatcher) {
+        return new ResultExceptionMatcher<>(exceptionMatcher);
+    }
+
 }
@@ -17,6 +17,7 @@ package com.googlecode.catchexception.apis;
 
 import com.googlecode.catchexception.CatchException;
 import com.googlecode.catchexception.ExceptionNotThrownAssertionError;
+import com.googlecode.catchexception.ExceptionSnapshot;
 
 class CatchExceptionUtils {
   @SuppressWarnings({"rawtypes", "unchecked"})
@@ -25,8 +26,7 @@ class CatchExceptionUtils {
     if (e == null) {
       // no exception caught -> assertion failed
       throw new ExceptionNotThrownAssertionError(actualExceptionClazz);
-    } else if (!actualExceptionClazz.isAssignableFrom(CatchException
-        .caughtException().getClass())) {
+    } else if (!ExceptionSnapshot.isInstance(actualExceptionClazz, e)) {
       // caught exception is of wrong type -> assertion failed
       throw new ExceptionNotThrownAssertionError(actualExceptionClazz, e);
     } else {
@@ -0,0 +1,124 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.apis;
+
+import org.assertj.core.api.AbstractThrowableAssert;
+
+import com.googlecode.catchexception.ExceptionSnapshot;
+
+/**
+ * AssertJ assertions for a caught exception that also understand
+ * {@link ExceptionSnapshot snapshots}, see
+ * {@link CatchExceptionAssertions#thenCaughtException()}. The type checks of
+ * AssertJ's own throwable assertions compare the class of the snapshot, i.e.
+ * they fail in the snapshot capture mode. The type checks of this class
+ * compare the type of the original exception instead.
+ *
+ * @since 2.0
+ */
+public class CaughtExceptionAssert extends AbstractThrowableAssert<CaughtExceptionAssert, Throwable> {
+
+    /**
+     * @param actual
+     *            the exception or snapshot to verify
+     */
+    public CaughtExceptionAssert(Throwable actual) {
+        super(actual, CaughtExceptionAssert.class);
+    }
+
+    /**
+     * @return Returns the type of the original exception.
+     */
+    private Class<?> type() {
+        isNotNull();
+        return actual instanceof ExceptionSnapshot ? ((ExceptionSnapshot) actual).getType() : actual.getClass();
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.assertj.core.api.AbstractAssert#isInstanceOf(java.lang.Class)
+     */
+    @Override
+    public CaughtExceptionAssert isInstanceOf(Class<?> type) {
+        if (!type.isAssignableFrom(type())) {
+            failWithMessage("Expected an instance of <%s> but was an instance of <%s>", type.getName(),
+                    type().getName());
+        }
+        return this;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.assertj.core.api.AbstractAssert#isNotInstanceOf(java.lang.Class)
+     */
+    @Override
+    public CaughtExceptionAssert isNotInstanceOf(Class<?> type) {
+        if (type.isAssignableFrom(type())) {
+            failWithMessage("Expected not to be an instance of <%s> but was an instance of <%s>", type.getName(),
+                    type().getName());
+        }
+        return this;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.assertj.core.api.AbstractAssert#isExactlyInstanceOf(java.lang.Class)
+     */
+    @Override
+    public CaughtExceptionAssert isExactlyInstanceOf(Class<?> type) {
+        if (type != type()) {
+            failWithMessage("Expected exactly an instance of <%s> but was an instance of <%s>", type.getName(),
+                    type().getName());
+        }
+        return this;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.assertj.core.api.AbstractThrowableAssert#hasCauseInstanceOf(java.lang.Class)
+     */
+    @Override
+    public CaughtExceptionAssert hasCauseInstanceOf(Class<? extends Throwable> type) {
+        isNotNull();
+        Throwable cause = actual.getCause();
+        if (cause == null) {
+            failWithMessage("Expected a cause of type <%s> but there was no cause", type.getName());
+        }
+        new CaughtExceptionAssert(cause).isInstanceOf(type);
+        return this;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.assertj.core.api.AbstractThrowableAssert#hasCauseExactlyInstanceOf(java.lang.Class)
+     */
+    @Override
+    public CaughtExceptionAssert hasCauseExactlyInstanceOf(Class<? extends Throwable> type) {
+        isNotNull();
+        Throwable cause = actual.getCause();
+        if (cause == null) {
+            failWithMessage("Expected a cause of type <%s> but there was no cause", type.getName());
+        }
+        new CaughtExceptionAssert(cause).isExactlyInstanceOf(type);
+        return this;
+    }
+
+}
@@ -0,0 +1,242 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.apis;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Reads properties of exceptions by name, e.g. the error code of a domain
+ * exception, without a hand-written assertion class per exception type.
+ * <p>
+ * A property <code>name</code> is read by the public method
+ * <code>getName()</code>, <code>isName()</code> or <code>name()</code>, or by
+ * the public field <code>name</code>, in this order. The accessor is resolved
+ * once per exception class and property and is cached as a
+ * {@link MethodHandle}, so only the first read of a property uses
+ * reflection. The functions returned by {@link #property(String)}
+ * additionally remember the accessor for the class they read last, so
+ * reading the property of many exceptions of the same class skips the cache
+ * lookup.
+ * <p>
+ * EXAMPLE:
+ * 
+ * {@code
+ * 
+ * then(caughtException()).extracting(property("errorCode")).isEqualTo(500);
+ * }
+ */
+public final class ExceptionProperties {
+
+    /**
+     * The cached accessor of a property that does not exist.
+     */
+    private static final MethodHandle MISSING = MethodHandles.constant(Object.class, null);
+
+    /**
+     * The accessors of the properties of each exception class by the names of
+     * the properties.
+     */
+    private static final ClassValue<Map<String, MethodHandle>> ACCESSORS = new ClassValue<Map<String, MethodHandle>>() {
+        @Override
+        protected Map<String, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private ExceptionProperties() {
+        // utility class
+    }
+
+    /**
+     * @param type
+     *            an exception class
+     * @param name
+     *            the name of a property
+     * @return Returns true if the given class has a readable property with
+     *         the given name.
+     */
+    public static boolean hasProperty(Class<? extends Throwable> type, String name) {
+        return accessor(type, name) != MISSING;
+    }
+
+    /**
+     * @param throwable
+     *            the exception, not null
+     * @param name
+     *            the name of the property
+     * @return Returns the value of the property of the given exception.
+     * @throws IllegalArgumentException
+     *             if the exception does not have the property
+     */
+    public static Object get(Throwable throwable, String name) {
+        return invoke(accessor(throwable.getClass(), name), throwable, name);
+    }
+
+    private static Object invoke(MethodHandle accessor, Throwable throwable, String name) {
+        if (accessor == MISSING) {
+            throw new IllegalArgumentException("Class " + throwable.getClass().getName()
+                    + " has no property '" + name + "'");
+        }
+        try {
+            return accessor.invokeExact(throwable);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Property '" + name + "' could not be read", e);
+        }
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>then(caughtException()).extracting(property("errorCode")).isEqualTo(500);</code>
+     * 
+     * @param name
+     *            the name of the property
+     * @return Returns a function that reads the given property of an
+     *         exception, see {@link #get(Throwable, String)}.
+     */
+    public static Function<Throwable, Object> property(String name) {
+        if (name == null) throw new IllegalArgumentException("name must not be null");
+        return new PropertyReader(name);
+    }
+
+    private static MethodHandle accessor(Class<?> type, String name) {
+        return ACCESSORS.get(type).computeIfAbsent(name, key -> resolve(type, key));
+    }
+
+    private static MethodHandle resolve(Class<?> type, String name) {
+        if (name.isEmpty()) {
+            return MISSING;
+        }
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        try {
+            Member member = method(type, "get" + capitalized);
+            if (member == null) {
+                member = method(type, "is" + capitalized);
+            }
+            if (member == null) {
+                member = method(type, name);
+            }
+            if (member == null) {
+                member = field(type, name);
+            }
+            if (member == null) {
+                return MISSING;
+            }
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle handle = member instanceof Method ? lookup.unreflect((Method) member)
+                    : lookup.unreflectGetter((Field) member);
+            return handle.asType(MethodType.methodType(Object.class, Throwable.class));
+        } catch (IllegalAccessException | RuntimeException e) {
+            // e.g. a member of a class that is not exported
+            return MISSING;
+        }
+    }
+
+    private static Method method(Class<?> type, String name) {
+        try {
+            Method method = type.getMethod(name);
+            if (method.getReturnType() == void.class || Modifier.isStatic(method.getModifiers())) {
+                return null;
+            }
+            makeAccessible(method);
+            return method;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static Field field(Class<?> type, String name) {
+        try {
+            Field field = type.getField(name);
+            if (Modifier.isStatic(field.getModifiers())) {
+                return null;
+            }
+            makeAccessible(field);
+            return field;
+        } catch (NoSuchFieldException e) {
+            return null;
+        }
+    }
+
+    private static void makeAccessible(AccessibleObject member) {
+        // public members of non-public classes are not accessible otherwise
+        if (!Modifier.isPublic(((Member) member).getDeclaringClass().getModifiers())) {
+            member.setAccessible(true);
+        }
+    }
+
+    /**
+     * Reads a property and remembers the accessor for the class of the last
+     * exception it has read.
+     */
+    private static final class PropertyReader implements Function<Throwable, Object> {
+
+        private final String name;
+
+        /**
+         * The accessor for the class of the last exception or null.
+         */
+        private volatile CachedAccessor cachedAccessor;
+
+        private PropertyReader(String name) {
+            super();
+            this.name = name;
+        }
+
+        /*
+         * (non-Javadoc)
+         * 
+         * @see java.util.function.Function#apply(java.lang.Object)
+         */
+        @Override
+        public Object apply(Throwable throwable) {
+            CachedAccessor cached = cachedAccessor;
+            if (cached == null || cached.type != throwable.getClass()) {
+                cached = new CachedAccessor(throwable.getClass(), accessor(throwable.getClass(), name));
+                cachedAccessor = cached;
+            }
+            return invoke(cached.accessor, throwable, name);
+        }
+    }
+
+    /**
+     * The accessor of a property for a class.
+     */
+    private static final class CachedAccessor {
+
+        private final Class<?> type;
+
+        private final MethodHandle accessor;
+
+        private CachedAccessor(Class<?> type, MethodHandle accessor) {
+            super();
+            this.type = type;
+            this.accessor = accessor;
+        }
+    }
+
+}
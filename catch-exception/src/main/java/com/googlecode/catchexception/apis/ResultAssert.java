@@ -0,0 +1,112 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.apis;
+
+import org.assertj.core.api.AbstractAssert;
+import org.assertj.core.api.AbstractThrowableAssert;
+import org.assertj.core.api.Assertions;
+import org.assertj.core.api.ObjectAssert;
+
+import com.googlecode.catchexception.Result;
+
+/**
+ * AssertJ assertions for a {@link Result}, see
+ * {@link CatchExceptionAssertions#then(Result)}.
+ *
+ * @param <T>
+ *            the type of the value
+ */
+public class ResultAssert<T> extends AbstractAssert<ResultAssert<T>, Result<T>> {
+
+    /**
+     * @param actual
+     *            the result to verify
+     */
+    public ResultAssert(Result<T> actual) {
+        super(actual, ResultAssert.class);
+    }
+
+    /**
+     * Verifies that the call returned normally.
+     *
+     * @return Returns this assertion object.
+     */
+    public ResultAssert<T> isSuccess() {
+        isNotNull();
+        if (actual.isFailure()) {
+            failWithMessage("Expected a successful result but the call threw <%s>", actual.getException());
+        }
+        return this;
+    }
+
+    /**
+     * Verifies that the call threw an exception.
+     *
+     * @return Returns this assertion object.
+     */
+    public ResultAssert<T> isFailure() {
+        isNotNull();
+        if (actual.isSuccess()) {
+            failWithMessage("Expected a failed result but the call returned <%s>", actual.getValue());
+        }
+        return this;
+    }
+
+    /**
+     * Verifies that the call returned the given value.
+     *
+     * @param expected
+     *            the expected value
+     * @return Returns this assertion object.
+     */
+    public ResultAssert<T> hasValue(T expected) {
+        value().isEqualTo(expected);
+        return this;
+    }
+
+    /**
+     * Verifies that the call threw an exception of the given type.
+     *
+     * @param expectedType
+     *            the expected type of the exception
+     * @return Returns this assertion object.
+     */
+    public ResultAssert<T> hasExceptionOfType(Class<? extends Exception> expectedType) {
+        exception().isInstanceOf(expectedType);
+        return this;
+    }
+
+    /**
+     * Verifies that the call returned normally.
+     *
+     * @return Returns an assertion object for the returned value.
+     */
+    public ObjectAssert<T> value() {
+        isSuccess();
+        return new ObjectAssert<>(actual.getValue());
+    }
+
+    /**
+     * Verifies that the call threw an exception.
+     *
+     * @return Returns an assertion object for the thrown exception.
+     */
+    public AbstractThrowableAssert<?, ? extends Throwable> exception() {
+        isFailure();
+        return Assertions.assertThat(actual.getException());
+    }
+
+}
@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.apis.internal;
+
+/**
+ * Bounds the length of exception messages that are embedded in mismatch
+ * descriptions and assertion errors.
+ * <p>
+ * A text longer than {@link #MAX_LENGTH} is rendered as a head and a tail
+ * window with a marker for the omitted characters in between. Texts that fit
+ * are returned unchanged. The limits are read once from the system properties
+ * <code>catchexception.message.maxLength</code> (default 4096) and
+ * <code>catchexception.message.diffWindow</code> (default 32).
+ */
+public final class MessageAbbreviator {
+
+    /**
+     * The maximum number of characters of a text that is not abbreviated. Half
+     * of it is spent on the head, the other half on the tail.
+     */
+    static final int MAX_LENGTH = Math.max(2,
+            Integer.getInteger("catchexception.message.maxLength", 4096));
+
+    /**
+     * The number of characters shown before and after the first difference of
+     * two texts.
+     */
+    static final int DIFF_WINDOW = Math.max(1,
+            Integer.getInteger("catchexception.message.diffWindow", 32));
+
+    private MessageAbbreviator() {
+        // utility class
+    }
+
+    /**
+     * @param text
+     *            a text, may be null
+     * @return Returns true if the given text is longer than {@link #MAX_LENGTH}
+     *         .
+     */
+    public static boolean exceeds(String text) {
+        return text != null && text.length() > MAX_LENGTH;
+    }
+
+    /**
+     * @param text
+     *            a text, may be null
+     * @return Returns the given text abbreviated to {@link #MAX_LENGTH}
+     *         characters plus the omission marker.
+     */
+    public static String abbreviate(String text) {
+        return abbreviate(text, MAX_LENGTH);
+    }
+
+    /**
+     * @param text
+     *            a text, may be null
+     * @param maxLength
+     *            the maximum number of characters that are kept
+     * @return Returns the given text if it is null or not longer than
+     *         <code>maxLength</code>, otherwise its first and last characters
+     *         with a marker for the omitted ones in between.
+     */
+    static String abbreviate(String text, int maxLength) {
+        if (text == null || text.length() <= maxLength) {
+            return text;
+        }
+        int head = (maxLength + 1) / 2;
+        int tail = maxLength - head;
+        int length = text.length();
+        return new StringBuilder(maxLength + 32) //
+                .append(text, 0, head) //
+                .append("...[").append(length - head - tail).append(" chars omitted]...") //
+                .append(text, length - tail, length) //
+                .toString();
+    }
+
+    /**
+     * @param expected
+     *            the expected text, not null
+     * @param actual
+     *            the actual text, not null
+     * @return Returns a description of the first difference of the given texts
+     *         that shows at most {@link #DIFF_WINDOW} characters before and
+     *         after it, or null if the texts are equal.
+     */
+    public static String describeDifference(String expected, String actual) {
+        return describeDifference(expected, actual, DIFF_WINDOW);
+    }
+
+    /**
+     * @param expected
+     *            the expected text, not null
+     * @param actual
+     *            the actual text, not null
+     * @param window
+     *            the number of characters shown before and after the first
+     *            difference
+     * @return Returns a description of the first difference of the given texts
+     *         or null if the texts are equal.
+     */
+    static String describeDifference(String expected, String actual, int window) {
+        int limit = Math.min(expected.length(), actual.length());
+        int index = 0;
+        while (index < limit && expected.charAt(index) == actual.charAt(index)) {
+            index++;
+        }
+        if (index == expected.length() && index == actual.length()) {
+            return null;
+        }
+        int from = Math.max(0, index - window);
+        StringBuilder description = new StringBuilder(4 * window + 64);
+        description.append("first difference at index ").append(index).append(": expected ");
+        appendWindow(description, expected, from, index + 1 + window);
+        description.append(" but was ");
+        appendWindow(description, actual, from, index + 1 + window);
+        return description.toString();
+    }
+
+    private static void appendWindow(StringBuilder description, String text, int from, int to) {
+        int end = Math.min(to, text.length());
+        if (from > 0) {
+            description.append("...");
+        }
+        description.append('"').append(text, Math.min(from, end), end).append('"');
+        if (end < text.length()) {
+            description.append("...");
+        }
+    }
+
+}
@@ -0,0 +1,209 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.apis.internal.hamcrest;
+
+import org.hamcrest.BaseMatcher;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+
+import com.googlecode.catchexception.ExceptionSnapshot;
+
+/**
+ * Creates a {@link Matcher matcher} that matches an exception if its direct
+ * cause, its root cause or any cause in its chain matches.
+ * <p>
+ * The chain is walked in place and the walk stops at the first matching
+ * cause. A cycle in the chain is detected by a second reference that follows
+ * the chain at half the speed (Floyd), so no set of visited causes is built.
+ * 
+ * @param <T>
+ *            an exception subclass
+ */
+public class ExceptionCauseMatcher<T extends Exception> extends BaseMatcher<T> {
+
+    /**
+     * The causes of the chain that are matched.
+     */
+    public enum Scope {
+        /**
+         * Only the direct cause is matched.
+         */
+        CAUSE,
+        /**
+         * Only the last cause of the chain is matched.
+         */
+        ROOT_CAUSE,
+        /**
+         * Every cause of the chain is matched until one matches.
+         */
+        CHAIN
+    }
+
+    private final Scope scope;
+
+    /**
+     * The expected type of the cause, null if {@link #causeMatcher} is used.
+     */
+    private final Class<? extends Throwable> type;
+
+    /**
+     * The matcher that shall match the cause, null if {@link #type} is used.
+     */
+    private final Matcher<?> causeMatcher;
+
+    /**
+     * The maximum number of causes that are walked.
+     */
+    private final int maxDepth;
+
+    /**
+     * @param scope
+     *            the causes that are matched
+     * @param type
+     *            the expected type of the cause
+     */
+    public ExceptionCauseMatcher(Scope scope, Class<? extends Throwable> type) {
+        this(scope, type, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param scope
+     *            the causes that are matched
+     * @param causeMatcher
+     *            the matcher that shall match the cause
+     * @param maxDepth
+     *            the maximum number of causes that are walked
+     */
+    public ExceptionCauseMatcher(Scope scope, Matcher<?> causeMatcher, int maxDepth) {
+        this(scope, null, causeMatcher, maxDepth);
+    }
+
+    private ExceptionCauseMatcher(Scope scope, Class<? extends Throwable> type, Matcher<?> causeMatcher,
+            int maxDepth) {
+        super();
+        this.scope = scope;
+        this.type = type;
+        this.causeMatcher = causeMatcher;
+        this.maxDepth = maxDepth;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.hamcrest.Matcher#matches(java.lang.Object)
+     */
+    @Override
+    public boolean matches(Object obj) {
+        if (!(obj instanceof Exception)) {
+            return false;
+        }
+        Throwable slow = (Throwable) obj;
+        Throwable cause = slow.getCause();
+        for (int depth = 1; cause != null && depth <= maxDepth; depth++) {
+            Throwable next = cause.getCause();
+            if (scope == Scope.CAUSE || scope == Scope.CHAIN || next == null) {
+                if (matchesCause(cause)) {
+                    return true;
+                }
+                if (scope == Scope.CAUSE) {
+                    return false;
+                }
+            }
+            // the slow reference stays at the half of the depth
+            if ((depth & 1) == 1) {
+                slow = slow.getCause();
+            }
+            if (next == slow) {
+                // a cycle, every cause has been visited
+                return false;
+            }
+            cause = next;
+        }
+        return false;
+    }
+
+    private boolean matchesCause(Throwable cause) {
+        return type != null ? ExceptionSnapshot.isInstance(type, cause) : causeMatcher.matches(cause);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.hamcrest.SelfDescribing#describeTo(org.hamcrest.Description)
+     */
+    @Override
+    public void describeTo(Description description) {
+        switch (scope) {
+        case CAUSE:
+            description.appendText("has a cause that ");
+            break;
+        case ROOT_CAUSE:
+            description.appendText("has a root cause that ");
+            break;
+        default:
+            description.appendText("has a cause in its chain that ");
+        }
+        if (type != null) {
+            description.appendText("is an instance of ").appendText(type.getName());
+        } else {
+            description.appendDescriptionOf(causeMatcher);
+        }
+        if (maxDepth != Integer.MAX_VALUE) {
+            description.appendText(" within ").appendValue(maxDepth).appendText(" levels");
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.hamcrest.BaseMatcher#describeMismatch(java.lang.Object,
+     * org.hamcrest.Description)
+     */
+    @Override
+    public void describeMismatch(Object item, Description description) {
+        if (!(item instanceof Exception)) {
+            super.describeMismatch(item, description);
+            return;
+        }
+        Throwable slow = (Throwable) item;
+        Throwable cause = slow.getCause();
+        if (cause == null) {
+            description.appendText("had no cause");
+            return;
+        }
+        description.appendText("cause chain was ");
+        for (int depth = 1; cause != null; depth++) {
+            if (depth > 1) {
+                description.appendText(" -> ");
+            }
+            if (depth > maxDepth) {
+                description.appendText("...");
+                return;
+            }
+            description.appendText(cause.getClass().getName());
+            Throwable next = cause.getCause();
+            if ((depth & 1) == 1) {
+                slow = slow.getCause();
+            }
+            if (next == slow) {
+                description.appendText(" -> (cycle)");
+                return;
+            }
+            cause = next;
+        }
+    }
+
+}
@@ -20,6 +20,9 @@ import org.hamcrest.CoreMatchers;
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
 
+import com.googlecode.catchexception.apis.internal.MessageAbbreviator;
+
+
 /**
  * 
  * Creates a {@link Matcher matcher} that matches an exception with a certain
@@ -38,6 +41,11 @@ public class ExceptionMessageMatcher<T extends Exception> extends
      */
     private Matcher<String> expectedMessageMatcher;
 
+    /**
+     * The expected exception message if it is matched exactly, otherwise null.
+     */
+    private String expectedMessage;
+
     /**
      * @param expectedMessage
      *            the expected exception message
@@ -45,6 +53,7 @@ public class ExceptionMessageMatcher<T extends Exception> extends
     public ExceptionMessageMatcher(String expectedMessage) {
         super();
         this.expectedMessageMatcher = CoreMatchers.is(expectedMessage);
+        this.expectedMessage = expectedMessage;
     }
 
     /**
@@ -79,8 +88,40 @@ public class ExceptionMessageMatcher<T extends Exception> extends
      * @see org.hamcrest.SelfDescribing#describeTo(org.hamcrest.Description)
      */
     public void describeTo(Description description) {
+        if (MessageAbbreviator.exceeds(expectedMessage)) {
+            description.appendText("has a message that is ").appendValue(
+                    MessageAbbreviator.abbreviate(expectedMessage));
+            return;
+        }
         description.appendText("has a message that ").appendDescriptionOf(
                 expectedMessageMatcher);
     }
 
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.hamcrest.BaseMatcher#describeMismatch(java.lang.Object,
+     * org.hamcrest.Description)
+     */
+    @Override
+    public void describeMismatch(Object item, Description description) {
+        String foundMessage = item instanceof Exception ? ((Exception) item)
+                .getMessage() : null;
+        String text = String.valueOf(item);
+        if (!MessageAbbreviator.exceeds(foundMessage) && !MessageAbbreviator.exceeds(text)) {
+            super.describeMismatch(item, description);
+            return;
+        }
+        description.appendText("was <").appendText(
+                MessageAbbreviator.abbreviate(text)).appendText(">");
+        // a short message is rendered completely, so its difference is obvious
+        if (expectedMessage != null && MessageAbbreviator.exceeds(foundMessage)) {
+            String difference = MessageAbbreviator.describeDifference(
+                    expectedMessage, foundMessage);
+            if (difference != null) {
+                description.appendText(", ").appendText(difference);
+            }
+        }
+    }
+
 }
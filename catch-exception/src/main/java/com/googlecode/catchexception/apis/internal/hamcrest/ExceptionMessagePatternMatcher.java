@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.apis.internal.hamcrest;
+
+import org.hamcrest.BaseMatcher;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+
+import com.googlecode.catchexception.apis.internal.MessageAbbreviator;
+
+
+/**
+ * Creates a {@link Matcher matcher} that matches an exception if its message
+ * matches a regular expression. The compiled expression is cached.
+ *
+ * @param <T>
+ *            an exception subclass
+ */
+public class ExceptionMessagePatternMatcher<T extends Exception> extends BaseMatcher<T> {
+
+    private final String regex;
+
+    private final CompiledPatterns compiled;
+
+    /**
+     * True if a part of the message shall match, false if the whole message
+     * shall match.
+     */
+    private final boolean find;
+
+    /**
+     * @param regex
+     *            the regular expression
+     * @param find
+     *            true if a part of the message shall match, false if the
+     *            whole message shall match
+     */
+    public ExceptionMessagePatternMatcher(String regex, boolean find) {
+        super();
+        this.regex = regex;
+        this.compiled = CompiledPatterns.compile(regex);
+        this.find = find;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.hamcrest.Matcher#matches(java.lang.Object)
+     */
+    @Override
+    public boolean matches(Object obj) {
+        if (!(obj instanceof Exception)) {
+            return false;
+        }
+        String message = ((Exception) obj).getMessage();
+        return message != null && compiled.matches(message, find);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.hamcrest.SelfDescribing#describeTo(org.hamcrest.Description)
+     */
+    @Override
+    public void describeTo(Description description) {
+        description.appendText(find ? "has a message containing a match for " : "has a message matching ")
+                .appendValue(regex);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.hamcrest.BaseMatcher#describeMismatch(java.lang.Object,
+     * org.hamcrest.Description)
+     */
+    @Override
+    public void describeMismatch(Object item, Description description) {
+        if (item instanceof Exception) {
+            description.appendText("message was ").appendValue(
+                    MessageAbbreviator.abbreviate(((Exception) item).getMessage()));
+        } else {
+            super.describeMismatch(item, description);
+        }
+    }
+
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.apis.internal.hamcrest;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.hamcrest.BaseMatcher;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+
+import com.googlecode.catchexception.apis.internal.MessageAbbreviator;
+
+
+/**
+ * Creates a {@link Matcher matcher} that matches an exception if its message
+ * contains any or all of a set of phrases. The phrases are compiled into an
+ * Aho-Corasick automaton, so a message is scanned once regardless of the
+ * number of phrases.
+ *
+ * @param <T>
+ *            an exception subclass
+ */
+public class ExceptionMessagePhrasesMatcher<T extends Exception> extends BaseMatcher<T> {
+
+    /**
+     * The maximum number of phrases listed in descriptions.
+     */
+    private static final int MAX_LISTED = 10;
+
+    private final PhraseAutomaton automaton;
+
+    /**
+     * True if the message shall contain all phrases, false if it shall
+     * contain at least one phrase.
+     */
+    private final boolean all;
+
+    /**
+     * @param phrases
+     *            the phrases. Must not be empty and must not contain
+     *            <code>null</code> or empty strings.
+     * @param all
+     *            true if the message shall contain all phrases, false if it
+     *            shall contain at least one phrase
+     */
+    public ExceptionMessagePhrasesMatcher(Collection<String> phrases, boolean all) {
+        super();
+        this.automaton = new PhraseAutomaton(phrases);
+        this.all = all;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.hamcrest.Matcher#matches(java.lang.Object)
+     */
+    @Override
+    public boolean matches(Object obj) {
+        if (!(obj instanceof Exception)) {
+            return false;
+        }
+        String message = ((Exception) obj).getMessage();
+        if (message == null) {
+            return false;
+        }
+        return all ? automaton.containsAll(message) : automaton.containsAny(message);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.hamcrest.SelfDescribing#describeTo(org.hamcrest.Description)
+     */
+    @Override
+    public void describeTo(Description description) {
+        description.appendText(all ? "has a message containing all of " : "has a message containing any of ")
+                .appendText(list(Arrays.asList(automaton.phrases())));
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.hamcrest.BaseMatcher#describeMismatch(java.lang.Object,
+     * org.hamcrest.Description)
+     */
+    @Override
+    public void describeMismatch(Object item, Description description) {
+        if (!(item instanceof Exception)) {
+            super.describeMismatch(item, description);
+            return;
+        }
+        String message = ((Exception) item).getMessage();
+        description.appendText("message was ").appendValue(MessageAbbreviator.abbreviate(message));
+        if (all && message != null) {
+            description.appendText(" missing ").appendText(list(automaton.missing(message)));
+        }
+    }
+
+    private static String list(List<String> phrases) {
+        StringBuilder list = new StringBuilder("[");
+        for (int i = 0; i < phrases.size() && i < MAX_LISTED; i++) {
+            list.append(i == 0 ? "\"" : ", \"").append(phrases.get(i)).append('"');
+        }
+        if (phrases.size() > MAX_LISTED) {
+            list.append(", ... (").append(phrases.size()).append(" in total)");
+        }
+        return list.append(']').toString();
+    }
+
+}
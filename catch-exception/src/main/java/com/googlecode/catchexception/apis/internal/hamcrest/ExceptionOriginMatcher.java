@@ -0,0 +1,189 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.apis.internal.hamcrest;
+
+import org.hamcrest.BaseMatcher;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+
+/**
+ * Creates a {@link Matcher matcher} that matches an exception by the code it
+ * has been thrown from.
+ * <p>
+ * The stack trace is scanned from the top for the first frame of the expected
+ * class or package, so an exception thrown by a JDK method or by a helper, e.g.
+ * <code>Preconditions.checkArgument()</code>, is attributed to the code that
+ * called it. Frames of the JDK are always scanned, the scan ends after a
+ * maximum number of other frames, {@link #DEFAULT_MAX_DEPTH} by default, so
+ * that code further down the call stack, e.g. the test itself, does not count
+ * as origin.
+ * 
+ * @param <T>
+ *            an exception subclass
+ */
+public class ExceptionOriginMatcher<T extends Exception> extends BaseMatcher<T> {
+
+    /**
+     * The default maximum number of frames outside the JDK that are scanned,
+     * i.e. the frame that threw and one helper frame above the expected one.
+     */
+    public static final int DEFAULT_MAX_DEPTH = 2;
+
+    /**
+     * The name of the expected class, null if a package is expected.
+     */
+    private final String className;
+
+    /**
+     * The name of the expected method, null if any method of the class is
+     * expected.
+     */
+    private final String methodName;
+
+    /**
+     * The name of the expected package followed by a dot, null if a class is
+     * expected.
+     */
+    private final String packagePrefix;
+
+    /**
+     * The maximum number of frames outside the JDK that are scanned.
+     */
+    private final int maxDepth;
+
+    /**
+     * @param className
+     *            the name of the expected class
+     * @param methodName
+     *            the name of the expected method, null if any method of the
+     *            class is expected
+     */
+    public ExceptionOriginMatcher(String className, String methodName) {
+        this(className, methodName, DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * @param className
+     *            the name of the expected class
+     * @param methodName
+     *            the name of the expected method, null if any method of the
+     *            class is expected
+     * @param maxDepth
+     *            the maximum number of frames outside the JDK that are
+     *            scanned
+     */
+    public ExceptionOriginMatcher(String className, String methodName, int maxDepth) {
+        this(className, methodName, null, maxDepth);
+    }
+
+    /**
+     * @param packageName
+     *            the name of the expected package, subpackages are included
+     */
+    public ExceptionOriginMatcher(String packageName) {
+        this(null, null, packageName + ".", DEFAULT_MAX_DEPTH);
+    }
+
+    private ExceptionOriginMatcher(String className, String methodName, String packagePrefix, int maxDepth) {
+        super();
+        if (maxDepth < 1) throw new IllegalArgumentException("maxDepth must be positive");
+        this.className = className;
+        this.methodName = methodName;
+        this.packagePrefix = packagePrefix;
+        this.maxDepth = maxDepth;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.hamcrest.Matcher#matches(java.lang.Object)
+     */
+    @Override
+    public boolean matches(Object obj) {
+        if (!(obj instanceof Exception)) {
+            return false;
+        }
+        int depth = 0;
+        for (StackTraceElement frame : ((Exception) obj).getStackTrace()) {
+            String frameClassName = frame.getClassName();
+            if (packagePrefix != null ? frameClassName.startsWith(packagePrefix)
+                    : frameClassName.equals(className)
+                            && (methodName == null || methodName.equals(frame.getMethodName()))) {
+                return true;
+            }
+            if (!isJdk(frameClassName) && ++depth == maxDepth) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param className
+     *            the name of a class
+     * @return Returns true if the class belongs to the JDK.
+     */
+    static boolean isJdk(String className) {
+        return className.startsWith("java.") || className.startsWith("javax.") || className.startsWith("jdk.")
+                || className.startsWith("sun.") || className.startsWith("com.sun.");
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.hamcrest.SelfDescribing#describeTo(org.hamcrest.Description)
+     */
+    @Override
+    public void describeTo(Description description) {
+        if (packagePrefix != null) {
+            description.appendText("thrown within package ").appendText(
+                    packagePrefix.substring(0, packagePrefix.length() - 1));
+        } else {
+            description.appendText("thrown from ").appendText(className);
+            if (methodName != null) {
+                description.appendText(".").appendText(methodName);
+            }
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.hamcrest.BaseMatcher#describeMismatch(java.lang.Object,
+     * org.hamcrest.Description)
+     */
+    @Override
+    public void describeMismatch(Object item, Description description) {
+        if (!(item instanceof Exception)) {
+            super.describeMismatch(item, description);
+            return;
+        }
+        StackTraceElement[] frames = ((Exception) item).getStackTrace();
+        if (frames.length == 0) {
+            description.appendText("had no stack trace");
+            return;
+        }
+        StackTraceElement origin = frames[frames.length - 1];
+        for (StackTraceElement frame : frames) {
+            if (!isJdk(frame.getClassName())) {
+                origin = frame;
+                break;
+            }
+        }
+        description.appendText("was thrown from ").appendText(origin.toString());
+    }
+
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.apis.internal.hamcrest;
+
+import org.hamcrest.BaseMatcher;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+
+import com.googlecode.catchexception.apis.ExceptionProperties;
+
+/**
+ * Creates a {@link Matcher matcher} that matches an exception if one of its
+ * properties matches, see {@link ExceptionProperties}.
+ * 
+ * @param <T>
+ *            an exception subclass
+ */
+public class ExceptionPropertyMatcher<T extends Exception> extends BaseMatcher<T> {
+
+    private final String name;
+
+    /**
+     * The matcher that shall match the value of the property.
+     */
+    private final Matcher<?> valueMatcher;
+
+    /**
+     * @param name
+     *            the name of the property
+     * @param valueMatcher
+     *            the matcher that shall match the value of the property
+     */
+    public ExceptionPropertyMatcher(String name, Matcher<?> valueMatcher) {
+        super();
+        this.name = name;
+        this.valueMatcher = valueMatcher;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.hamcrest.Matcher#matches(java.lang.Object)
+     */
+    @Override
+    public boolean matches(Object obj) {
+        if (!(obj instanceof Exception)) {
+            return false;
+        }
+        Exception exception = (Exception) obj;
+        return ExceptionProperties.hasProperty(exception.getClass(), name)
+                && valueMatcher.matches(ExceptionProperties.get(exception, name));
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.hamcrest.SelfDescribing#describeTo(org.hamcrest.Description)
+     */
+    @Override
+    public void describeTo(Description description) {
+        description.appendText("has a property ").appendValue(name).appendText(" that ")
+                .appendDescriptionOf(valueMatcher);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.hamcrest.BaseMatcher#describeMismatch(java.lang.Object,
+     * org.hamcrest.Description)
+     */
+    @Override
+    public void describeMismatch(Object item, Description description) {
+        if (!(item instanceof Exception)) {
+            super.describeMismatch(item, description);
+        } else if (!ExceptionProperties.hasProperty(((Exception) item).getClass(), name)) {
+            description.appendText(item.getClass().getName()).appendText(" has no property ").appendValue(name);
+        } else {
+            description.appendText("property ").appendValue(name).appendText(" ");
+            valueMatcher.describeMismatch(ExceptionProperties.get((Exception) item, name), description);
+        }
+    }
+
+}
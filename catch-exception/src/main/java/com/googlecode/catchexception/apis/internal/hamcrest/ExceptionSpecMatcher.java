@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.apis.internal.hamcrest;
+
+import org.hamcrest.BaseMatcher;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+
+import com.googlecode.catchexception.ExceptionSpec;
+
+/**
+ * Creates a {@link Matcher matcher} that matches an exception if it meets an
+ * {@link ExceptionSpec}.
+ *
+ * @param <T>
+ *            an exception subclass
+ */
+public class ExceptionSpecMatcher<T extends Exception> extends BaseMatcher<T> {
+
+    /**
+     * The expectation on the exception.
+     */
+    private final ExceptionSpec spec;
+
+    /**
+     * @param spec
+     *            the expectation on the exception
+     */
+    public ExceptionSpecMatcher(ExceptionSpec spec) {
+        super();
+        this.spec = spec;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.hamcrest.Matcher#matches(java.lang.Object)
+     */
+    @Override
+    public boolean matches(Object obj) {
+        return obj instanceof Throwable && spec.matches((Throwable) obj);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.hamcrest.SelfDescribing#describeTo(org.hamcrest.Description)
+     */
+    @Override
+    public void describeTo(Description description) {
+        description.appendText("an exception matching ").appendText(spec.toString());
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.hamcrest.BaseMatcher#describeMismatch(java.lang.Object,
+     * org.hamcrest.Description)
+     */
+    @Override
+    public void describeMismatch(Object item, Description description) {
+        if (item instanceof Throwable) {
+            description.appendText(spec.describeMismatch((Throwable) item));
+        } else {
+            super.describeMismatch(item, description);
+        }
+    }
+
+}
@@ -0,0 +1,195 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.apis.internal.hamcrest;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.hamcrest.BaseMatcher;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+
+import com.googlecode.catchexception.ExceptionSnapshot;
+import com.googlecode.catchexception.apis.internal.MessageAbbreviator;
+
+/**
+ * Creates a {@link Matcher matcher} that matches an exception by its
+ * {@link Throwable#getSuppressed() suppressed exceptions}. The suppressed
+ * exceptions are copied once per match.
+ * 
+ * @param <T>
+ *            an exception subclass
+ */
+public class ExceptionSuppressedMatcher<T extends Exception> extends BaseMatcher<T> {
+
+    /**
+     * The expected number of suppressed exceptions, -1 if not checked.
+     */
+    private final int count;
+
+    /**
+     * The expected types of the suppressed exceptions in order, null if not
+     * checked.
+     */
+    private final Class<?>[] types;
+
+    /**
+     * The expected messages of the suppressed exceptions in order, null if
+     * not checked.
+     */
+    private final String[] messages;
+
+    /**
+     * The matcher that shall match any of the suppressed exceptions, null if
+     * not checked.
+     */
+    private final Matcher<?> suppressedMatcher;
+
+    /**
+     * @param count
+     *            the expected number of suppressed exceptions
+     */
+    public ExceptionSuppressedMatcher(int count) {
+        this(count, null, null, null);
+    }
+
+    /**
+     * @param types
+     *            the expected types of the suppressed exceptions in order
+     */
+    public ExceptionSuppressedMatcher(Class<?>[] types) {
+        this(-1, types.clone(), null, null);
+    }
+
+    /**
+     * @param messages
+     *            the expected messages of the suppressed exceptions in order
+     */
+    public ExceptionSuppressedMatcher(String[] messages) {
+        this(-1, null, messages.clone(), null);
+    }
+
+    /**
+     * @param suppressedMatcher
+     *            the matcher that shall match any of the suppressed exceptions
+     */
+    public ExceptionSuppressedMatcher(Matcher<?> suppressedMatcher) {
+        this(-1, null, null, suppressedMatcher);
+    }
+
+    private ExceptionSuppressedMatcher(int count, Class<?>[] types, String[] messages,
+            Matcher<?> suppressedMatcher) {
+        super();
+        this.count = count;
+        this.types = types;
+        this.messages = messages;
+        this.suppressedMatcher = suppressedMatcher;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.hamcrest.Matcher#matches(java.lang.Object)
+     */
+    @Override
+    public boolean matches(Object obj) {
+        if (!(obj instanceof Exception)) {
+            return false;
+        }
+        Throwable[] suppressed = ((Exception) obj).getSuppressed();
+        if (suppressedMatcher != null) {
+            for (Throwable candidate : suppressed) {
+                if (suppressedMatcher.matches(candidate)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (types != null) {
+            if (suppressed.length != types.length) {
+                return false;
+            }
+            for (int i = 0; i < types.length; i++) {
+                if (!ExceptionSnapshot.isInstance(types[i].asSubclass(Throwable.class), suppressed[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (messages != null) {
+            if (suppressed.length != messages.length) {
+                return false;
+            }
+            for (int i = 0; i < messages.length; i++) {
+                if (!Objects.equals(messages[i], suppressed[i].getMessage())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return suppressed.length == count;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.hamcrest.SelfDescribing#describeTo(org.hamcrest.Description)
+     */
+    @Override
+    public void describeTo(Description description) {
+        if (suppressedMatcher != null) {
+            description.appendText("has a suppressed exception that ").appendDescriptionOf(suppressedMatcher);
+        } else if (types != null) {
+            String[] names = new String[types.length];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = types[i].getName();
+            }
+            description.appendText("has suppressed exceptions of the types ").appendText(Arrays.toString(names));
+        } else if (messages != null) {
+            description.appendValueList("has suppressed exceptions with the messages [", ", ", "]", messages);
+        } else {
+            description.appendText("has ").appendValue(count).appendText(" suppressed exceptions");
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.hamcrest.BaseMatcher#describeMismatch(java.lang.Object,
+     * org.hamcrest.Description)
+     */
+    @Override
+    public void describeMismatch(Object item, Description description) {
+        if (!(item instanceof Exception)) {
+            super.describeMismatch(item, description);
+            return;
+        }
+        Throwable[] suppressed = ((Exception) item).getSuppressed();
+        if (suppressed.length == 0) {
+            description.appendText("had no suppressed exceptions");
+            return;
+        }
+        description.appendText("suppressed exceptions were [");
+        for (int i = 0; i < suppressed.length; i++) {
+            if (i > 0) {
+                description.appendText(", ");
+            }
+            description.appendText(MessageAbbreviator.abbreviate(String.valueOf(suppressed[i])));
+        }
+        description.appendText("]");
+    }
+
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.apis.internal.hamcrest;
+
+import org.hamcrest.BaseMatcher;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+
+import com.googlecode.catchexception.ExceptionSnapshot;
+
+/**
+ * Creates a {@link Matcher matcher} that matches an exception of a certain
+ * type or an {@link ExceptionSnapshot snapshot} of such an exception.
+ *
+ * @param <T>
+ *            an exception subclass
+ */
+public class ExceptionTypeMatcher<T extends Exception> extends BaseMatcher<T> {
+
+    /**
+     * The expected type of the exception.
+     */
+    private final Class<? extends Throwable> expectedType;
+
+    /**
+     * @param expectedType
+     *            the expected type of the exception
+     */
+    public ExceptionTypeMatcher(Class<? extends Throwable> expectedType) {
+        super();
+        this.expectedType = expectedType;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.hamcrest.Matcher#matches(java.lang.Object)
+     */
+    @Override
+    public boolean matches(Object obj) {
+        return obj instanceof Throwable && ExceptionSnapshot.isInstance(expectedType, (Throwable) obj);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.hamcrest.SelfDescribing#describeTo(org.hamcrest.Description)
+     */
+    @Override
+    public void describeTo(Description description) {
+        description.appendText("has type ").appendText(expectedType.getName());
+    }
+
+}
@@ -0,0 +1,234 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.apis.internal.hamcrest;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * An Aho-Corasick automaton that finds any number of phrases in a text in a
+ * single pass, i.e. in time linear in the length of the text regardless of
+ * the number of phrases.
+ *
+ * The automaton is immutable and thread-safe. The edges of all states are
+ * stored in flat arrays sorted by character, so a transition is a binary
+ * search and matching does not allocate.
+ */
+final class PhraseAutomaton {
+
+    private final String[] phrases;
+
+    /**
+     * The edges of state <code>s</code> are at the indices from
+     * <code>edgeStart[s]</code> (inclusive) to <code>edgeStart[s + 1]</code>
+     * (exclusive) of {@link #edgeLabels} and {@link #edgeTargets}.
+     */
+    private final int[] edgeStart;
+
+    private final char[] edgeLabels;
+
+    private final int[] edgeTargets;
+
+    /**
+     * The state to continue with if a state has no edge for a character.
+     */
+    private final int[] failure;
+
+    /**
+     * The phrase that ends at a state or -1.
+     */
+    private final int[] phraseAt;
+
+    /**
+     * The nearest state on the failure chain of a state (excluding the state
+     * itself) at which a phrase ends, or -1.
+     */
+    private final int[] outputLink;
+
+    /**
+     * @param phrases
+     *            the phrases to find. Must not be empty and must not contain
+     *            <code>null</code> or empty strings.
+     */
+    PhraseAutomaton(Collection<String> phrases) {
+        if (phrases == null || phrases.isEmpty()) throw new IllegalArgumentException("phrases must not be empty");
+        LinkedHashSet<String> distinct = new LinkedHashSet<>();
+        for (String phrase : phrases) {
+            if (phrase == null || phrase.isEmpty()) {
+                throw new IllegalArgumentException("phrases must not contain null or empty strings");
+            }
+            distinct.add(phrase);
+        }
+        this.phrases = distinct.toArray(new String[0]);
+
+        // build the trie
+        List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        List<Integer> phraseIds = new ArrayList<>();
+        children.add(new TreeMap<>());
+        phraseIds.add(-1);
+        for (int id = 0; id < this.phrases.length; id++) {
+            int state = 0;
+            for (char c : this.phrases[id].toCharArray()) {
+                Integer next = children.get(state).get(c);
+                if (next == null) {
+                    next = children.size();
+                    children.add(new TreeMap<>());
+                    phraseIds.add(-1);
+                    children.get(state).put(c, next);
+                }
+                state = next;
+            }
+            phraseIds.set(state, id);
+        }
+
+        // flatten the edges
+        int states = children.size();
+        edgeStart = new int[states + 1];
+        int edges = 0;
+        for (int state = 0; state < states; state++) {
+            edgeStart[state] = edges;
+            edges += children.get(state).size();
+        }
+        edgeStart[states] = edges;
+        edgeLabels = new char[edges];
+        edgeTargets = new int[edges];
+        phraseAt = new int[states];
+        for (int state = 0; state < states; state++) {
+            int edge = edgeStart[state];
+            for (Map.Entry<Character, Integer> child : children.get(state).entrySet()) {
+                edgeLabels[edge] = child.getKey();
+                edgeTargets[edge] = child.getValue();
+                edge++;
+            }
+            phraseAt[state] = phraseIds.get(state);
+        }
+
+        // compute the failure and output links breadth first
+        failure = new int[states];
+        outputLink = new int[states];
+        outputLink[0] = -1;
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int edge = edgeStart[0]; edge < edgeStart[1]; edge++) {
+            failure[edgeTargets[edge]] = 0;
+            outputLink[edgeTargets[edge]] = -1;
+            queue.add(edgeTargets[edge]);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.remove();
+            for (int edge = edgeStart[state]; edge < edgeStart[state + 1]; edge++) {
+                int child = edgeTargets[edge];
+                int fallback = next(failure[state], edgeLabels[edge]);
+                failure[child] = fallback;
+                outputLink[child] = phraseAt[fallback] >= 0 ? fallback : outputLink[fallback];
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * @return Returns the number of distinct phrases.
+     */
+    int size() {
+        return phrases.length;
+    }
+
+    /**
+     * @return Returns a copy of the distinct phrases.
+     */
+    String[] phrases() {
+        return phrases.clone();
+    }
+
+    private int child(int state, char c) {
+        int index = Arrays.binarySearch(edgeLabels, edgeStart[state], edgeStart[state + 1], c);
+        return index >= 0 ? edgeTargets[index] : -1;
+    }
+
+    private int next(int state, char c) {
+        while (true) {
+            int child = child(state, c);
+            if (child >= 0) {
+                return child;
+            }
+            if (state == 0) {
+                return 0;
+            }
+            state = failure[state];
+        }
+    }
+
+    /**
+     * @param text
+     *            the text to search
+     * @return Returns true if the text contains at least one of the phrases.
+     */
+    boolean containsAny(CharSequence text) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = next(state, text.charAt(i));
+            if (phraseAt[state] >= 0 || outputLink[state] >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param text
+     *            the text to search
+     * @return Returns the phrases the text does not contain in the order they
+     *         were given. Returns an empty list if the text contains all
+     *         phrases.
+     */
+    List<String> missing(CharSequence text) {
+        boolean[] found = new boolean[phrases.length];
+        int remaining = phrases.length;
+        int state = 0;
+        for (int i = 0; i < text.length() && remaining > 0; i++) {
+            state = next(state, text.charAt(i));
+            for (int output = phraseAt[state] >= 0 ? state : outputLink[state]; output >= 0;
+                 output = outputLink[output]) {
+                if (!found[phraseAt[output]]) {
+                    found[phraseAt[output]] = true;
+                    remaining--;
+                }
+            }
+        }
+        List<String> missing = new ArrayList<>(remaining);
+        for (int id = 0; id < phrases.length && missing.size() < remaining; id++) {
+            if (!found[id]) {
+                missing.add(phrases[id]);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * @param text
+     *            the text to search
+     * @return Returns true if the text contains all phrases.
+     */
+    boolean containsAll(CharSequence text) {
+        return missing(text).isEmpty();
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.apis.internal.hamcrest;
+
+import org.hamcrest.BaseMatcher;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+
+import com.googlecode.catchexception.Result;
+
+/**
+ * Creates a {@link Matcher matcher} that matches a successful {@link Result}
+ * whose value matches the given matcher.
+ *
+ * @param <T>
+ *            the type of the value
+ */
+public class ResultValueMatcher<T> extends BaseMatcher<Result<T>> {
+
+    /**
+     * The matcher for the value of the result.
+     */
+    private final Matcher<? super T> valueMatcher;
+
+    /**
+     * @param valueMatcher
+     *            the matcher for the value of the result
+     */
+    public ResultValueMatcher(Matcher<? super T> valueMatcher) {
+        super();
+        this.valueMatcher = valueMatcher;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.hamcrest.Matcher#matches(java.lang.Object)
+     */
+    @Override
+    public boolean matches(Object obj) {
+        if (!(obj instanceof Result)) {
+            return false;
+        }
+        Result<?> result = (Result<?>) obj;
+        return result.isSuccess() && valueMatcher.matches(result.getValue());
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.hamcrest.SelfDescribing#describeTo(org.hamcrest.Description)
+     */
+    @Override
+    public void describeTo(Description description) {
+        description.appendText("a successful result with value ").appendDescriptionOf(valueMatcher);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.hamcrest.BaseMatcher#describeMismatch(java.lang.Object,
+     * org.hamcrest.Description)
+     */
+    @Override
+    public void describeMismatch(Object item, Description description) {
+        if (item instanceof Result && ((Result<?>) item).isFailure()) {
+            description.appendText("was a failed result with exception ")
+                    .appendValue(((Result<?>) item).getException());
+        } else if (item instanceof Result) {
+            description.appendText("value ");
+            valueMatcher.describeMismatch(((Result<?>) item).getValue(), description);
+        } else {
+            super.describeMismatch(item, description);
+        }
+    }
+
+}
@@ -0,0 +1,209 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception;
+
+import static com.googlecode.catchexception.CatchException.catchExceptionAsync;
+import static com.googlecode.catchexception.CatchException.caughtException;
+import static com.googlecode.catchexception.CatchException.verifyExceptionAsync;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.net.HttpRetryException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the methods of {@link CatchException} that catch the exception of an
+ * asynchronous computation.
+ */
+@SuppressWarnings("javadoc")
+public class CatchExceptionAsyncTest {
+
+    @Before
+    public void setUp() {
+        // set any exception so that we have clear state before the test
+        ExceptionHolder.set(new HttpRetryException("detail", 0));
+    }
+
+    private static <T> CompletableFuture<T> failed(Throwable failure) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(failure);
+        return future;
+    }
+
+    private static <T> T join(CompletionStage<T> stage) {
+        return stage.toCompletableFuture().join();
+    }
+
+    @Test
+    public void testCatchExceptionAsync_completedStage() {
+
+        IllegalStateException failure = new IllegalStateException("not found");
+        CompletionStage<IllegalStateException> caught = catchExceptionAsync(
+                failed(new CompletionException(new ExecutionException(failure))), IllegalStateException.class);
+        assertSame(failure, join(caught));
+        // the stage has completed on this thread
+        assertSame(failure, caughtException());
+
+        assertNull(join(catchExceptionAsync(CompletableFuture.completedFuture("ok"), Exception.class)));
+        assertNull(caughtException());
+    }
+
+    @Test
+    public void testCatchExceptionAsync_otherThread() {
+
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletionStage<IllegalArgumentException> caught = catchExceptionAsync(future,
+                IllegalArgumentException.class);
+        assertNull(caughtException());
+
+        Thread completer = new Thread(() -> future.completeExceptionally(new IllegalArgumentException("bad id")));
+        completer.start();
+        assertEquals("bad id", join(caught).getMessage());
+        // the caught exception of this thread is not touched by the completing thread
+        assertNull(caughtException());
+    }
+
+    @Test
+    public void testCatchExceptionAsync_completedLaterOnThisThread() {
+
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletionStage<IllegalArgumentException> caught = catchExceptionAsync(future,
+                IllegalArgumentException.class);
+        ExceptionHolder.set(new HttpRetryException("later", 0));
+
+        future.completeExceptionally(new IllegalArgumentException("bad id"));
+        assertEquals("bad id", join(caught).getMessage());
+        // the stage was pending when it was passed, so the caught exception is not touched
+        assertEquals("later", caughtException().getMessage());
+    }
+
+    @Test
+    public void testCatchExceptionAsync_otherType() {
+
+        CompletionStage<IllegalArgumentException> caught = catchExceptionAsync(
+                failed(new IllegalStateException("other")), IllegalArgumentException.class);
+        try {
+            join(caught);
+            fail("CompletionException is expected");
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertNull(caughtException());
+    }
+
+    @Test
+    public void testCatchExceptionAsync_actor() {
+
+        // the actor throws instead of returning a stage
+        assertEquals("sync", join(catchExceptionAsync(() -> {
+            throw new IllegalStateException("sync");
+        }, IllegalStateException.class)).getMessage());
+
+        assertEquals("async", join(catchExceptionAsync(() -> failed(new IllegalStateException("async")),
+                IllegalStateException.class)).getMessage());
+    }
+
+    @Test
+    public void testCatchExceptionAsync_actorThrowsAnyThrowable() {
+
+        IOException checked = new IOException("checked");
+        assertSame(checked, join(catchExceptionAsync(() -> {
+            ExceptionUtil.sneakyThrow(checked);
+            return null;
+        }, IOException.class)));
+
+        AssertionError error = new AssertionError("error");
+        try {
+            join(catchExceptionAsync(() -> {
+                throw error;
+            }, Exception.class));
+            fail("CompletionException is expected");
+        } catch (CompletionException e) {
+            assertSame(error, e.getCause());
+        }
+    }
+
+    @Test
+    public void testVerifyExceptionAsync() {
+
+        assertEquals("not found", join(verifyExceptionAsync(failed(new IllegalStateException("not found")),
+                IllegalStateException.class)).getMessage());
+
+        try {
+            join(verifyExceptionAsync(CompletableFuture.completedFuture("ok"), IllegalStateException.class));
+            fail("CompletionException is expected");
+        } catch (CompletionException e) {
+            assertEquals("Neither an exception of type java.lang.IllegalStateException"
+                    + " nor another exception was thrown", e.getCause().getMessage());
+        }
+
+        IllegalArgumentException other = new IllegalArgumentException("other");
+        try {
+            join(verifyExceptionAsync(() -> failed(other), IllegalStateException.class));
+            fail("CompletionException is expected");
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof ExceptionNotThrownAssertionError);
+            assertSame(other, e.getCause().getCause());
+        }
+    }
+
+    @Test
+    public void testVerifyExceptionAsync_manyPendingStages() {
+
+        // no thread waits for the pending stages
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        List<CompletableFuture<IllegalStateException>> verifications = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            CompletableFuture<String> future = new CompletableFuture<>();
+            futures.add(future);
+            verifications.add(verifyExceptionAsync(future, IllegalStateException.class).toCompletableFuture());
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            futures.get(i).completeExceptionally(new IllegalStateException(String.valueOf(i)));
+        }
+        CompletableFuture.allOf(verifications.toArray(new CompletableFuture<?>[0])).join();
+        assertEquals("9999", verifications.get(9999).join().getMessage());
+    }
+
+    @Test
+    public void testCatchExceptionAsync_invalidArguments() {
+
+        try {
+            catchExceptionAsync((CompletionStage<?>) null, Exception.class);
+            fail("IllegalArgumentException is expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("obj must not be null", e.getMessage());
+        }
+        try {
+            catchExceptionAsync(() -> null, Exception.class);
+            fail("IllegalArgumentException is expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("actor must not return null", e.getMessage());
+        }
+    }
+}
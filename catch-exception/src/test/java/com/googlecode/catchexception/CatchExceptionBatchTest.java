@@ -0,0 +1,285 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception;
+
+import static com.googlecode.catchexception.CatchException.catchAll;
+import static com.googlecode.catchexception.CatchException.catchAllConcurrent;
+import static com.googlecode.catchexception.CatchException.catchAllParallel;
+import static com.googlecode.catchexception.CatchException.caughtException;
+import static com.googlecode.catchexception.CatchException.verifyAll;
+import static com.googlecode.catchexception.CatchException.verifyAllConcurrent;
+import static com.googlecode.catchexception.CatchException.verifyAllParallel;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.net.HttpRetryException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the batch methods of {@link CatchException}.
+ */
+@SuppressWarnings("javadoc")
+public class CatchExceptionBatchTest {
+
+    private final List<String> inputs = Arrays.asList("1", "x", "2", "", "y");
+
+    private Exception caughtBefore;
+
+    @Before
+    public void setUp() {
+        caughtBefore = new HttpRetryException("detail", 0);
+        ExceptionHolder.set(caughtBefore);
+    }
+
+    private static void parse(String input) {
+        if (input.isEmpty()) {
+            throw new IllegalStateException("empty");
+        }
+        Integer.parseInt(input);
+    }
+
+    @Test
+    public void testCatchAll_inputs() {
+
+        BatchResult result = catchAll(inputs, CatchExceptionBatchTest::parse, NumberFormatException.class);
+
+        assertEquals(5, result.size());
+        assertEquals(2, result.getCaughtCount());
+        assertArrayEquals(new int[] { 0, 2 }, result.getNotThrownIndices());
+        assertArrayEquals(new int[] { 3 }, result.getUnexpectedIndices());
+        assertEquals(Integer.valueOf(2), result.getHistogram().get(NumberFormatException.class));
+        assertEquals(Integer.valueOf(1), result.getHistogram().get(IllegalStateException.class));
+        assertFalse(result.isAllCaught());
+
+        // the holder is not touched
+        assertSame(caughtBefore, caughtException());
+    }
+
+    @Test
+    public void testCatchAll_callables() {
+
+        ThrowingCallable[] actors = { () -> parse("x"), () -> parse("1") };
+
+        BatchResult result = catchAll(actors, IllegalArgumentException.class);
+        assertEquals(1, result.getCaughtCount());
+        assertArrayEquals(new int[] { 1 }, result.getNotThrownIndices());
+
+        assertEquals(1, catchAll(Arrays.asList(actors), IllegalArgumentException.class).getCaughtCount());
+        assertEquals(1, catchAll(Stream.of(actors), IllegalArgumentException.class).getCaughtCount());
+    }
+
+    @Test
+    public void testCatchAll_manyInputs() {
+
+        BatchResult result = catchAll(IntStream.range(0, 1000).boxed(), i -> {
+            if (i % 100 != 0) {
+                throw new IllegalArgumentException();
+            }
+        }, IllegalArgumentException.class);
+
+        assertEquals(990, result.getCaughtCount());
+        assertEquals(10, result.getNotThrownCount());
+        assertEquals(900, result.getNotThrownIndices()[9]);
+    }
+
+    @Test
+    public void testVerifyAll() {
+
+        BatchResult result = verifyAll(Arrays.asList("x", "y"), CatchExceptionBatchTest::parse,
+                NumberFormatException.class);
+        assertTrue(result.isAllCaught());
+
+        try {
+            verifyAll(inputs, CatchExceptionBatchTest::parse, NumberFormatException.class);
+            fail("ExceptionNotThrownAssertionError is expected");
+        } catch (ExceptionNotThrownAssertionError e) {
+            assertEquals("Exception of type java.lang.NumberFormatException expected but not thrown by all inputs."
+                    + " 2 of 5 inputs threw an exception of type java.lang.NumberFormatException."
+                    + " No exception was thrown by the inputs at [0, 2]."
+                    + " Exceptions of other types were thrown by the inputs at [3]."
+                    + " Thrown: {class java.lang.NumberFormatException=2, class java.lang.IllegalStateException=1}",
+                    e.getMessage());
+        }
+    }
+
+    @Test
+    public void testVerifyAll_manyIndicesAreAbbreviated() {
+
+        try {
+            verifyAll(Collections.nCopies(30, "1"), CatchExceptionBatchTest::parse, NumberFormatException.class);
+            fail("ExceptionNotThrownAssertionError is expected");
+        } catch (ExceptionNotThrownAssertionError e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("[0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14,"
+                    + " 15, 16, 17, 18, 19, ... (30 in total)]"));
+        }
+    }
+
+    @Test
+    public void testCatchAll_missingArgument() {
+
+        try {
+            catchAll((List<ThrowingCallable>) null, IllegalArgumentException.class);
+            fail("IllegalArgumentException is expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("obj must not be null", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testCatchAll_nullActor() {
+
+        AtomicInteger calls = new AtomicInteger();
+        ThrowingCallable counting = () -> {
+            calls.incrementAndGet();
+            throw new IllegalArgumentException();
+        };
+        ThrowingCallable[] actors = { counting, null };
+
+        assertNullActorRejected(() -> catchAll(actors, IllegalArgumentException.class));
+        assertNullActorRejected(() -> catchAllParallel(Arrays.asList(actors), IllegalArgumentException.class));
+        assertNullActorRejected(() -> catchAllConcurrent(Arrays.asList(actors), 2, IllegalArgumentException.class));
+        // the actors of arrays and lists are checked before any actor is called
+        assertEquals(0, calls.get());
+
+        assertNullActorRejected(() -> catchAll(new LinkedList<>(Arrays.asList(actors))::iterator, IllegalArgumentException.class));
+        assertNullActorRejected(() -> catchAll(Stream.of(actors), IllegalArgumentException.class));
+        assertNullActorRejected(() -> verifyAll(Stream.of(actors), IllegalArgumentException.class));
+        assertEquals(3, calls.get());
+    }
+
+    private static void assertNullActorRejected(Runnable batch) {
+        try {
+            batch.run();
+            fail("IllegalArgumentException is expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("actor must not be null", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testCatchAllParallel_sameAsSequential() {
+
+        List<String> many = IntStream.range(0, 10_000)
+                .mapToObj(i -> i % 7 == 0 ? "" : i % 3 == 0 ? "x" + i : Integer.toString(i))
+                .collect(Collectors.toCollection(LinkedList::new));
+
+        BatchResult sequential = catchAll(many, CatchExceptionBatchTest::parse, NumberFormatException.class);
+        BatchResult parallel = catchAllParallel(many, CatchExceptionBatchTest::parse, NumberFormatException.class);
+
+        assertEquals(sequential.size(), parallel.size());
+        assertEquals(sequential.getCaughtCount(), parallel.getCaughtCount());
+        assertArrayEquals(sequential.getNotThrownIndices(), parallel.getNotThrownIndices());
+        assertArrayEquals(sequential.getUnexpectedIndices(), parallel.getUnexpectedIndices());
+        assertEquals(sequential.getHistogram(), parallel.getHistogram());
+    }
+
+    @Test
+    public void testCatchAllParallel_pool() {
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            BatchResult result = catchAllParallel(inputs, CatchExceptionBatchTest::parse, NumberFormatException.class, pool);
+
+            assertEquals(2, result.getCaughtCount());
+            assertArrayEquals(new int[] { 0, 2 }, result.getNotThrownIndices());
+            assertArrayEquals(new int[] { 3 }, result.getUnexpectedIndices());
+        } finally {
+            pool.shutdown();
+        }
+
+        // the holder is not touched
+        assertSame(caughtBefore, caughtException());
+    }
+
+    @Test
+    public void testVerifyAllParallel_callables() {
+
+        List<ThrowingCallable> actors = Collections.nCopies(1_000, () -> parse("x"));
+        assertTrue(verifyAllParallel(actors, NumberFormatException.class).isAllCaught());
+
+        try {
+            verifyAllParallel(inputs, CatchExceptionBatchTest::parse, NumberFormatException.class);
+            fail("ExceptionNotThrownAssertionError is expected");
+        } catch (ExceptionNotThrownAssertionError e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("2 of 5 inputs threw"));
+        }
+    }
+
+    @Test
+    public void testCatchAllConcurrent_boundedConcurrency() {
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<ThrowingCallable> actors = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            boolean throwing = i != 7;
+            actors.add(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    // a blocking actor
+                    Thread.sleep(1);
+                } finally {
+                    running.decrementAndGet();
+                }
+                if (throwing) {
+                    throw new IOException("closed");
+                }
+            });
+        }
+
+        BatchResult result = catchAllConcurrent(actors, 8, IOException.class);
+
+        assertEquals(200, result.size());
+        assertEquals(199, result.getCaughtCount());
+        assertArrayEquals(new int[] { 7 }, result.getNotThrownIndices());
+        assertTrue(String.valueOf(maxRunning.get()), maxRunning.get() <= 8);
+    }
+
+    @Test
+    public void testVerifyAllConcurrent() {
+
+        try {
+            verifyAllConcurrent(Collections.nCopies(10, () -> { }), 4, IOException.class);
+            fail("ExceptionNotThrownAssertionError is expected");
+        } catch (ExceptionNotThrownAssertionError e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("0 of 10 inputs threw"));
+        }
+
+        try {
+            verifyAllConcurrent(Collections.<ThrowingCallable> emptyList(), 0, IOException.class);
+            fail("IllegalArgumentException is expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("maxConcurrency must be positive", e.getMessage());
+        }
+    }
+}
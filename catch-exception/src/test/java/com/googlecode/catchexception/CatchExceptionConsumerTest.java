@@ -0,0 +1,163 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception;
+
+import static com.googlecode.catchexception.CatchException.catchException;
+import static com.googlecode.catchexception.CatchException.caughtException;
+import static com.googlecode.catchexception.CatchException.verifyException;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.net.HttpRetryException;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the methods of {@link CatchException} that pass a target to the
+ * action.
+ */
+@SuppressWarnings("javadoc")
+public class CatchExceptionConsumerTest {
+
+    /**
+     * The number of calls of each consumer per measured batch.
+     */
+    private static final int BATCH_SIZE = 10_000;
+
+    /**
+     * The bytes a batch may allocate, e.g. for the allocation counter itself.
+     */
+    private static final long BATCH_ALLOCATION_BUDGET = 1024;
+
+    @Before
+    public void setUp() {
+        // set any exception so that we have clear state before the test
+        ExceptionHolder.set(new HttpRetryException("detail", 0));
+    }
+
+    private static void parse(String input) {
+        Integer.parseInt(input);
+    }
+
+    @Test
+    public void testCatchException_consumer() {
+
+        catchException("x", CatchExceptionConsumerTest::parse, NumberFormatException.class);
+        assertEquals("For input string: \"x\"", caughtException().getMessage());
+
+        catchException("1", CatchExceptionConsumerTest::parse, NumberFormatException.class);
+        assertNull(caughtException());
+
+        try {
+            catchException("x", CatchExceptionConsumerTest::parse, IllegalStateException.class);
+            fail("NumberFormatException is expected");
+        } catch (NumberFormatException e) {
+            assertNull(caughtException());
+        }
+    }
+
+    @Test
+    public void testCatchException_biConsumer() {
+
+        catchException(Collections.<String> emptyList(), 0, List::get, IndexOutOfBoundsException.class);
+        assertTrue(caughtException() instanceof IndexOutOfBoundsException);
+
+        catchException("abc", 1, String::charAt, IndexOutOfBoundsException.class);
+        assertNull(caughtException());
+    }
+
+    @Test
+    public void testVerifyException_consumer() {
+
+        verifyException("x", CatchExceptionConsumerTest::parse, NumberFormatException.class);
+        assertEquals("For input string: \"x\"", caughtException().getMessage());
+
+        try {
+            verifyException("1", CatchExceptionConsumerTest::parse, NumberFormatException.class);
+            fail("ExceptionNotThrownAssertionError is expected");
+        } catch (ExceptionNotThrownAssertionError e) {
+            assertNull(caughtException());
+        }
+    }
+
+    @Test
+    public void testVerifyException_biConsumer() {
+
+        verifyException("abc", 3, String::charAt, StringIndexOutOfBoundsException.class);
+        assertTrue(caughtException() instanceof StringIndexOutOfBoundsException);
+
+        try {
+            verifyException("abc", 1, String::charAt, IndexOutOfBoundsException.class);
+            fail("ExceptionNotThrownAssertionError is expected");
+        } catch (ExceptionNotThrownAssertionError e) {
+            assertNull(caughtException());
+        }
+    }
+
+    @Test
+    public void testCatchException_missingArgument() {
+
+        try {
+            catchException("x", (ThrowingConsumer<String>) null, NumberFormatException.class);
+            fail("IllegalArgumentException is expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("obj must not be null", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testCatchException_consumerDoesNotAllocate() {
+
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled());
+        long threadId = Thread.currentThread().getId();
+
+        // warm up so that the call sites are linked and compiled
+        for (int i = 0; i < 100; i++) {
+            catchExceptions(BATCH_SIZE);
+        }
+
+        // the smallest of a few batches is not skewed by a late compilation
+        long allocated = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long before = threadBean.getThreadAllocatedBytes(threadId);
+            catchExceptions(BATCH_SIZE);
+            allocated = Math.min(allocated, threadBean.getThreadAllocatedBytes(threadId) - before);
+        }
+
+        // a capturing lambda would allocate at least 16 bytes per call, i.e.
+        // 320,000 bytes per batch
+        assertTrue(allocated + " bytes allocated per batch", allocated <= BATCH_ALLOCATION_BUDGET);
+    }
+
+    private static void catchExceptions(int calls) {
+        String target = "42";
+        Object argument = "";
+        for (int i = 0; i < calls; i++) {
+            catchException(target, CatchExceptionConsumerTest::parse, NumberFormatException.class);
+            catchException(target, argument, Object::equals, NumberFormatException.class);
+        }
+    }
+}
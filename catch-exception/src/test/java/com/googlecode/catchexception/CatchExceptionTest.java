@@ -17,12 +17,19 @@ package com.googlecode.catchexception;
 
 import static com.googlecode.catchexception.CatchException.catchException;
 import static com.googlecode.catchexception.CatchException.caughtException;
+import static com.googlecode.catchexception.CatchException.throwsException;
 import static com.googlecode.catchexception.CatchException.verifyException;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.net.HttpRetryException;
 import java.util.ArrayList;
 import java.util.List;
@@ -208,6 +215,44 @@ public class CatchExceptionTest {
         }
     }
 
+    @Test
+    public void testVerifyException_ObjExc_causeIsAttached() {
+
+        try {
+            verifyException(() -> list.get(0), IllegalArgumentException.class);
+            fail("ExceptionNotThrownAssertionError is expected");
+        } catch (ExceptionNotThrownAssertionError e) {
+            assertTrue(e.getCause() instanceof IndexOutOfBoundsException);
+            assertSame(e.getMessage(), e.getMessage());
+            assertTrue(e.getStackTrace().length > 0);
+        }
+    }
+
+    @Test
+    public void testExceptionNotThrownAssertionError_withoutStackTrace() throws Exception {
+
+        IllegalStateException cause = new IllegalStateException("boom");
+        ExceptionNotThrownAssertionError e = ExceptionNotThrownAssertionError.withoutStackTrace(
+                IllegalArgumentException.class, cause);
+        assertEquals(0, e.getStackTrace().length);
+        assertSame(cause, e.getCause());
+        assertEquals("Exception of type " + IllegalArgumentException.class.getName()
+                + " expected but was not thrown. Instead an exception of type "
+                + IllegalStateException.class + " with message 'boom' was thrown.", e.getMessage());
+        assertTrue(e.toString().endsWith(": " + e.getMessage()));
+
+        // the message survives serialization although the expectation does not
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(new ExceptionNotThrownAssertionError(IllegalArgumentException.class));
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            Throwable copy = (Throwable) in.readObject();
+            assertEquals("Neither an exception of type " + IllegalArgumentException.class.getName()
+                    + " nor another exception was thrown", copy.getMessage());
+        }
+    }
+
     //fixme
     @Test
     public void testVerifyException_ObjExc_missingArgument_Exception()
@@ -314,4 +359,19 @@ public class CatchExceptionTest {
         assertTrue(caughtException() instanceof MyException);
     }
 
+    @Test
+    public void testThrowsException() {
+
+        Object caughtBefore = caughtException();
+
+        assertTrue(throwsException(() -> list.get(0)));
+        assertTrue(throwsException(() -> list.get(0), IndexOutOfBoundsException.class));
+        assertFalse(throwsException(list::size));
+        assertFalse(throwsException(list::size, IndexOutOfBoundsException.class));
+        // another type is not rethrown
+        assertFalse(throwsException(() -> list.get(0), IllegalStateException.class));
+
+        // the holder is not touched
+        assertSame(caughtBefore, caughtException());
+    }
 }
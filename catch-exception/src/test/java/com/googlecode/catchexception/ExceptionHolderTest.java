@@ -15,7 +15,11 @@
  */
 package com.googlecode.catchexception;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import org.junit.Test;
 
@@ -30,10 +34,61 @@ import com.googlecode.catchexception.ExceptionHolder;
 @SuppressWarnings("javadoc")
 public class ExceptionHolderTest {
 
+    public static class SingleSlotStrategy implements ExceptionHolderStrategy {
+
+        private volatile Exception caughtException;
+
+        @Override
+        public Exception get() {
+            return caughtException;
+        }
+
+        @Override
+        public void set(Exception caughtException) {
+            this.caughtException = caughtException;
+        }
+    }
+
     @Test
     public void testCaughtExceptionIsNull() throws Exception {
 
         ExceptionHolder.set(null);
         assertNull(ExceptionHolder.get());
     }
+
+    @Test
+    public void testCreateStrategy_threadLocal() throws Exception {
+
+        ExceptionHolderStrategy strategy = ExceptionHolder.createStrategy("threadlocal");
+        assertTrue(strategy instanceof ThreadLocalExceptionHolderStrategy);
+
+        Exception e = new Exception();
+        strategy.set(e);
+        assertSame(e, strategy.get());
+
+        Exception[] caughtInOtherThread = { e };
+        Thread other = new Thread(() -> caughtInOtherThread[0] = strategy.get());
+        other.start();
+        other.join();
+        assertNull(caughtInOtherThread[0]);
+    }
+
+    @Test
+    public void testCreateStrategy_customClass() {
+
+        ExceptionHolderStrategy strategy = ExceptionHolder.createStrategy(SingleSlotStrategy.class.getName());
+        assertTrue(strategy instanceof SingleSlotStrategy);
+    }
+
+    @Test
+    public void testCreateStrategy_invalidClass() {
+
+        try {
+            ExceptionHolder.createStrategy(String.class.getName());
+            fail("IllegalStateException is expected");
+        } catch (IllegalStateException e) {
+            assertEquals("Cannot create the strategy 'java.lang.String' given by the system property "
+                    + "catchexception.holder", e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,137 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception;
+
+import static com.googlecode.catchexception.apis.CatchExceptionHamcrestMatchers.hasMessage;
+import static com.googlecode.catchexception.apis.CatchExceptionHamcrestMatchers.hasNoCause;
+import static com.googlecode.catchexception.apis.CatchExceptionHamcrestMatchers.hasType;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.hamcrest.CoreMatchers.allOf;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.googlecode.catchexception.apis.CaughtExceptionAssert;
+
+/**
+ * Tests {@link ExceptionSnapshot}.
+ */
+@SuppressWarnings("javadoc")
+public class ExceptionSnapshotTest {
+
+    @Test
+    public void testSnapshot() {
+
+        MyException original = new MyException(500);
+        original.initCause(new IllegalStateException("cause"));
+        original.addSuppressed(new IllegalArgumentException("suppressed"));
+
+        ExceptionSnapshot snapshot = ExceptionSnapshot.of(original);
+
+        assertEquals(MyException.class, snapshot.getType());
+        assertTrue(snapshot.isSnapshotOf(RuntimeException.class));
+        assertFalse(snapshot.isSnapshotOf(IllegalStateException.class));
+        assertEquals(original.toString(), snapshot.toString());
+        assertEquals(original.getStackTrace()[0], snapshot.getStackTrace()[0]);
+
+        ExceptionSnapshot cause = (ExceptionSnapshot) snapshot.getCause();
+        assertNotSame(original.getCause(), cause);
+        assertEquals(IllegalStateException.class, cause.getType());
+        assertEquals("cause", cause.getMessage());
+        assertEquals(1, snapshot.getSuppressed().length);
+        assertEquals("suppressed", snapshot.getSuppressed()[0].getMessage());
+
+        assertSame(snapshot, ExceptionSnapshot.of(snapshot));
+    }
+
+    @Test
+    public void testSnapshot_trimsFrames() {
+
+        StackTraceElement[] frames = new StackTraceElement[ExceptionSnapshot.MAX_FRAMES * 2];
+        Arrays.fill(frames, new StackTraceElement("Foo", "bar", "Foo.java", 1));
+        Exception original = new Exception();
+        original.setStackTrace(frames);
+
+        assertEquals(ExceptionSnapshot.MAX_FRAMES, ExceptionSnapshot.of(original).getStackTrace().length);
+    }
+
+    @Test
+    public void testSnapshot_cyclicCauses() {
+
+        Exception first = new Exception("first");
+        Exception second = new Exception("second", first);
+        first.initCause(second);
+
+        Throwable snapshot = ExceptionSnapshot.of(first);
+        assertEquals("second", snapshot.getCause().getMessage());
+        assertSame(snapshot, snapshot.getCause().getCause());
+    }
+
+    @Test
+    public void testSnapshot_sharedExceptions() {
+
+        // each exception suppresses the next one twice, i.e. there are 2^30
+        // paths through the graph
+        Exception last = new Exception("last");
+        for (int i = 0; i < 30; i++) {
+            Exception previous = new Exception("previous", last);
+            previous.addSuppressed(last);
+            previous.addSuppressed(last);
+            last = previous;
+        }
+
+        Throwable snapshot = ExceptionSnapshot.of(last);
+        assertSame(snapshot.getCause(), snapshot.getSuppressed()[0]);
+        assertSame(snapshot.getCause(), snapshot.getSuppressed()[1]);
+    }
+
+    @Test
+    public void testMatchersAndAssertions() {
+
+        ExceptionSnapshot snapshot = ExceptionSnapshot.of(new IndexOutOfBoundsException("Index: 9, Size: 9"));
+
+        assertThat(snapshot, allOf(hasType(IndexOutOfBoundsException.class), hasMessage("Index: 9, Size: 9"),
+                hasNoCause()));
+        assertThat(snapshot, not(hasType(IllegalArgumentException.class)));
+        assertThat(new IndexOutOfBoundsException(), hasType(RuntimeException.class));
+
+        then(snapshot).hasMessage("Index: 9, Size: 9").hasNoCause();
+
+        new CaughtExceptionAssert(snapshot).isInstanceOf(RuntimeException.class)
+                .isExactlyInstanceOf(IndexOutOfBoundsException.class).isNotInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Index: 9, Size: 9");
+        try {
+            new CaughtExceptionAssert(snapshot).isInstanceOf(IllegalArgumentException.class);
+            fail("AssertionError is expected");
+        } catch (AssertionError e) {
+            assertEquals("Expected an instance of <java.lang.IllegalArgumentException> but was an instance of "
+                    + "<java.lang.IndexOutOfBoundsException>", e.getMessage());
+        }
+        ExceptionSnapshot withCause = ExceptionSnapshot.of(new IllegalStateException(new IOException()));
+        new CaughtExceptionAssert(withCause).hasCauseInstanceOf(IOException.class)
+                .hasCauseExactlyInstanceOf(IOException.class);
+    }
+}
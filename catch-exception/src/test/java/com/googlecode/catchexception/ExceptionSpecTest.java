@@ -0,0 +1,148 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception;
+
+import static com.googlecode.catchexception.CatchException.caughtException;
+import static com.googlecode.catchexception.CatchException.verifyExceptionMatching;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.net.HttpRetryException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link ExceptionSpec} and
+ * {@link CatchException#verifyExceptionMatching(ThrowingCallable, ExceptionSpec)}.
+ */
+@SuppressWarnings("javadoc")
+public class ExceptionSpecTest {
+
+    private static final ExceptionSpec INVALID_INPUT = ExceptionSpec.of(IllegalArgumentException.class)
+            .withMessage("invalid input")
+            .withCause(ExceptionSpec.of(IOException.class).withMessageContaining("disk").withNoCause())
+            .withNoSuppressed();
+
+    @Before
+    public void setUp() {
+        // set any exception so that we have clear state before the test
+        ExceptionHolder.set(new HttpRetryException("detail", 0));
+    }
+
+    private static IllegalArgumentException invalidInput(String causeMessage) {
+        return new IllegalArgumentException("invalid input", new IOException(causeMessage));
+    }
+
+    @Test
+    public void testMatches() {
+
+        assertTrue(INVALID_INPUT.matches(invalidInput("disk full")));
+        assertTrue(INVALID_INPUT.matches(ExceptionSnapshot.of(invalidInput("disk full"))));
+        assertFalse(INVALID_INPUT.matches(null));
+        assertTrue(ExceptionSpec.of(Exception.class).withMessage(null).matches(new IOException()));
+    }
+
+    @Test
+    public void testDescribeMismatch() {
+
+        assertNull(INVALID_INPUT.describeMismatch(invalidInput("disk full")));
+        assertEquals("was null", INVALID_INPUT.describeMismatch(null));
+        assertEquals("type was java.lang.IllegalStateException",
+                INVALID_INPUT.describeMismatch(new IllegalStateException("invalid input")));
+        assertEquals("message was \"other\"",
+                INVALID_INPUT.describeMismatch(new IllegalArgumentException("other")));
+        assertEquals("had no cause", INVALID_INPUT.describeMismatch(new IllegalArgumentException("invalid input")));
+        assertEquals("cause message was \"network down\"",
+                INVALID_INPUT.describeMismatch(invalidInput("network down")));
+
+        IllegalArgumentException suppressing = invalidInput("disk full");
+        suppressing.addSuppressed(new IllegalStateException());
+        assertEquals("had 1 suppressed exceptions", INVALID_INPUT.describeMismatch(suppressing));
+
+        ExceptionSpec suppressed = ExceptionSpec.of(Exception.class)
+                .withSuppressed(ExceptionSpec.of(IllegalStateException.class).withMessageThat(m -> m == null,
+                        "no message"));
+        assertNull(suppressed.describeMismatch(suppressing));
+        IllegalArgumentException wrongSuppressed = new IllegalArgumentException();
+        wrongSuppressed.addSuppressed(new IllegalStateException("closed"));
+        assertEquals("suppressed exception 0 message was \"closed\"",
+                suppressed.describeMismatch(wrongSuppressed));
+
+        assertEquals("cause was java.lang.IllegalStateException", ExceptionSpec.of(Exception.class).withNoCause()
+                .describeMismatch(new IOException(new IllegalStateException())));
+    }
+
+    @Test
+    public void testToString() {
+
+        assertEquals("java.lang.IllegalArgumentException with message \"invalid input\""
+                + " with cause (java.io.IOException with message containing \"disk\" with no cause)"
+                + " with no suppressed exceptions", INVALID_INPUT.toString());
+        assertEquals("java.lang.Exception with suppressed exceptions [(java.io.IOException), (java.io.IOException)]",
+                ExceptionSpec.of(Exception.class)
+                        .withSuppressed(ExceptionSpec.of(IOException.class), ExceptionSpec.of(IOException.class))
+                        .toString());
+    }
+
+    @Test
+    public void testVerifyExceptionMatching() {
+
+        IllegalArgumentException thrown = invalidInput("disk full");
+        verifyExceptionMatching(() -> {
+            throw thrown;
+        }, INVALID_INPUT);
+        assertSame(thrown, caughtException());
+
+        try {
+            verifyExceptionMatching(() -> {
+            }, INVALID_INPUT);
+            fail("ExceptionNotThrownAssertionError is expected");
+        } catch (ExceptionNotThrownAssertionError e) {
+            assertEquals("Neither an exception matching " + INVALID_INPUT + " nor another exception was thrown",
+                    e.getMessage());
+            assertNull(caughtException());
+        }
+
+        try {
+            verifyExceptionMatching(() -> {
+                throw invalidInput("network down");
+            }, INVALID_INPUT);
+            fail("ExceptionNotThrownAssertionError is expected");
+        } catch (ExceptionNotThrownAssertionError e) {
+            assertEquals("Exception matching " + INVALID_INPUT + " expected but was not thrown. Instead an exception"
+                    + " of type class java.lang.IllegalArgumentException with message 'invalid input' was thrown,"
+                    + " its cause message was \"network down\".", e.getMessage());
+            assertNull(caughtException());
+        }
+    }
+
+    @Test
+    public void testOf_missingArgument() {
+
+        try {
+            ExceptionSpec.of(null);
+            fail("IllegalArgumentException is expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("type must not be null", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception;
+
+import static com.googlecode.catchexception.CatchException.catchAnyException;
+import static com.googlecode.catchexception.CatchException.caughtException;
+import static com.googlecode.catchexception.CatchException.verifyAnyException;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.EOFException;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.HttpRetryException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link ExceptionTypes} and the methods of {@link CatchException} that
+ * accept several exception types.
+ */
+@SuppressWarnings("javadoc")
+public class ExceptionTypesTest {
+
+    private static final ExceptionTypes IO_ERRORS = ExceptionTypes.of(FileNotFoundException.class,
+            EOFException.class, IOException.class);
+
+    @Before
+    public void setUp() {
+        // set any exception so that we have clear state before the test
+        ExceptionHolder.set(new HttpRetryException("detail", 0));
+    }
+
+    @Test
+    public void testMatch() {
+
+        assertSame(EOFException.class, IO_ERRORS.match(new EOFException()));
+        assertSame(IOException.class, IO_ERRORS.match(new HttpRetryException("detail", 0)));
+        // the cached lookup gives the same answer
+        assertSame(IOException.class, IO_ERRORS.match(new HttpRetryException("detail", 0)));
+        assertNull(IO_ERRORS.match(new IllegalStateException()));
+        assertNull(IO_ERRORS.match(null));
+        assertTrue(IO_ERRORS.matches(new FileNotFoundException()));
+        assertFalse(IO_ERRORS.matches(new IllegalStateException()));
+    }
+
+    @Test
+    public void testMatch_firstTypeWins() {
+
+        ExceptionTypes types = ExceptionTypes.of(IOException.class, EOFException.class, IOException.class);
+
+        assertSame(IOException.class, types.match(new EOFException()));
+        assertEquals(2, types.getTypes().size());
+        assertEquals("[java.io.IOException, java.io.EOFException]", types.toString());
+    }
+
+    @Test
+    public void testOf_invalid() {
+
+        try {
+            ExceptionTypes.of();
+            fail("IllegalArgumentException is expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("types must not be empty", e.getMessage());
+        }
+        try {
+            ExceptionTypes.of(IOException.class, null);
+            fail("IllegalArgumentException is expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("types must not contain null", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testCatchAnyException() {
+
+        assertSame(EOFException.class, catchAnyException(() -> {
+            throw new EOFException("eof");
+        }, IO_ERRORS));
+        assertEquals("eof", caughtException().getMessage());
+
+        assertNull(catchAnyException(() -> {
+        }, IO_ERRORS));
+        assertNull(caughtException());
+
+        try {
+            catchAnyException(() -> {
+                throw new IllegalStateException("other");
+            }, IO_ERRORS);
+            fail("IllegalStateException is expected");
+        } catch (IllegalStateException e) {
+            assertNull(caughtException());
+        }
+    }
+
+    @Test
+    public void testVerifyAnyException() {
+
+        assertSame(FileNotFoundException.class, verifyAnyException(() -> {
+            throw new FileNotFoundException("missing");
+        }, IO_ERRORS));
+        assertEquals("missing", caughtException().getMessage());
+
+        try {
+            verifyAnyException(() -> {
+            }, IO_ERRORS);
+            fail("ExceptionNotThrownAssertionError is expected");
+        } catch (ExceptionNotThrownAssertionError e) {
+            assertEquals("Neither an exception of one of the types"
+                    + " [java.io.FileNotFoundException, java.io.EOFException, java.io.IOException]"
+                    + " nor another exception was thrown", e.getMessage());
+        }
+
+        try {
+            verifyAnyException(() -> {
+                throw new IllegalStateException("other");
+            }, IO_ERRORS);
+            fail("ExceptionNotThrownAssertionError is expected");
+        } catch (ExceptionNotThrownAssertionError e) {
+            assertEquals("Exception of one of the types"
+                    + " [java.io.FileNotFoundException, java.io.EOFException, java.io.IOException]"
+                    + " expected but was not thrown. Instead an exception of type"
+                    + " class java.lang.IllegalStateException with message 'other' was thrown.", e.getMessage());
+            assertNull(caughtException());
+        }
+    }
+
+    @Test
+    public void testVerifyAnyException_missingArgument() {
+
+        try {
+            verifyAnyException(() -> {
+            }, null);
+            fail("IllegalArgumentException is expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("types must not be null", e.getMessage());
+        }
+    }
+}
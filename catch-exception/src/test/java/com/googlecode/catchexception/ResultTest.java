@@ -0,0 +1,259 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception;
+
+import static com.googlecode.catchexception.CatchException.attempt;
+import static com.googlecode.catchexception.CatchException.attemptDouble;
+import static com.googlecode.catchexception.CatchException.attemptInt;
+import static com.googlecode.catchexception.CatchException.attemptLong;
+import static com.googlecode.catchexception.CatchException.caughtException;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.net.HttpRetryException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link Result}, its primitive specializations and the attempt methods
+ * of {@link CatchException}.
+ */
+@SuppressWarnings("javadoc")
+public class ResultTest {
+
+    /**
+     * The number of calls per measured batch.
+     */
+    private static final int BATCH_SIZE = 10_000;
+
+    /**
+     * The bytes a batch may allocate, e.g. for the allocation counter itself.
+     */
+    private static final long BATCH_ALLOCATION_BUDGET = 1024;
+
+    /**
+     * The size of the smallest box, e.g. an {@link Integer} with compressed
+     * class pointers.
+     */
+    private static final long MIN_BOX_SIZE = 16;
+
+    private static int counter;
+
+    /**
+     * Keeps the results reachable so that their allocation is not eliminated.
+     */
+    private static volatile Object sink;
+
+    @Test
+    public void testAttempt_success() {
+
+        AtomicInteger calls = new AtomicInteger();
+        Result<Integer> result = attempt(() -> calls.incrementAndGet() + 41);
+
+        assertTrue(result.isSuccess());
+        assertFalse(result.isFailure());
+        assertEquals(Integer.valueOf(42), result.getValue());
+        assertNull(result.getException());
+        assertEquals(Integer.valueOf(42), result.orElse(0));
+        assertEquals("Result[value=42]", result.toString());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testAttempt_failure() {
+
+        Exception caughtBefore = new HttpRetryException("detail", 0);
+        ExceptionHolder.set(caughtBefore);
+
+        Result<Integer> result = attempt(() -> Integer.parseInt("x"));
+
+        assertTrue(result.isFailure());
+        assertTrue(result.getException() instanceof NumberFormatException);
+        assertEquals(Integer.valueOf(0), result.orElse(0));
+        assertEquals("Result[exception=java.lang.NumberFormatException: For input string: \"x\"]",
+                result.toString());
+        try {
+            result.getValue();
+            fail("IllegalStateException is expected");
+        } catch (IllegalStateException e) {
+            assertSame(result.getException(), e.getCause());
+        }
+
+        // the holder is not touched
+        assertSame(caughtBefore, caughtException());
+    }
+
+    @Test
+    public void testAttempt_error() {
+
+        try {
+            attempt(() -> {
+                throw new AssertionError();
+            });
+            fail("IllegalArgumentException is expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Throwable is not supported by CatchException library, use CatchThrowable instead",
+                    e.getMessage());
+        }
+    }
+
+    @Test
+    public void testEquals() {
+
+        IllegalStateException exception = new IllegalStateException();
+
+        assertEquals(Result.success("a"), Result.success("a"));
+        assertEquals(Result.success("a").hashCode(), Result.success("a").hashCode());
+        assertEquals(Result.failure(exception), Result.failure(exception));
+        assertFalse(Result.success(null).equals(Result.failure(exception)));
+    }
+
+    @Test
+    public void testFailure_missingArgument() {
+
+        try {
+            Result.failure(null);
+            fail("IllegalArgumentException is expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("exception must not be null", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testAttemptInt() {
+
+        IntResult success = attemptInt(() -> Integer.parseInt("42"));
+        assertTrue(success.isSuccess());
+        assertEquals(42, success.getAsInt());
+        assertEquals("IntResult[value=42]", success.toString());
+        assertEquals(IntResult.success(42), success);
+
+        IntResult failure = attemptInt(() -> Integer.parseInt("x"));
+        assertTrue(failure.isFailure());
+        assertTrue(failure.getException() instanceof NumberFormatException);
+        assertEquals(-1, failure.orElse(-1));
+        try {
+            failure.getAsInt();
+            fail("IllegalStateException is expected");
+        } catch (IllegalStateException e) {
+            assertSame(failure.getException(), e.getCause());
+        }
+    }
+
+    @Test
+    public void testAttemptLong() {
+
+        assertEquals(1L << 40, attemptLong(() -> Long.parseLong("1099511627776")).getAsLong());
+
+        LongResult failure = attemptLong(() -> Long.parseLong("x"));
+        assertTrue(failure.getException() instanceof NumberFormatException);
+        assertEquals(-1L, failure.orElse(-1L));
+    }
+
+    @Test
+    public void testAttemptDouble() {
+
+        assertEquals(0.5, attemptDouble(() -> Double.parseDouble("0.5")).getAsDouble(), 0.0);
+        assertEquals(DoubleResult.success(Double.NaN), attemptDouble(() -> Double.NaN));
+
+        DoubleResult failure = attemptDouble(() -> Double.parseDouble("x"));
+        assertTrue(failure.getException() instanceof NumberFormatException);
+        assertEquals(-1.0, failure.orElse(-1.0), 0.0);
+    }
+
+    /**
+     * @return Returns a value outside of the cache of {@link Integer#valueOf(int)}
+     *         and {@link Long#valueOf(long)}.
+     */
+    private static int nextValue() {
+        return 1000 + (counter++ & 0xffff);
+    }
+
+    @Test
+    public void testAttemptPrimitive_doesNotBox() {
+
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled());
+
+        assertDoesNotBox(threadBean, () -> {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                sink = attemptInt(ResultTest::nextValue);
+            }
+        }, () -> {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                sink = attempt(ResultTest::nextValue);
+            }
+        });
+        assertDoesNotBox(threadBean, () -> {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                sink = attemptLong(() -> nextValue());
+            }
+        }, () -> {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                sink = attempt(() -> (long) nextValue());
+            }
+        });
+        assertDoesNotBox(threadBean, () -> {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                sink = attemptDouble(() -> nextValue());
+            }
+        }, () -> {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                sink = attempt(() -> (double) nextValue());
+            }
+        });
+    }
+
+    /**
+     * Asserts that the given primitive batch allocates at least one box per
+     * call less than the given boxed batch. Both batches allocate a result per
+     * call.
+     */
+    private static void assertDoesNotBox(com.sun.management.ThreadMXBean threadBean, Runnable primitiveBatch,
+            Runnable boxedBatch) {
+        long primitive = allocatedBytes(threadBean, primitiveBatch);
+        long boxed = allocatedBytes(threadBean, boxedBatch);
+        assertTrue(primitive + " bytes allocated per primitive batch, " + boxed + " per boxed batch",
+                boxed - primitive >= BATCH_SIZE * MIN_BOX_SIZE - BATCH_ALLOCATION_BUDGET);
+    }
+
+    private static long allocatedBytes(com.sun.management.ThreadMXBean threadBean, Runnable batch) {
+        long threadId = Thread.currentThread().getId();
+
+        // warm up so that the call sites are linked and compiled
+        for (int i = 0; i < 100; i++) {
+            batch.run();
+        }
+
+        // the smallest of a few batches is not skewed by a late compilation
+        long allocated = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long before = threadBean.getThreadAllocatedBytes(threadId);
+            batch.run();
+            allocated = Math.min(allocated, threadBean.getThreadAllocatedBytes(threadId) - before);
+        }
+        return allocated;
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception;
+
+import static com.googlecode.catchexception.CatchException.catchException;
+import static com.googlecode.catchexception.CatchException.caughtException;
+import static com.googlecode.catchexception.CatchException.verifyException;
+import static com.googlecode.catchexception.apis.CatchExceptionAssertions.thenCaughtException;
+import static com.googlecode.catchexception.apis.CatchExceptionHamcrestMatchers.hasMessage;
+import static com.googlecode.catchexception.apis.CatchExceptionHamcrestMatchers.hasType;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.googlecode.catchexception.apis.BDDCatchException;
+
+/**
+ * Tests the snapshot capture mode end to end. The mode is read once per JVM,
+ * so this test only runs in the build's <code>snapshot-capture</code> execution
+ * that sets {@value ExceptionCaptor#CAPTURE_PROPERTY} to <code>snapshot</code>.
+ */
+@SuppressWarnings("javadoc")
+public class SnapshotCaptureTest {
+
+    @Before
+    public void setUp() {
+        assumeTrue("snapshot".equals(System.getProperty(ExceptionCaptor.CAPTURE_PROPERTY)));
+    }
+
+    @Test
+    public void testCatchException_storesSnapshot() {
+
+        catchException(() -> {
+            throw new IllegalStateException("closed");
+        });
+        assertTrue(caughtException() instanceof ExceptionSnapshot);
+        assertEquals(IllegalStateException.class, ((ExceptionSnapshot) caughtException()).getType());
+        assertThat(caughtException(), hasType(IllegalStateException.class));
+        assertThat(caughtException(), hasType(RuntimeException.class));
+        assertThat(caughtException(), not(hasType(IllegalArgumentException.class)));
+        assertThat(caughtException(), hasMessage("closed"));
+    }
+
+    @Test
+    public void testThenThrown() {
+
+        BDDCatchException.when(() -> {
+            throw new IllegalStateException("closed");
+        });
+        BDDCatchException.thenThrown(IllegalStateException.class);
+        BDDCatchException.thenThrown(RuntimeException.class);
+        try {
+            BDDCatchException.thenThrown(IllegalArgumentException.class);
+            fail("ExceptionNotThrownAssertionError is expected");
+        } catch (ExceptionNotThrownAssertionError e) {
+            assertTrue(e.getMessage().contains("Instead an exception of type " + IllegalStateException.class));
+        }
+    }
+
+    @Test
+    public void testVerifyException() {
+
+        verifyException(() -> {
+            throw new IllegalStateException("closed");
+        }, RuntimeException.class);
+        assertThat(caughtException(), hasType(IllegalStateException.class));
+    }
+
+    @Test
+    public void testThenCaughtException() {
+
+        catchException(() -> {
+            throw new IndexOutOfBoundsException("Index: 1, Size: 0");
+        });
+        thenCaughtException().isInstanceOf(IndexOutOfBoundsException.class).hasMessage("Index: 1, Size: 0")
+                .hasNoCause();
+    }
+
+    @Test
+    public void testCaughtException_typed() {
+
+        catchException(() -> {
+            throw new IndexOutOfBoundsException("Index: 1, Size: 0");
+        });
+        assertEquals(ExceptionSnapshot.class, caughtException(ExceptionSnapshot.class).getClass());
+        try {
+            caughtException(IndexOutOfBoundsException.class);
+            fail("IllegalStateException is expected");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().startsWith("The caught exception is a snapshot of "
+                    + "java.lang.IndexOutOfBoundsException that cannot be returned as "
+                    + "java.lang.IndexOutOfBoundsException."));
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.ref.WeakReference;
+
+import org.junit.Test;
+
+import com.googlecode.catchexception.ThreadLocalExceptionHolderStrategy.Retention;
+
+/**
+ * Tests {@link ThreadLocalExceptionHolderStrategy} and
+ * {@link ExceptionFootprint}.
+ */
+@SuppressWarnings("javadoc")
+public class ThreadLocalExceptionHolderStrategyTest {
+
+    /**
+     * Saves a new exception that is referenced by nothing but the given
+     * strategy.
+     */
+    private static WeakReference<Exception> capture(ThreadLocalExceptionHolderStrategy strategy) {
+        Exception e = new Exception();
+        strategy.set(e);
+        return new WeakReference<>(e);
+    }
+
+    private static boolean isCollected(WeakReference<Exception> reference) throws InterruptedException {
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        return reference.get() == null;
+    }
+
+    @Test
+    public void testStrong() throws Exception {
+
+        ThreadLocalExceptionHolderStrategy strategy = new ThreadLocalExceptionHolderStrategy(Retention.STRONG, 0);
+        Exception e = new Exception();
+        strategy.set(e);
+        assertSame(e, strategy.get());
+        strategy.set(null);
+        assertNull(strategy.get());
+
+        WeakReference<Exception> caught = capture(strategy);
+        strategy.set(null);
+        assertTrue(isCollected(caught));
+    }
+
+    @Test
+    public void testSoft() throws Exception {
+
+        ThreadLocalExceptionHolderStrategy strategy = new ThreadLocalExceptionHolderStrategy(Retention.SOFT, 0);
+        Exception e = new Exception();
+        strategy.set(e);
+        assertSame(e, strategy.get());
+
+        WeakReference<Exception> caught = capture(strategy);
+        strategy.set(null);
+        assertNull(strategy.get());
+        assertTrue(isCollected(caught));
+    }
+
+    @Test
+    public void testWeak() throws Exception {
+
+        ThreadLocalExceptionHolderStrategy strategy = new ThreadLocalExceptionHolderStrategy(Retention.WEAK, 0);
+        Exception e = new Exception();
+        strategy.set(e);
+        System.gc();
+        assertSame("referenced by the test", e, strategy.get());
+
+        // the holder alone does not keep the exception alive
+        WeakReference<Exception> caught = capture(strategy);
+        assertTrue(isCollected(caught));
+        assertNull(strategy.get());
+    }
+
+    @Test
+    public void testWeak_reset() throws Exception {
+
+        ThreadLocalExceptionHolderStrategy strategy = new ThreadLocalExceptionHolderStrategy(Retention.WEAK, 0);
+        WeakReference<Exception> caught = capture(strategy);
+        strategy.set(null);
+        assertNull(strategy.get());
+        assertTrue(isCollected(caught));
+    }
+
+    @Test
+    public void testExpireAfterMillis() throws Exception {
+
+        ThreadLocalExceptionHolderStrategy strategy = new ThreadLocalExceptionHolderStrategy(Retention.STRONG, 1);
+        strategy.set(new Exception());
+        Thread.sleep(20);
+        assertNull(strategy.get());
+    }
+
+    @Test
+    public void testRetention() {
+
+        assertEquals(Retention.WEAK, ThreadLocalExceptionHolderStrategy.retention("weak"));
+        assertEquals(Retention.SOFT, ThreadLocalExceptionHolderStrategy.retention("SOFT"));
+        try {
+            ThreadLocalExceptionHolderStrategy.retention("weakly");
+            fail("IllegalStateException is expected");
+        } catch (IllegalStateException e) {
+            assertEquals("Unknown retention 'weakly' given by the system property "
+                    + "catchexception.holder.retention, expected strong, soft or weak", e.getMessage());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidExpireAfterMillis() {
+
+        new ThreadLocalExceptionHolderStrategy(Retention.WEAK, -1);
+    }
+
+    @Test
+    public void testFootprint() {
+
+        assertEquals(0, ExceptionFootprint.estimate(null));
+
+        Exception cause = new IllegalStateException("cause");
+        Exception withoutCause = new Exception("message");
+        Exception withCause = new Exception("message", cause);
+        assertTrue(ExceptionFootprint.estimate(withoutCause) > 0);
+        assertEquals(ExceptionFootprint.estimate(withoutCause) + ExceptionFootprint.estimate(cause),
+                ExceptionFootprint.estimate(withCause));
+
+        withCause.addSuppressed(withCause.getCause());
+        assertEquals("the cause is counted only once", ExceptionFootprint.estimate(withoutCause)
+                + ExceptionFootprint.estimate(cause), ExceptionFootprint.estimate(withCause));
+    }
+
+    @Test
+    public void testEstimateRetainedBytes() {
+
+        CatchException.resetCaughtException();
+        assertEquals(0, CatchException.estimateRetainedBytes());
+
+        CatchException.catchException(() -> {
+            throw new IllegalArgumentException("foo");
+        });
+        assertTrue(CatchException.estimateRetainedBytes() > 0);
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.apis.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.hamcrest.Description;
+import org.hamcrest.StringDescription;
+import org.junit.Test;
+
+import com.googlecode.catchexception.apis.internal.hamcrest.ExceptionMessageMatcher;
+
+/**
+ * Tests {@link MessageAbbreviator}.
+ */
+@SuppressWarnings("javadoc")
+public class MessageAbbreviatorTest {
+
+    @Test
+    public void testAbbreviate() {
+
+        String text = "0123456789";
+        assertSame(text, MessageAbbreviator.abbreviate(text, 10));
+        assertNull(MessageAbbreviator.abbreviate(null, 10));
+        assertEquals("0123...[3 chars omitted]...789", MessageAbbreviator.abbreviate(text, 7));
+        assertEquals("01...[6 chars omitted]...89", MessageAbbreviator.abbreviate(text, 4));
+
+        assertFalse(MessageAbbreviator.exceeds(null));
+        assertFalse(MessageAbbreviator.exceeds(text));
+        String huge = repeat('x', MessageAbbreviator.MAX_LENGTH + 1);
+        assertTrue(MessageAbbreviator.exceeds(huge));
+        assertTrue(MessageAbbreviator.abbreviate(huge).length() < MessageAbbreviator.MAX_LENGTH + 32);
+    }
+
+    @Test
+    public void testDescribeDifference() {
+
+        assertNull(MessageAbbreviator.describeDifference("abc", "abc", 2));
+        assertEquals("first difference at index 5: expected ...\"34X67\"... but was ...\"34Y67\"...",
+                MessageAbbreviator.describeDifference("01234X6789", "01234Y6789", 2));
+        assertEquals("first difference at index 1: expected \"0X23\" but was \"0Y23\"",
+                MessageAbbreviator.describeDifference("0X23", "0Y23", 2));
+        assertEquals("first difference at index 3: expected ...\"12\" but was ...\"123\"",
+                MessageAbbreviator.describeDifference("012", "0123", 2));
+    }
+
+    @Test
+    public void testDescribeMismatch_differenceOfLongMessagesOnly() {
+
+        // the message fits, only the description of the exception is too long
+        String expected = repeat('x', MessageAbbreviator.MAX_LENGTH);
+        String fits = repeat('x', MessageAbbreviator.MAX_LENGTH - 1) + "y";
+        String description = describeMismatch(expected, new IllegalStateException(fits));
+        assertTrue(description, description.contains("chars omitted"));
+        assertFalse(description, description.contains("first difference"));
+
+        String exceeds = fits + "y";
+        description = describeMismatch(expected, new IllegalStateException(exceeds));
+        assertTrue(description, description.contains("first difference at index "
+                + (MessageAbbreviator.MAX_LENGTH - 1)));
+    }
+
+    private static String describeMismatch(String expectedMessage, Exception exception) {
+        Description description = new StringDescription();
+        new ExceptionMessageMatcher<>(expectedMessage).describeMismatch(exception, description);
+        return description.toString();
+    }
+
+    private static String repeat(char c, int count) {
+        StringBuilder text = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            text.append(c);
+        }
+        return text.toString();
+    }
+}
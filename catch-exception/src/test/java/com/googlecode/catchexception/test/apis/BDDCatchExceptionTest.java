@@ -16,6 +16,7 @@
 package com.googlecode.catchexception.test.apis;
 
 import static com.googlecode.catchexception.apis.BDDCatchException.caughtException;
+import static com.googlecode.catchexception.apis.BDDCatchException.caughtSuppressed;
 import static com.googlecode.catchexception.apis.BDDCatchException.thenThrown;
 import static com.googlecode.catchexception.apis.BDDCatchException.when;
 import static org.assertj.core.api.BDDAssertions.then;
@@ -130,4 +131,22 @@ public class BDDCatchExceptionTest {
             }
         }
     }
+
+    @Test
+    public void testCaughtSuppressed() {
+
+        when(() -> {
+            IllegalStateException primary = new IllegalStateException("write failed");
+            primary.addSuppressed(new java.io.IOException("close failed"));
+            primary.addSuppressed(new IllegalArgumentException("flush failed"));
+            throw primary;
+        });
+        then(caughtSuppressed())
+                .hasSize(2)
+                .extracting(Throwable::getMessage)
+                .containsExactly("close failed", "flush failed");
+
+        when(() -> { });
+        then(caughtSuppressed()).isEmpty();
+    }
 }
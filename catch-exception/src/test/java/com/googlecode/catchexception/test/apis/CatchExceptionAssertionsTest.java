@@ -0,0 +1,67 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.test.apis;
+
+import static com.googlecode.catchexception.CatchException.attempt;
+import static com.googlecode.catchexception.apis.CatchExceptionAssertions.assertThat;
+import static com.googlecode.catchexception.apis.CatchExceptionAssertions.then;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import com.googlecode.catchexception.Result;
+import com.googlecode.catchexception.apis.CatchExceptionAssertions;
+
+/**
+ * Tests {@link CatchExceptionAssertions}.
+ */
+@SuppressWarnings("javadoc")
+public class CatchExceptionAssertionsTest {
+
+    private final Result<Integer> success = attempt(() -> Integer.parseInt("42"));
+
+    private final Result<Integer> failure = attempt(() -> Integer.parseInt("x"));
+
+    @Test
+    public void testThen_success() {
+
+        then(success).isSuccess().hasValue(42);
+        assertThat(success).value().isEqualTo(42);
+
+        try {
+            then(success).isFailure();
+            fail("AssertionError is expected");
+        } catch (AssertionError e) {
+            assertEquals("Expected a failed result but the call returned <42>", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testThen_failure() {
+
+        then(failure).isFailure().hasExceptionOfType(NumberFormatException.class);
+        then(failure).exception().hasMessage("For input string: \"x\"");
+
+        try {
+            then(failure).hasValue(42);
+            fail("AssertionError is expected");
+        } catch (AssertionError e) {
+            assertEquals("Expected a successful result but the call threw"
+                    + " <java.lang.NumberFormatException: For input string: \"x\">", e.getMessage());
+        }
+    }
+}
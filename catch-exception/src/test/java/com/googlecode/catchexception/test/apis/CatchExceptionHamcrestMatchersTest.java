@@ -19,21 +19,51 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
 
+import static com.googlecode.catchexception.CatchException.attempt;
 import static com.googlecode.catchexception.CatchException.catchException;
 import static com.googlecode.catchexception.CatchException.caughtException;
+import static com.googlecode.catchexception.apis.CatchExceptionHamcrestMatchers.hasException;
+import static com.googlecode.catchexception.apis.CatchExceptionHamcrestMatchers.hasCause;
+import static com.googlecode.catchexception.apis.CatchExceptionHamcrestMatchers.hasCauseInChain;
+import static com.googlecode.catchexception.apis.CatchExceptionHamcrestMatchers.hasMessageContainingAllOf;
+import static com.googlecode.catchexception.apis.CatchExceptionHamcrestMatchers.hasMessageContainingAnyOf;
+import static com.googlecode.catchexception.apis.CatchExceptionHamcrestMatchers.exceptionOfType;
 import static com.googlecode.catchexception.apis.CatchExceptionHamcrestMatchers.hasMessage;
+import static com.googlecode.catchexception.apis.CatchExceptionHamcrestMatchers.hasMessageFinding;
+import static com.googlecode.catchexception.apis.CatchExceptionHamcrestMatchers.hasMessageMatching;
+import static com.googlecode.catchexception.apis.CatchExceptionHamcrestMatchers.hasMessageTemplate;
 import static com.googlecode.catchexception.apis.CatchExceptionHamcrestMatchers.hasMessageThat;
 import static com.googlecode.catchexception.apis.CatchExceptionHamcrestMatchers.hasNoCause;
+import static com.googlecode.catchexception.apis.CatchExceptionHamcrestMatchers.hasRootCause;
+import static com.googlecode.catchexception.apis.CatchExceptionHamcrestMatchers.hasSuppressed;
+import static com.googlecode.catchexception.apis.CatchExceptionHamcrestMatchers.hasSuppressedCount;
+import static com.googlecode.catchexception.apis.CatchExceptionHamcrestMatchers.hasSuppressedMessages;
+import static com.googlecode.catchexception.apis.CatchExceptionHamcrestMatchers.hasSuppressedTypes;
+import static com.googlecode.catchexception.apis.CatchExceptionHamcrestMatchers.hasType;
+import static com.googlecode.catchexception.apis.CatchExceptionHamcrestMatchers.hasValue;
+import static com.googlecode.catchexception.apis.CatchExceptionHamcrestMatchers.isFailure;
+import static com.googlecode.catchexception.apis.CatchExceptionHamcrestMatchers.isSuccess;
+import static com.googlecode.catchexception.apis.CatchExceptionHamcrestMatchers.matchesSpec;
+import static com.googlecode.catchexception.apis.CatchExceptionHamcrestMatchers.thrownFrom;
+import static com.googlecode.catchexception.apis.CatchExceptionHamcrestMatchers.thrownWithin;
 import static org.hamcrest.CoreMatchers.allOf;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.isA;
+import static org.hamcrest.CoreMatchers.not;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
+import com.googlecode.catchexception.CatchException;
+import com.googlecode.catchexception.ExceptionSpec;
+import com.googlecode.catchexception.Result;
 import com.googlecode.catchexception.apis.CatchExceptionHamcrestMatchers;
 import com.googlecode.catchexception.matcher.Find;
 
@@ -143,6 +173,28 @@ public class CatchExceptionHamcrestMatchersTest {
         }
     }
 
+    @Test
+    public void testMatcher_hasMessage_hugeMessage() {
+
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            text.append("line ").append(i).append('\n');
+        }
+        String expected = text.toString();
+        String actual = expected.replace("line 50000\n", "line 5OOOO\n");
+
+        try {
+            assertThat(new IllegalStateException(actual), hasMessage(expected));
+            throw new RuntimeException("AssertionError expected");
+        } catch (AssertionError e) {
+            assertTrue(e.getMessage().length() < expected.length() / 10);
+            assertThat(e.getMessage(), containsString("chars omitted]..."));
+            assertThat(e.getMessage(), containsString("first difference at index "
+                    + (expected.indexOf("line 50000\n") + 6) + ": expected ..."));
+            assertThat(e.getMessage(), containsString("line 5OOOO"));
+        }
+    }
+
     @Test
     public void testMatcher_hasMessage_equalByStringMatcher() {
 
@@ -234,4 +286,428 @@ public class CatchExceptionHamcrestMatchersTest {
         }
 
     }
+
+    @Test
+    public void testMatcher_result() {
+
+        Result<Integer> success = attempt(() -> Integer.parseInt("42"));
+        Result<Integer> failure = attempt(() -> Integer.parseInt("x"));
+
+        assertThat(success, isSuccess());
+        assertThat(success, hasValue(is(42)));
+        assertThat(failure, isFailure());
+        assertThat(failure, hasException(hasType(NumberFormatException.class)));
+
+        try {
+            assertThat(failure, hasValue(is(42)));
+            throw new RuntimeException("AssertionError expected");
+        } catch (AssertionError e) {
+            assertMessage(e.getMessage(), "Expected: a successful result with value is <42>",
+                    "but: was a failed result with exception"
+                            + " <java.lang.NumberFormatException: For input string: \"x\">");
+        }
+
+        try {
+            assertThat(success, hasException(hasType(NumberFormatException.class)));
+            throw new RuntimeException("AssertionError expected");
+        } catch (AssertionError e) {
+            assertMessage(e.getMessage(),
+                    "Expected: a failed result with exception has type java.lang.NumberFormatException",
+                    "but: was a successful result with value <42>");
+        }
+    }
+
+    @Test
+    public void testMatcher_matchesSpec() {
+
+        ExceptionSpec spec = ExceptionSpec.of(IndexOutOfBoundsException.class).withNoCause();
+        assertThat(caughtException(), matchesSpec(spec));
+
+        try {
+            assertThat(caughtException(), matchesSpec(spec.withMessage("something went wrong")));
+            throw new RuntimeException("AssertionError expected");
+        } catch (AssertionError e) {
+            if (!e.getMessage().contains(expectedMessageJdk9on)) {
+                assertMessage(e.getMessage(),
+                    "Expected: an exception matching java.lang.IndexOutOfBoundsException"
+                            + " with message \"something went wrong\" with no cause",
+                    "but: message was \"Index: 9, Size: 9\"");
+            }
+        }
+    }
+
+    /**
+     * Counts the calls of {@link #getMessage()}.
+     */
+    private static class CountingRuntimeException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private int messageCalls;
+
+        CountingRuntimeException(String message, Throwable cause) {
+            super(message, cause);
+        }
+
+        @Override
+        public String getMessage() {
+            messageCalls++;
+            return super.getMessage();
+        }
+    }
+
+    @Test
+    public void testMatcher_exceptionOfType() {
+
+        CountingRuntimeException thrown = new CountingRuntimeException("computed",
+                new IllegalStateException(new IllegalArgumentException()));
+        org.hamcrest.Matcher<Exception> matcher = exceptionOfType(CountingRuntimeException.class)
+                .withMessageThat(containsString("comp"))
+                .withCauseChain(IllegalStateException.class, RuntimeException.class);
+
+        assertThat(thrown, matcher);
+        assertEquals(1, thrown.messageCalls);
+
+        assertThat(caughtException(), exceptionOfType(IndexOutOfBoundsException.class).withNoCause());
+
+        try {
+            assertThat(thrown, exceptionOfType(RuntimeException.class)
+                    .withMessage("computed")
+                    .withNoCause());
+            throw new RuntimeException("AssertionError expected");
+        } catch (AssertionError e) {
+            assertMessage(e.getMessage(),
+                    "Expected: an exception of type java.lang.RuntimeException"
+                            + " with a message that is \"computed\" with no cause",
+                    "but: cause 0 was java.lang.IllegalStateException: java.lang.IllegalArgumentException");
+        }
+
+        // the message is read once to match and once to describe the mismatch
+        thrown.messageCalls = 0;
+        try {
+            assertThat(thrown, exceptionOfType(RuntimeException.class).withMessage("other"));
+            throw new RuntimeException("AssertionError expected");
+        } catch (AssertionError e) {
+            assertEquals(2, thrown.messageCalls);
+            assertMessage(e.getMessage(),
+                    "Expected: an exception of type java.lang.RuntimeException with a message that is \"other\"",
+                    "but: message was \"computed\"");
+        }
+
+        try {
+            assertThat(thrown, exceptionOfType(RuntimeException.class).withCauseChain(IllegalStateException.class,
+                    IllegalArgumentException.class, IllegalArgumentException.class));
+            throw new RuntimeException("AssertionError expected");
+        } catch (AssertionError e) {
+            assertMessage(e.getMessage(),
+                    "Expected: an exception of type java.lang.RuntimeException"
+                            + " with cause chain [java.lang.IllegalStateException,"
+                            + " java.lang.IllegalArgumentException, java.lang.IllegalArgumentException]",
+                    "but: cause chain ended after 2 causes");
+        }
+    }
+
+    @Test
+    public void testMatcher_hasMessageMatching() {
+
+        assertThat(caughtException(), hasMessageMatching("Index:? 9.*9"));
+        assertThat(new IllegalStateException("a1b"), hasMessageMatching("a\\db"));
+
+        try {
+            assertThat(new IllegalStateException("a1b"), hasMessageMatching("\\d"));
+            throw new RuntimeException("AssertionError expected");
+        } catch (AssertionError e) {
+            assertMessage(e.getMessage(), "Expected: has a message matching \"\\\\d\"",
+                    "but: message was \"a1b\"");
+        }
+    }
+
+    @Test
+    public void testMatcher_hasMessageFinding() {
+
+        assertThat(caughtException(), hasMessageFinding("\\d+"));
+        assertThat(new IllegalStateException("a1b"), hasMessageFinding("\\d"));
+
+        try {
+            assertThat(new IllegalStateException(), hasMessageFinding("\\d"));
+            throw new RuntimeException("AssertionError expected");
+        } catch (AssertionError e) {
+            assertMessage(e.getMessage(), "Expected: has a message containing a match for \"\\\\d\"",
+                    "but: message was null");
+        }
+    }
+
+    @Test
+    public void testMatcher_hasMessageFinding_parallel() {
+
+        org.hamcrest.Matcher<Exception> matcher = hasMessageFinding("^item \\d+$");
+
+        assertEquals(10_000, IntStream.range(0, 10_000).parallel()
+                .filter(i -> matcher.matches(new IllegalStateException("item " + i))
+                        && !matcher.matches(new IllegalStateException("item " + i + "x")))
+                .count());
+    }
+
+    @Test
+    public void testMatcher_hasMessageTemplate() {
+
+        IllegalStateException thrown = new IllegalStateException("Index: 9, Size: 10");
+        assertThat(thrown, hasMessageTemplate("Index: {}, Size: {}"));
+        assertThat(thrown, hasMessageTemplate("Index: {}, Size: {}").withInt(0, 9).withLong(1, 10L));
+
+        try {
+            assertThat(thrown, hasMessageTemplate("Index: {}, Size: {}").withInt(0, 9).withInt(1, 9));
+            throw new RuntimeException("AssertionError expected");
+        } catch (AssertionError e) {
+            assertMessage(e.getMessage(),
+                    "Expected: has a message like \"Index: {}, Size: {}\" with placeholder 0 = 9"
+                            + " and placeholder 1 = 9",
+                    "but: placeholder 1 was \"10\"");
+        }
+
+        try {
+            assertThat(thrown, hasMessageTemplate("Size: {}"));
+            throw new RuntimeException("AssertionError expected");
+        } catch (AssertionError e) {
+            assertMessage(e.getMessage(), "Expected: has a message like \"Size: {}\"",
+                    "but: message was \"Index: 9, Size: 10\"");
+        }
+    }
+
+    @Test
+    public void testMatcher_hasMessageContainingAnyOf() {
+
+        assertThat(new IllegalStateException("ushers"), hasMessageContainingAnyOf("he", "she", "his", "hers"));
+        assertThat(new IllegalStateException("ahishers"), hasMessageContainingAllOf("he", "she", "his", "hers"));
+        assertThat(new IllegalStateException("E1002 failed"),
+                not(hasMessageContainingAnyOf(Arrays.asList("E1001", "E1003"))));
+
+        try {
+            assertThat(new IllegalStateException("ushers"), hasMessageContainingAllOf("he", "she", "his", "hers"));
+            throw new RuntimeException("AssertionError expected");
+        } catch (AssertionError e) {
+            assertMessage(e.getMessage(),
+                    "Expected: has a message containing all of [\"he\", \"she\", \"his\", \"hers\"]",
+                    "but: message was \"ushers\" missing [\"his\"]");
+        }
+    }
+
+    @Test
+    public void testMatcher_hasMessageContainingAnyOf_sameAsContains() {
+
+        Random random = new Random(42);
+        List<String> codes = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            codes.add(randomText(random, 2 + random.nextInt(4)));
+        }
+        org.hamcrest.Matcher<Exception> any = hasMessageContainingAnyOf(codes);
+        org.hamcrest.Matcher<Exception> all = hasMessageContainingAllOf(codes.subList(0, 3));
+
+        for (int i = 0; i < 2_000; i++) {
+            String message = randomText(random, random.nextInt(40));
+            boolean containsAny = codes.stream().anyMatch(message::contains);
+            boolean containsAll = codes.subList(0, 3).stream().allMatch(message::contains);
+            assertEquals(message, containsAny, any.matches(new IllegalStateException(message)));
+            assertEquals(message, containsAll, all.matches(new IllegalStateException(message)));
+            assertTrue(all.matches(new IllegalStateException(codes.get(2) + message + codes.get(1) + codes.get(0))));
+        }
+    }
+
+    private static String randomText(Random random, int length) {
+        char[] text = new char[length];
+        for (int i = 0; i < length; i++) {
+            text[i] = "abc".charAt(random.nextInt(3));
+        }
+        return new String(text);
+    }
+
+    @Test
+    public void testMatcher_hasMessageContainingAnyOf_invalidPhrases() {
+
+        try {
+            hasMessageContainingAnyOf("E1", "");
+            throw new RuntimeException("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("phrases must not contain null or empty strings", e.getMessage());
+        }
+        try {
+            hasMessageContainingAllOf();
+            throw new RuntimeException("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("phrases must not be empty", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testMatcher_causeChain() {
+
+        IllegalStateException root = new IllegalStateException("timeout");
+        RuntimeException middle = new RuntimeException("query failed", root);
+        IllegalArgumentException top = new IllegalArgumentException("save failed", middle);
+
+        assertThat(top, hasCause(RuntimeException.class));
+        assertThat(top, not(hasCause(IllegalStateException.class)));
+        assertThat(top, hasRootCause(IllegalStateException.class));
+        assertThat(top, not(hasRootCause(IllegalArgumentException.class)));
+        assertThat(top, hasRootCause(hasMessage("timeout")));
+        assertThat(top, hasCauseInChain(hasMessage("query failed")));
+        assertThat(top, hasCauseInChain(instanceOf(IllegalStateException.class)));
+        assertThat(top, hasCauseInChain(instanceOf(IllegalStateException.class), 2));
+        assertThat(top, not(hasCauseInChain(instanceOf(IllegalStateException.class), 1)));
+        assertThat(root, not(hasCauseInChain(instanceOf(Throwable.class))));
+        assertThat(root, not(hasRootCause(Throwable.class)));
+
+        try {
+            assertThat(top, hasCauseInChain(hasMessage("disk full"), 5));
+            throw new RuntimeException("AssertionError expected");
+        } catch (AssertionError e) {
+            assertMessage(e.getMessage(),
+                    "Expected: has a cause in its chain that has a message that is \"disk full\" within <5> levels",
+                    "but: cause chain was java.lang.RuntimeException -> java.lang.IllegalStateException");
+        }
+    }
+
+    @Test
+    public void testMatcher_causeChain_cycle() {
+
+        // causes can form a cycle via initCause()
+        IllegalStateException first = new IllegalStateException("first");
+        RuntimeException second = new RuntimeException("second", first);
+        IllegalArgumentException top = new IllegalArgumentException("top", second);
+        first.initCause(top);
+
+        assertThat(top, hasCauseInChain(hasMessage("first")));
+        assertThat(top, hasCauseInChain(hasMessage("top")));
+        assertThat(top, not(hasCauseInChain(hasMessage("none"))));
+        assertThat(top, not(hasRootCause(Throwable.class)));
+
+        for (int length = 2; length < 20; length++) {
+            Exception head = new Exception("0");
+            Exception last = head;
+            for (int i = 1; i < length; i++) {
+                Exception next = new Exception(String.valueOf(i));
+                last.initCause(next);
+                last = next;
+            }
+            last.initCause(head);
+            assertThat(head, hasCauseInChain(hasMessage(String.valueOf(length - 1))));
+            assertThat(head, not(hasCauseInChain(hasMessage("none"))));
+        }
+
+        try {
+            assertThat(top, hasCauseInChain(hasMessage("none")));
+            throw new RuntimeException("AssertionError expected");
+        } catch (AssertionError e) {
+            assertThat(e.getMessage(), containsString("(cycle)"));
+        }
+    }
+
+    @Test
+    public void testMatcher_suppressed() {
+
+        IllegalStateException primary = new IllegalStateException("write failed");
+        assertThat(primary, hasSuppressedCount(0));
+        assertThat(primary, hasSuppressedTypes());
+        primary.addSuppressed(new java.io.IOException("close failed"));
+        primary.addSuppressed(new IllegalArgumentException("flush failed"));
+
+        assertThat(primary, hasSuppressedCount(2));
+        assertThat(primary, not(hasSuppressedCount(1)));
+        assertThat(primary, hasSuppressedTypes(java.io.IOException.class, RuntimeException.class));
+        assertThat(primary, not(hasSuppressedTypes(RuntimeException.class, java.io.IOException.class)));
+        assertThat(primary, not(hasSuppressedTypes(java.io.IOException.class)));
+        assertThat(primary, hasSuppressedMessages("close failed", "flush failed"));
+        assertThat(primary, not(hasSuppressedMessages("flush failed", "close failed")));
+        assertThat(primary, hasSuppressed(hasMessage("flush failed")));
+        assertThat(primary, not(hasSuppressed(hasMessage("write failed"))));
+
+        try {
+            assertThat(primary, hasSuppressedMessages("close failed"));
+            throw new RuntimeException("AssertionError expected");
+        } catch (AssertionError e) {
+            assertMessage(e.getMessage(),
+                    "Expected: has suppressed exceptions with the messages [\"close failed\"]",
+                    "but: suppressed exceptions were [java.io.IOException: close failed,"
+                            + " java.lang.IllegalArgumentException: flush failed]");
+        }
+        try {
+            assertThat(new IllegalStateException(), hasSuppressedCount(1));
+            throw new RuntimeException("AssertionError expected");
+        } catch (AssertionError e) {
+            assertMessage(e.getMessage(), "Expected: has <1> suppressed exceptions",
+                    "but: had no suppressed exceptions");
+        }
+    }
+
+    @Test
+    public void testMatcher_thrownFrom() {
+
+        // thrown by ArrayList.get(), called from a lambda of this class
+        assertThat(caughtException(), thrownFrom(CatchExceptionHamcrestMatchersTest.class));
+        assertThat(caughtException(), thrownFrom(ArrayList.class, "get"));
+        assertThat(caughtException(), not(thrownFrom(ArrayList.class, "add")));
+        assertThat(caughtException(), not(thrownFrom(CatchException.class)));
+        assertThat(caughtException(), thrownWithin("java.util"));
+        assertThat(caughtException(), thrownWithin("com.googlecode.catchexception.test"));
+        assertThat(caughtException(), not(thrownWithin("com.googlecode.catchexception.test.apis.other")));
+        assertThat(caughtException(), not(thrownWithin("org.junit")));
+
+        catchException(() -> validate(""));
+        assertThat(caughtException(), thrownFrom(CatchExceptionHamcrestMatchersTest.class, "validate"));
+        assertThat(caughtException(), not(thrownFrom(CatchExceptionHamcrestMatchersTest.class, "setup")));
+
+        try {
+            assertThat(caughtException(), thrownFrom(CatchException.class, "catchException"));
+            throw new RuntimeException("AssertionError expected");
+        } catch (AssertionError e) {
+            assertThat(e.getMessage(), containsString("Expected: thrown from "
+                    + CatchException.class.getName() + ".catchException"));
+            assertThat(e.getMessage(), containsString("but: was thrown from "
+                    + CatchExceptionHamcrestMatchersTest.class.getName() + ".validate("));
+        }
+    }
+
+    private static void validate(String value) {
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException("value must not be empty");
+        }
+    }
+
+    @Test
+    public void testMatcher_thrownFrom_helperFrame() {
+
+        // thrown by the helper, called by the validator
+        catchException(() -> validateViaHelper(""));
+        assertThat(caughtException(), thrownFrom(CatchExceptionHamcrestMatchersTest.class, "validateViaHelper"));
+        assertThat(caughtException(), thrownFrom(Preconditions.class, "checkArgument"));
+
+        // a chain of two helpers exceeds the default depth
+        catchException(() -> validateViaHelpers(""));
+        assertThat(caughtException(), not(thrownFrom(CatchExceptionHamcrestMatchersTest.class, "validateViaHelpers")));
+        assertThat(caughtException(), thrownFrom(CatchExceptionHamcrestMatchersTest.class, "validateViaHelpers", 3));
+    }
+
+    private static void validateViaHelper(String value) {
+        Preconditions.checkArgument(!value.isEmpty(), "value must not be empty");
+    }
+
+    private static void validateViaHelpers(String value) {
+        Preconditions.checkNotEmpty(value);
+    }
+
+    /**
+     * A helper like Guava's Preconditions.
+     */
+    private static class Preconditions {
+
+        static void checkArgument(boolean expression, String message) {
+            if (!expression) {
+                throw new IllegalArgumentException(message);
+            }
+        }
+
+        static void checkNotEmpty(String value) {
+            checkArgument(!value.isEmpty(), "value must not be empty");
+        }
+    }
 }
@@ -0,0 +1,139 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.test.apis;
+
+import static com.googlecode.catchexception.apis.BDDCatchException.caughtException;
+import static com.googlecode.catchexception.apis.BDDCatchException.caughtProperty;
+import static com.googlecode.catchexception.apis.BDDCatchException.when;
+import static com.googlecode.catchexception.apis.CatchExceptionHamcrestMatchers.hasProperty;
+import static com.googlecode.catchexception.apis.ExceptionProperties.property;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.function.Function;
+
+import org.junit.Test;
+
+import com.googlecode.catchexception.MyException;
+import com.googlecode.catchexception.apis.ExceptionProperties;
+
+/**
+ * Tests {@link ExceptionProperties}.
+ */
+@SuppressWarnings("javadoc")
+public class ExceptionPropertiesTest {
+
+    static class ContextException extends IllegalStateException {
+
+        private static final long serialVersionUID = 1L;
+
+        public final String tenant = "acme";
+
+        public boolean isRetryable() {
+            return true;
+        }
+
+        public String region() {
+            return "eu";
+        }
+    }
+
+    @Test
+    public void testGet() {
+
+        assertEquals(42, ExceptionProperties.get(new MyException(42), "errorCode"));
+        assertEquals("boom", ExceptionProperties.get(new IllegalStateException("boom"), "message"));
+
+        // a non-public class with a boolean getter, a record-style accessor and a public field
+        ContextException exception = new ContextException();
+        assertEquals(true, ExceptionProperties.get(exception, "retryable"));
+        assertEquals("eu", ExceptionProperties.get(exception, "region"));
+        assertEquals("acme", ExceptionProperties.get(exception, "tenant"));
+
+        assertTrue(ExceptionProperties.hasProperty(MyException.class, "errorCode"));
+        assertFalse(ExceptionProperties.hasProperty(MyException.class, "tenant"));
+        assertFalse(ExceptionProperties.hasProperty(MyException.class, ""));
+        try {
+            ExceptionProperties.get(new MyException(42), "tenant");
+            fail("IllegalArgumentException is expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Class " + MyException.class.getName() + " has no property 'tenant'", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testHasProperty() {
+
+        assertThat(new MyException(500), hasProperty("errorCode", is(500)));
+        assertThat(new MyException(500), not(hasProperty("errorCode", is(404))));
+        assertThat(new MyException(500), not(hasProperty("tenant", is("acme"))));
+        assertThat(new ContextException(), hasProperty("tenant", is("acme")));
+
+        try {
+            assertThat(new MyException(500), hasProperty("errorCode", is(404)));
+            throw new RuntimeException("AssertionError expected");
+        } catch (AssertionError e) {
+            assertEquals("\nExpected: has a property \"errorCode\" that is <404>\n"
+                    + "     but: property \"errorCode\" was <500>", e.getMessage());
+        }
+        try {
+            assertThat(new MyException(500), hasProperty("tenant", is("acme")));
+            throw new RuntimeException("AssertionError expected");
+        } catch (AssertionError e) {
+            assertEquals("\nExpected: has a property \"tenant\" that is \"acme\"\n"
+                    + "     but: " + MyException.class.getName() + " has no property \"tenant\"", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testExtracting() {
+
+        when(() -> {
+            throw new MyException(500);
+        });
+        then(caughtProperty("errorCode")).isEqualTo(500);
+        then(caughtException()).extracting(property("errorCode")).isEqualTo(500);
+
+        when(() -> { });
+        then(caughtProperty("errorCode")).isNull();
+    }
+
+    @Test
+    public void testProperty_differentClasses() {
+
+        Function<Throwable, Object> message = property("message");
+        assertEquals("first", message.apply(new IllegalStateException("first")));
+        assertEquals("second", message.apply(new IllegalStateException("second")));
+        // the accessor of the last class is replaced when the class changes
+        assertEquals("other", message.apply(new IllegalArgumentException("other")));
+        assertEquals("third", message.apply(new IllegalStateException("third")));
+
+        Function<Throwable, Object> errorCode = property("errorCode");
+        assertEquals(500, errorCode.apply(new MyException(500)));
+        try {
+            errorCode.apply(new IllegalStateException());
+            fail("IllegalArgumentException is expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Class java.lang.IllegalStateException has no property 'errorCode'", e.getMessage());
+        }
+    }
+}
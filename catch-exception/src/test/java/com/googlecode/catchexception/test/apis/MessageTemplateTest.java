@@ -0,0 +1,111 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.test.apis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import com.googlecode.catchexception.apis.MessageTemplate;
+
+/**
+ * Tests {@link MessageTemplate}.
+ */
+@SuppressWarnings("javadoc")
+public class MessageTemplateTest {
+
+    private final MessageTemplate template = MessageTemplate.compile("Index: {}, Size: {}");
+
+    @Test
+    public void testMatches() {
+
+        assertEquals(2, template.getPlaceholderCount());
+        assertTrue(template.matches("Index: 9, Size: 9"));
+        assertTrue(template.matches("Index: , Size: "));
+        assertTrue(template.matches("Index: a, b, Size: c"));
+        assertFalse(template.matches("Index: 9, Size 9"));
+        assertFalse(template.matches("index: 9, Size: 9"));
+        assertFalse(template.matches(null));
+
+        assertTrue(MessageTemplate.compile("{} failed").matches("job 7 failed"));
+        assertFalse(MessageTemplate.compile("{} failed").matches("job 7 failed twice"));
+        assertTrue(MessageTemplate.compile("no placeholder").matches("no placeholder"));
+        assertFalse(MessageTemplate.compile("no placeholder").matches("no placeholder!"));
+        // the literal after the last placeholder must not overlap the one before
+        assertFalse(MessageTemplate.compile("ab{}b").matches("ab"));
+    }
+
+    @Test
+    public void testExtract() {
+
+        assertEquals("a, b", template.extract("Index: a, b, Size: c", 0));
+        assertEquals("c", template.extract("Index: a, b, Size: c", 1));
+        assertEquals(9, template.extractInt("Index: 9, Size: 10", 0));
+        assertEquals(10, template.extractInt("Index: 9, Size: 10", 1));
+        assertEquals(-7, template.extractInt("Index: -7, Size: +0", 0));
+        assertEquals(Long.MIN_VALUE, template.extractLong("Index: -9223372036854775808, Size: 0", 0));
+        assertEquals(Long.MAX_VALUE, template.extractLong("Index: 9223372036854775807, Size: 0", 0));
+    }
+
+    @Test
+    public void testExtract_invalid() {
+
+        try {
+            template.extractInt("Index: 2147483648, Size: 0", 0);
+            fail("NumberFormatException is expected");
+        } catch (NumberFormatException e) {
+            assertEquals("For input string: \"2147483648\"", e.getMessage());
+        }
+        try {
+            template.extractLong("Index: 9223372036854775808, Size: 0", 0);
+            fail("NumberFormatException is expected");
+        } catch (NumberFormatException e) {
+            assertEquals("For input string: \"9223372036854775808\"", e.getMessage());
+        }
+        try {
+            template.extractInt("Index: -, Size: 0", 0);
+            fail("NumberFormatException is expected");
+        } catch (NumberFormatException e) {
+            assertEquals("For input string: \"-\"", e.getMessage());
+        }
+        try {
+            template.extractInt("Size: 0", 0);
+            fail("IllegalArgumentException is expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("message \"Size: 0\" does not match Index: {}, Size: {}", e.getMessage());
+        }
+        try {
+            template.extract("Index: 9, Size: 9", 2);
+            fail("IndexOutOfBoundsException is expected");
+        } catch (IndexOutOfBoundsException e) {
+            assertEquals("placeholder 2 of Index: {}, Size: {}", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testCompile_adjacentPlaceholders() {
+
+        try {
+            MessageTemplate.compile("{}{}");
+            fail("IllegalArgumentException is expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("adjacent placeholders are not supported: {}{}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.throwable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The outcome of a batch of catches, see
+ * {@link CatchThrowable#catchAll(Iterable, Class)} and
+ * {@link CatchThrowable#verifyAll(Iterable, Class)}.
+ * <p>
+ * The inputs of a batch are identified by their index (zero-based, in
+ * iteration order).
+ *
+ * @since 2.0
+ */
+public final class BatchResult {
+
+    /**
+     * The maximum number of indices that are listed by {@link #toString()}.
+     */
+    private static final int MAX_LISTED_INDICES = 20;
+
+    private final Class<? extends Throwable> expectedType;
+
+    private final int size;
+
+    private final int caughtCount;
+
+    private final int[] notThrownIndices;
+
+    private final int[] unexpectedIndices;
+
+    private final Map<Class<? extends Throwable>, Integer> histogram;
+
+    BatchResult(Class<? extends Throwable> expectedType, int size, int caughtCount, int[] notThrownIndices,
+            int[] unexpectedIndices, Map<Class<? extends Throwable>, Integer> histogram) {
+        this.expectedType = expectedType;
+        this.size = size;
+        this.caughtCount = caughtCount;
+        this.notThrownIndices = notThrownIndices;
+        this.unexpectedIndices = unexpectedIndices;
+        this.histogram = Collections.unmodifiableMap(new LinkedHashMap<>(histogram));
+    }
+
+    /**
+     * @return Returns the expected type of the throwables.
+     */
+    public Class<? extends Throwable> getExpectedType() {
+        return expectedType;
+    }
+
+    /**
+     * @return Returns the number of inputs.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Returns the number of inputs that threw a throwable of the
+     *         expected type.
+     */
+    public int getCaughtCount() {
+        return caughtCount;
+    }
+
+    /**
+     * @return Returns the number of inputs that did not throw a throwable.
+     */
+    public int getNotThrownCount() {
+        return notThrownIndices.length;
+    }
+
+    /**
+     * @return Returns the number of inputs that threw a throwable of another
+     *         than the expected type.
+     */
+    public int getUnexpectedCount() {
+        return unexpectedIndices.length;
+    }
+
+    /**
+     * @return Returns the ascending indices of the inputs that did not throw a
+     *         throwable.
+     */
+    public int[] getNotThrownIndices() {
+        return notThrownIndices.clone();
+    }
+
+    /**
+     * @return Returns the ascending indices of the inputs that threw a
+     *         throwable of another than the expected type.
+     */
+    public int[] getUnexpectedIndices() {
+        return unexpectedIndices.clone();
+    }
+
+    /**
+     * @return Returns the number of thrown throwables per type (of the expected
+     *         type and of other types).
+     */
+    public Map<Class<? extends Throwable>, Integer> getHistogram() {
+        return histogram;
+    }
+
+    /**
+     * @return Returns true if every input threw a throwable of the expected
+     *         type.
+     */
+    public boolean isAllCaught() {
+        return caughtCount == size;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(caughtCount).append(" of ").append(size).append(" inputs threw a throwable of type ")
+                .append(expectedType.getName()).append('.');
+        if (notThrownIndices.length > 0) {
+            sb.append(" No throwable was thrown by the inputs at ");
+            appendIndices(sb, notThrownIndices);
+            sb.append('.');
+        }
+        if (unexpectedIndices.length > 0) {
+            sb.append(" Throwables of other types were thrown by the inputs at ");
+            appendIndices(sb, unexpectedIndices);
+            sb.append('.');
+        }
+        if (!histogram.isEmpty()) {
+            sb.append(" Thrown: ").append(histogram);
+        }
+        return sb.toString();
+    }
+
+    private static void appendIndices(StringBuilder sb, int[] indices) {
+        if (indices.length <= MAX_LISTED_INDICES) {
+            sb.append(Arrays.toString(indices));
+        } else {
+            String listed = Arrays.toString(Arrays.copyOf(indices, MAX_LISTED_INDICES));
+            sb.append(listed, 0, listed.length() - 1).append(", ... (").append(indices.length).append(" in total)]");
+        }
+    }
+
+}
@@ -15,6 +15,15 @@
  */
 package com.googlecode.catchexception.throwable;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
 /**
  * @author rwoo
  * @since 1.2.0
@@ -123,6 +132,332 @@ public class CatchThrowable {
         catchThrowable(actor, clazz, false);
     }
 
+    /**
+     * Use it to check whether an actor throws a throwable, e.g. to filter generated inputs.
+     *
+     * In contrast to {@link #catchThrowable(ThrowingCallable)} the caught throwable is neither stored for
+     * {@link #caughtThrowable()} nor is the stored throwable reset, so the check does not write to the thread-local
+     * holder and does not retain the throwable.
+     *
+     * @param actor The actor to call. Must not be <code>null</code>.
+     * @return Returns true if the actor throws a throwable.
+     */
+    public static boolean throwsThrowable(ThrowingCallable actor) {
+        return throwsThrowable(actor, Throwable.class);
+    }
+
+    /**
+     * Use it to check whether an actor throws a throwable of a specific type, e.g. to filter generated inputs:
+     * <code>inputs.stream().filter(input -&gt; !throwsThrowable(() -&gt; decode(input), AssertionError.class))</code>
+     * In contrast to {@link #catchThrowable(ThrowingCallable, Class)} the caught throwable is neither stored for
+     * {@link #caughtThrowable()} nor is the stored throwable reset, and a throwable of another type is not rethrown.
+     *
+     * @param actor The actor to call. Must not be <code>null</code>.
+     * @param clazz The type of the throwable. Must not be <code>null</code>.
+     * @return Returns true if the actor throws a throwable of the given type. Returns false if the actor throws no
+     * throwable or a throwable of another type.
+     */
+    public static boolean throwsThrowable(ThrowingCallable actor, Class<? extends Throwable> clazz) {
+        validateArguments(actor, clazz);
+        return clazz.isInstance(ThrowableCaptor.captureThrowable(actor));
+    }
+
+    /**
+     * Use it to catch the throwables of a batch of actors, e.g. to check that many bad inputs are rejected.
+     *
+     * Every actor is called once in iteration order. In contrast to {@link #catchThrowable(ThrowingCallable, Class)}
+     * neither throwables of the expected type nor throwables of other types are stored for {@link #caughtThrowable()}
+     * or rethrown. Instead the returned {@link BatchResult} counts them per type and names the indices of the actors
+     * that did not throw a throwable of the expected type. A <code>null</code> actor is rejected with an
+     * {@link IllegalArgumentException} before it would be called.
+     *
+     * @param actors The actors to call. Must not be <code>null</code>.
+     * @param clazz  The type of the throwable that shall be thrown by each actor. Must not be <code>null</code>.
+     * @return Returns the outcome of the batch.
+     */
+    public static BatchResult catchAll(Iterable<? extends ThrowingCallable> actors, Class<? extends Throwable> clazz) {
+        validateArguments(actors, clazz);
+        BatchAccumulator accumulator = new BatchAccumulator(clazz);
+        int index = 0;
+        for (ThrowingCallable actor : actors) {
+            accumulator.record(index++, ThrowableCaptor.captureThrowable(requireActor(actor)));
+        }
+        return accumulator.toResult();
+    }
+
+    /**
+     * @param actors The actors to call. Must not be <code>null</code>.
+     * @param clazz  The type of the throwable that shall be thrown by each actor. Must not be <code>null</code>.
+     * @return Returns the outcome of the batch.
+     * @see #catchAll(Iterable, Class)
+     */
+    public static BatchResult catchAll(ThrowingCallable[] actors, Class<? extends Throwable> clazz) {
+        validateArguments(actors, clazz);
+        for (ThrowingCallable actor : actors) {
+            requireActor(actor);
+        }
+        return catchAll(Arrays.asList(actors), clazz);
+    }
+
+    /**
+     * @param actors The actors to call. Must not be <code>null</code>.
+     * @param clazz  The type of the throwable that shall be thrown by each actor. Must not be <code>null</code>.
+     * @return Returns the outcome of the batch.
+     * @see #catchAll(Iterable, Class)
+     */
+    public static BatchResult catchAll(Stream<? extends ThrowingCallable> actors, Class<? extends Throwable> clazz) {
+        validateArguments(actors, clazz);
+        // the actors are checked one by one before they are called
+        Stream<ThrowingCallable> checked = actors.map(CatchThrowable::requireActor);
+        return catchAll(checked::iterator, clazz);
+    }
+
+    /**
+     * Use it to catch the throwables that a single action throws for a batch of inputs.
+     *
+     * @param <T>    the type of the inputs
+     * @param inputs The inputs to pass to the action. Must not be <code>null</code>.
+     * @param action The action to call for each input. Must not be <code>null</code>.
+     * @param clazz  The type of the throwable that shall be thrown for each input. Must not be <code>null</code>.
+     * @return Returns the outcome of the batch.
+     * @see #catchAll(Iterable, Class)
+     */
+    public static <T> BatchResult catchAll(Iterable<T> inputs, ThrowingConsumer<? super T> action,
+                                           Class<? extends Throwable> clazz) {
+        validateArguments(inputs, clazz);
+        validateArguments(action, clazz);
+        BatchAccumulator accumulator = new BatchAccumulator(clazz);
+        int index = 0;
+        for (T input : inputs) {
+            accumulator.record(index++, ThrowableCaptor.captureThrowable(action, input));
+        }
+        return accumulator.toResult();
+    }
+
+    /**
+     * @param <T>    the type of the inputs
+     * @param inputs The inputs to pass to the action. Must not be <code>null</code>.
+     * @param action The action to call for each input. Must not be <code>null</code>.
+     * @param clazz  The type of the throwable that shall be thrown for each input. Must not be <code>null</code>.
+     * @return Returns the outcome of the batch.
+     * @see #catchAll(Iterable, ThrowingConsumer, Class)
+     */
+    public static <T> BatchResult catchAll(Stream<T> inputs, ThrowingConsumer<? super T> action,
+                                           Class<? extends Throwable> clazz) {
+        validateArguments(inputs, clazz);
+        return catchAll(inputs::iterator, action, clazz);
+    }
+
+    /**
+     * Use it to verify that each actor of a batch throws a throwable of the expected type.
+     *
+     * If at least one actor does not throw a throwable of the expected type, then a
+     * {@link ThrowableNotThrownAssertionError} is thrown that describes the {@link BatchResult outcome} of the batch.
+     * Like {@link #catchAll(Iterable, Class)} this method does not touch {@link #caughtThrowable()}.
+     *
+     * @param actors The actors to call. Must not be <code>null</code>.
+     * @param clazz  The type of the throwable that shall be thrown by each actor. Must not be <code>null</code>.
+     * @return Returns the outcome of the batch.
+     */
+    public static BatchResult verifyAll(Iterable<? extends ThrowingCallable> actors, Class<? extends Throwable> clazz) {
+        return verify(catchAll(actors, clazz));
+    }
+
+    /**
+     * @param actors The actors to call. Must not be <code>null</code>.
+     * @param clazz  The type of the throwable that shall be thrown by each actor. Must not be <code>null</code>.
+     * @return Returns the outcome of the batch.
+     * @see #verifyAll(Iterable, Class)
+     */
+    public static BatchResult verifyAll(ThrowingCallable[] actors, Class<? extends Throwable> clazz) {
+        return verify(catchAll(actors, clazz));
+    }
+
+    /**
+     * @param actors The actors to call. Must not be <code>null</code>.
+     * @param clazz  The type of the throwable that shall be thrown by each actor. Must not be <code>null</code>.
+     * @return Returns the outcome of the batch.
+     * @see #verifyAll(Iterable, Class)
+     */
+    public static BatchResult verifyAll(Stream<? extends ThrowingCallable> actors, Class<? extends Throwable> clazz) {
+        return verify(catchAll(actors, clazz));
+    }
+
+    /**
+     * @param <T>    the type of the inputs
+     * @param inputs The inputs to pass to the action. Must not be <code>null</code>.
+     * @param action The action to call for each input. Must not be <code>null</code>.
+     * @param clazz  The type of the throwable that shall be thrown for each input. Must not be <code>null</code>.
+     * @return Returns the outcome of the batch.
+     * @see #verifyAll(Iterable, Class)
+     */
+    public static <T> BatchResult verifyAll(Iterable<T> inputs, ThrowingConsumer<? super T> action,
+                                            Class<? extends Throwable> clazz) {
+        return verify(catchAll(inputs, action, clazz));
+    }
+
+    /**
+     * @param <T>    the type of the inputs
+     * @param inputs The inputs to pass to the action. Must not be <code>null</code>.
+     * @param action The action to call for each input. Must not be <code>null</code>.
+     * @param clazz  The type of the throwable that shall be thrown for each input. Must not be <code>null</code>.
+     * @return Returns the outcome of the batch.
+     * @see #verifyAll(Iterable, Class)
+     */
+    public static <T> BatchResult verifyAll(Stream<T> inputs, ThrowingConsumer<? super T> action,
+                                            Class<? extends Throwable> clazz) {
+        return verify(catchAll(inputs, action, clazz));
+    }
+
+    /**
+     * Use it to catch the throwables that a single action throws for a large batch of inputs on all cores.
+     *
+     * The inputs are split across the threads of the {@link ForkJoinPool#commonPool() common pool}. Each worker
+     * collects the outcome of its share of the inputs separately and the outcomes are merged at the end, so the
+     * workers do not contend. The action must be thread-safe. The returned {@link BatchResult} is the same as the one
+     * {@link #catchAll(Iterable, ThrowingConsumer, Class)} returns.
+     *
+     * @param <T>    the type of the inputs
+     * @param inputs The inputs to pass to the action. Must not be <code>null</code>.
+     * @param action The action to call for each input. Must not be <code>null</code>.
+     * @param clazz  The type of the throwable that shall be thrown for each input. Must not be <code>null</code>.
+     * @return Returns the outcome of the batch.
+     */
+    public static <T> BatchResult catchAllParallel(List<T> inputs, ThrowingConsumer<? super T> action,
+                                                   Class<? extends Throwable> clazz) {
+        return collectParallel(inputs, action, clazz, null);
+    }
+
+    /**
+     * @param <T>    the type of the inputs
+     * @param inputs The inputs to pass to the action. Must not be <code>null</code>.
+     * @param action The action to call for each input. Must not be <code>null</code>.
+     * @param clazz  The type of the throwable that shall be thrown for each input. Must not be <code>null</code>.
+     * @param pool   The pool whose threads call the action. Must not be <code>null</code>.
+     * @return Returns the outcome of the batch.
+     * @see #catchAllParallel(List, ThrowingConsumer, Class)
+     */
+    public static <T> BatchResult catchAllParallel(List<T> inputs, ThrowingConsumer<? super T> action,
+                                                   Class<? extends Throwable> clazz, ForkJoinPool pool) {
+        if (pool == null) throw new IllegalArgumentException("pool must not be null");
+        return collectParallel(inputs, action, clazz, pool);
+    }
+
+    /**
+     * @param actors The actors to call. Must not be <code>null</code>.
+     * @param clazz  The type of the throwable that shall be thrown by each actor. Must not be <code>null</code>.
+     * @return Returns the outcome of the batch.
+     * @see #catchAllParallel(List, ThrowingConsumer, Class)
+     */
+    public static BatchResult catchAllParallel(List<? extends ThrowingCallable> actors,
+                                               Class<? extends Throwable> clazz) {
+        validateArguments(actors, clazz);
+        for (ThrowingCallable actor : actors) {
+            requireActor(actor);
+        }
+        return collectParallel(actors, ThrowingCallable::call, clazz, null);
+    }
+
+    /**
+     * Use it to verify on all cores that an action throws a throwable of the expected type for each input of a large
+     * batch.
+     *
+     * @param <T>    the type of the inputs
+     * @param inputs The inputs to pass to the action. Must not be <code>null</code>.
+     * @param action The action to call for each input. Must not be <code>null</code>.
+     * @param clazz  The type of the throwable that shall be thrown for each input. Must not be <code>null</code>.
+     * @return Returns the outcome of the batch.
+     * @see #catchAllParallel(List, ThrowingConsumer, Class)
+     * @see #verifyAll(Iterable, Class)
+     */
+    public static <T> BatchResult verifyAllParallel(List<T> inputs, ThrowingConsumer<? super T> action,
+                                                    Class<? extends Throwable> clazz) {
+        return verify(catchAllParallel(inputs, action, clazz));
+    }
+
+    /**
+     * @param <T>    the type of the inputs
+     * @param inputs The inputs to pass to the action. Must not be <code>null</code>.
+     * @param action The action to call for each input. Must not be <code>null</code>.
+     * @param clazz  The type of the throwable that shall be thrown for each input. Must not be <code>null</code>.
+     * @param pool   The pool whose threads call the action. Must not be <code>null</code>.
+     * @return Returns the outcome of the batch.
+     * @see #verifyAllParallel(List, ThrowingConsumer, Class)
+     */
+    public static <T> BatchResult verifyAllParallel(List<T> inputs, ThrowingConsumer<? super T> action,
+                                                    Class<? extends Throwable> clazz, ForkJoinPool pool) {
+        return verify(catchAllParallel(inputs, action, clazz, pool));
+    }
+
+    /**
+     * @param actors The actors to call. Must not be <code>null</code>.
+     * @param clazz  The type of the throwable that shall be thrown by each actor. Must not be <code>null</code>.
+     * @return Returns the outcome of the batch.
+     * @see #verifyAllParallel(List, ThrowingConsumer, Class)
+     */
+    public static BatchResult verifyAllParallel(List<? extends ThrowingCallable> actors,
+                                                Class<? extends Throwable> clazz) {
+        return verify(catchAllParallel(actors, clazz));
+    }
+
+    /**
+     * Use it to catch the throwables of a large batch of blocking actors, e.g. actors that do I/O before they throw.
+     *
+     * Each actor is called on its own thread, but at most <code>maxConcurrency</code> actors run at the same time. On
+     * Java 21 and later the actors run on virtual threads, so thousands of blocking actors do not exhaust the platform
+     * threads. On older runtimes they run on a pool of <code>maxConcurrency</code> platform threads. The actors must be
+     * thread-safe. The returned {@link BatchResult} is the same as the one {@link #catchAll(Iterable, Class)} returns.
+     *
+     * @param actors         The actors to call. Must not be <code>null</code>.
+     * @param maxConcurrency The maximum number of actors that run at the same time. Must be positive.
+     * @param clazz          The type of the throwable that shall be thrown by each actor. Must not be
+     *                       <code>null</code>.
+     * @return Returns the outcome of the batch.
+     */
+    public static BatchResult catchAllConcurrent(Iterable<? extends ThrowingCallable> actors, int maxConcurrency,
+                                                 Class<? extends Throwable> clazz) {
+        validateArguments(actors, clazz);
+        if (maxConcurrency < 1) throw new IllegalArgumentException("maxConcurrency must be positive");
+        return ConcurrentBatch.run(actors, maxConcurrency, clazz);
+    }
+
+    /**
+     * Use it to verify that each actor of a large batch of blocking actors throws a throwable of the expected type.
+     *
+     * @param actors         The actors to call. Must not be <code>null</code>.
+     * @param maxConcurrency The maximum number of actors that run at the same time. Must be positive.
+     * @param clazz          The type of the throwable that shall be thrown by each actor. Must not be
+     *                       <code>null</code>.
+     * @return Returns the outcome of the batch.
+     * @see #catchAllConcurrent(Iterable, int, Class)
+     * @see #verifyAll(Iterable, Class)
+     */
+    public static BatchResult verifyAllConcurrent(Iterable<? extends ThrowingCallable> actors, int maxConcurrency,
+                                                  Class<? extends Throwable> clazz) {
+        return verify(catchAllConcurrent(actors, maxConcurrency, clazz));
+    }
+
+    private static <T> BatchResult collectParallel(List<T> inputs, ThrowingConsumer<? super T> action,
+                                                   Class<? extends Throwable> clazz, ForkJoinPool pool) {
+        validateArguments(inputs, clazz);
+        validateArguments(action, clazz);
+        // the inputs are accessed by index
+        List<T> list = inputs instanceof RandomAccess ? inputs : new ArrayList<>(inputs);
+        Supplier<BatchAccumulator> batch = () -> IntStream.range(0, list.size()).parallel().collect(
+                () -> new BatchAccumulator(clazz),
+                (accumulator, index) -> accumulator.record(index,
+                        ThrowableCaptor.captureThrowable(action, list.get(index))),
+                BatchAccumulator::merge);
+        return (pool == null ? batch.get() : pool.submit(batch::get).join()).toResult();
+    }
+
+    private static BatchResult verify(BatchResult result) {
+        if (!result.isAllCaught()) {
+            throw new ThrowableNotThrownAssertionError(result);
+        }
+        return result;
+    }
+
     private static void catchThrowable(ThrowingCallable actor,
                                        Class<? extends Throwable> clazz, boolean assertException) {
         resetCaughtThrowable();
@@ -136,7 +471,7 @@ public class CatchThrowable {
         }
         // is the thrown exception of the expected type?
         if (clazz.isAssignableFrom(throwable.getClass())) {
-            ThrowableHolder.set(throwable);
+            ThrowableHolder.set(ThrowableCaptor.retain(throwable));
         } else {
             if (assertException) {
                 throw new ThrowableNotThrownAssertionError(clazz, throwable);
@@ -146,11 +481,34 @@ public class CatchThrowable {
         }
     }
 
-    private static void validateArguments(ThrowingCallable actor, Class<? extends Throwable> clazz) {
+    private static ThrowingCallable requireActor(ThrowingCallable actor) {
+        if (actor == null) throw new IllegalArgumentException("actor must not be null");
+        return actor;
+    }
+
+    private static void validateArguments(Object actor, Class<? extends Throwable> clazz) {
         if (actor == null) throw new IllegalArgumentException("obj must not be null");
         if (clazz == null) throw new IllegalArgumentException("throwableClazz must not be null");
     }
 
+    /**
+     * Estimates the heap memory retained by the {@link #caughtThrowable() caught throwable} of the current thread,
+     * including its causes, suppressed throwables, messages and stack traces. The retention of caught throwables can
+     * be configured via the system properties <code>catchthrowable.holder.retention</code> and
+     * <code>catchthrowable.holder.expireAfterMillis</code>.
+     * Their stack traces can be trimmed to the frames above the call site via
+     * <code>catchthrowable.stacktrace=callsite</code> and/or to a maximum number of frames via
+     * <code>catchthrowable.stacktrace.maxDepth</code>.
+     *
+     * Note that the stack traces of the throwables are materialized to count their frames, i.e. the throwables retain
+     * the {@link StackTraceElement StackTraceElements} after the call.
+     *
+     * @return Returns the estimated number of bytes. Returns 0 when no throwable was caught.
+     */
+    public static long estimateRetainedBytes() {
+        return ThrowableFootprint.estimate(ThrowableHolder.get());
+    }
+
     /**
      * Sets the {@link #caughtThrowable() caught throwable} to null. This does not affect throwables saved at threads
      * other than the current one.
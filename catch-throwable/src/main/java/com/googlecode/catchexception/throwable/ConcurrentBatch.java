@@ -0,0 +1,141 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.throwable;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs each actor of a batch on its own thread while at most a given number
+ * of actors run at the same time.
+ *
+ * On Java 21 and later every actor gets its own virtual thread, so blocking
+ * actors do not tie up platform threads. On older runtimes the actors run on
+ * a fixed pool of platform threads whose size is the concurrency limit.
+ */
+class ConcurrentBatch {
+
+    /**
+     * <code>Executors.newVirtualThreadPerTaskExecutor()</code> or null if the
+     * runtime does not support virtual threads.
+     */
+    private static final Method VIRTUAL_THREAD_PER_TASK = findVirtualThreadPerTask();
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private static Method findVirtualThreadPerTask() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return Returns true if the actors run on virtual threads.
+     */
+    static boolean isVirtual() {
+        return VIRTUAL_THREAD_PER_TASK != null;
+    }
+
+    /**
+     * @param maxConcurrency
+     *            the number of platform threads to use if virtual threads are
+     *            not supported
+     * @return Returns a new executor that shall be shut down by the caller.
+     */
+    static ExecutorService newExecutor(int maxConcurrency) {
+        if (VIRTUAL_THREAD_PER_TASK != null) {
+            try {
+                return (ExecutorService) VIRTUAL_THREAD_PER_TASK.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                // fall back to platform threads
+            }
+        }
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "catch-throwable-batch-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(maxConcurrency, threadFactory);
+    }
+
+    /**
+     * @param actors
+     *            the actors to call
+     * @param maxConcurrency
+     *            the maximum number of actors that run at the same time
+     * @param clazz
+     *            the expected type of the throwables
+     * @return Returns the outcome of the batch.
+     */
+    static BatchResult run(Iterable<? extends ThrowingCallable> actors, int maxConcurrency,
+                           Class<? extends Throwable> clazz) {
+        List<ThrowingCallable> list = new ArrayList<>();
+        for (ThrowingCallable actor : actors) {
+            if (actor == null) throw new IllegalArgumentException("actor must not be null");
+            list.add(actor);
+        }
+        int size = list.size();
+
+        Throwable[] caught = new Throwable[size];
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(size);
+        Semaphore permits = new Semaphore(maxConcurrency);
+        ExecutorService executor = newExecutor(Math.max(1, Math.min(maxConcurrency, size)));
+        try {
+            for (int i = 0; i < size; i++) {
+                int index = i;
+                ThrowingCallable actor = list.get(index);
+                permits.acquire();
+                executor.execute(() -> {
+                    try {
+                        caught[index] = ThrowableCaptor.captureThrowable(actor);
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        permits.release();
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the actors of the batch", e);
+        } finally {
+            executor.shutdownNow();
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+
+        // the latch makes the captured throwables visible to this thread
+        BatchAccumulator accumulator = new BatchAccumulator(clazz);
+        for (int i = 0; i < size; i++) {
+            accumulator.record(i, caught[i]);
+        }
+        return accumulator.toResult();
+    }
+}
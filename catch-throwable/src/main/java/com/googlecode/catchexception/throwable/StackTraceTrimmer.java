@@ -0,0 +1,150 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.throwable;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.googlecode.catchexception.throwable.apis.BDDCatchThrowable;
+
+/**
+ * Trims the stack traces of caught throwables before they are stored in the
+ * {@link ThrowableHolder}. Caught throwables often carry hundreds of frames of
+ * test runner and reflection plumbing that are never inspected.
+ * <p>
+ * The trimming is configured via system properties:
+ * <ul>
+ * <li>{@value #MODE_PROPERTY}: <code>full</code> (default) keeps all frames,
+ * <code>callsite</code> keeps the frames above the call of
+ * <code>catchThrowable()</code> (resp. <code>verifyThrowable()</code>, ...)
+ * and the frame of the call site itself,
+ * <li>{@value #MAX_DEPTH_PROPERTY}: the maximum number of frames that are kept,
+ * default <code>0</code> (unlimited).
+ * </ul>
+ * The causes and suppressed throwables of the caught throwable are trimmed
+ * the same way.
+ * <p>
+ * The trimming calls {@link Throwable#setStackTrace(StackTraceElement[])} on
+ * the caught throwable itself, i.e. it does not trim a copy. A test that
+ * rethrows the caught throwable rethrows the trimmed stack trace, so the
+ * removed frames are lost for good.
+ */
+class StackTraceTrimmer {
+
+    static final String MODE_PROPERTY = "catchthrowable.stacktrace";
+
+    static final String MAX_DEPTH_PROPERTY = "catchthrowable.stacktrace.maxDepth";
+
+    /**
+     * The maximum nesting of causes and suppressed throwables that are
+     * trimmed. This also guards against cyclic cause chains.
+     */
+    private static final int MAX_NESTING = 32;
+
+    /**
+     * The classes of this library that appear between the frame of the call
+     * site and the frame of the {@link ThrowableCaptor}.
+     */
+    private static final Set<String> LIBRARY_CLASSES = new HashSet<>(Arrays.asList(ThrowableCaptor.class.getName(),
+            CatchThrowable.class.getName(), BDDCatchThrowable.class.getName()));
+
+    /**
+     * The trimmer configured via the system properties.
+     */
+    static final StackTraceTrimmer DEFAULT = new StackTraceTrimmer("callsite".equals(System.getProperty(
+            MODE_PROPERTY, "full")), Integer.getInteger(MAX_DEPTH_PROPERTY, 0));
+
+    private final boolean callSite;
+
+    private final int maxDepth;
+
+    /**
+     * @param callSite
+     *            true if the frames below the call site shall be removed
+     * @param maxDepth
+     *            the maximum number of frames that are kept, 0 for unlimited
+     */
+    StackTraceTrimmer(boolean callSite, int maxDepth) {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("maxDepth must not be negative");
+        }
+        this.callSite = callSite;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * @return Returns true if this trimmer removes any frames at all.
+     */
+    boolean isEnabled() {
+        return callSite || maxDepth > 0;
+    }
+
+    /**
+     * Trims the stack trace of the given throwable and of its causes and
+     * suppressed throwables.
+     *
+     * @param throwable
+     *            the throwable to trim
+     */
+    void trim(Throwable throwable) {
+        trim(throwable, 0);
+    }
+
+    private void trim(Throwable throwable, int nesting) {
+        if (throwable == null || nesting > MAX_NESTING) {
+            return;
+        }
+        StackTraceElement[] stackTrace = throwable.getStackTrace();
+        StackTraceElement[] trimmed = callSite ? aboveCallSite(stackTrace) : stackTrace;
+        if (maxDepth > 0 && trimmed.length > maxDepth) {
+            trimmed = Arrays.copyOf(trimmed, maxDepth);
+        }
+        if (trimmed != stackTrace) {
+            throwable.setStackTrace(trimmed);
+        }
+        for (Throwable suppressed : throwable.getSuppressed()) {
+            trim(suppressed, nesting + 1);
+        }
+        trim(throwable.getCause(), nesting + 1);
+    }
+
+    /**
+     * @return Returns the frames above the {@link ThrowableCaptor} followed by
+     *         the frame of the call site, i.e. the first frame below the
+     *         library frames. Returns the given stack trace if the throwable
+     *         has not been thrown through the {@link ThrowableCaptor}.
+     */
+    private static StackTraceElement[] aboveCallSite(StackTraceElement[] stackTrace) {
+        int captor = 0;
+        String captorName = ThrowableCaptor.class.getName();
+        while (captor < stackTrace.length && !captorName.equals(stackTrace[captor].getClassName())) {
+            captor++;
+        }
+        int callSite = captor;
+        while (callSite < stackTrace.length && LIBRARY_CLASSES.contains(stackTrace[callSite].getClassName())) {
+            callSite++;
+        }
+        if (callSite >= stackTrace.length - 1) {
+            // nothing to trim
+            return stackTrace;
+        }
+        StackTraceElement[] trimmed = Arrays.copyOf(stackTrace, captor + 1);
+        trimmed[captor] = stackTrace[callSite];
+        return trimmed;
+    }
+
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.throwable;
+
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds a caught throwable {@link ThreadLocal per Thread}. This is the default
+ * {@link ThrowableHolderStrategy}.
+ * <p>
+ * By default the caught throwable is referenced strongly until the next
+ * catch in the same thread. Long-lived pooled threads (e.g. surefire with
+ * reused forks or parallel ForkJoin workers) would retain the last throwable
+ * of every worker that way, so the retention can be configured via system
+ * properties:
+ * <ul>
+ * <li>{@value #RETENTION_PROPERTY}: <code>strong</code> (default),
+ * <code>soft</code> (the garbage collector may clear the throwable under memory
+ * pressure) or <code>weak</code> (the garbage collector may clear the throwable
+ * as soon as the test no longer references it, so the test should keep the
+ * result of <code>caughtThrowable()</code> in a local variable if it inspects
+ * the throwable more than once),
+ * <li>{@value #EXPIRE_AFTER_MILLIS_PROPERTY}: a caught throwable that is older
+ * than the given number of milliseconds is no longer returned and its
+ * reference is dropped, default <code>0</code> (never expire).
+ * </ul>
+ */
+class ThreadLocalThrowableHolderStrategy implements ThrowableHolderStrategy {
+
+    static final String RETENTION_PROPERTY = "catchthrowable.holder.retention";
+
+    static final String EXPIRE_AFTER_MILLIS_PROPERTY = "catchthrowable.holder.expireAfterMillis";
+
+    /**
+     * How a caught throwable is referenced by the holder.
+     */
+    enum Retention {
+        STRONG, SOFT, WEAK
+    }
+
+    /**
+     * A caught throwable that is referenced softly, weakly or that expires.
+     */
+    private static final class Capture {
+
+        private final Throwable strongReference;
+
+        private final Reference<Throwable> reference;
+
+        private final long capturedAt;
+
+        private Capture(Throwable throwable, Retention retention, long capturedAt) {
+            this.strongReference = retention == Retention.STRONG ? throwable : null;
+            this.reference = retention == Retention.SOFT ? new SoftReference<>(throwable)
+                    : retention == Retention.WEAK ? new WeakReference<>(throwable) : null;
+            this.capturedAt = capturedAt;
+        }
+
+        private Throwable get() {
+            return reference == null ? strongReference : reference.get();
+        }
+    }
+
+    /**
+     * The container for the most recently caught throwable, either the
+     * {@link Throwable} itself or a {@link Capture}.
+     */
+    private final ThreadLocal<Object> caughtThrowable = new ThreadLocal<>();
+
+    private final Retention retention;
+
+    private final long expireAfterNanos;
+
+    ThreadLocalThrowableHolderStrategy() {
+        this(retention(System.getProperty(RETENTION_PROPERTY, "strong")), Long.getLong(EXPIRE_AFTER_MILLIS_PROPERTY,
+                0));
+    }
+
+    /**
+     * @param retention
+     *            how a caught throwable is referenced
+     * @param expireAfterMillis
+     *            the time after which a caught throwable is dropped, 0 to
+     *            never expire
+     */
+    ThreadLocalThrowableHolderStrategy(Retention retention, long expireAfterMillis) {
+        if (retention == null) {
+            throw new IllegalArgumentException("retention must not be null");
+        }
+        if (expireAfterMillis < 0) {
+            throw new IllegalArgumentException("expireAfterMillis must not be negative");
+        }
+        this.retention = retention;
+        this.expireAfterNanos = TimeUnit.MILLISECONDS.toNanos(expireAfterMillis);
+    }
+
+    /**
+     * @param name
+     *            <code>strong</code>, <code>soft</code> or <code>weak</code>
+     * @return Returns the retention with the given name.
+     */
+    static Retention retention(String name) {
+        for (Retention retention : Retention.values()) {
+            if (retention.name().equals(name.toUpperCase(Locale.ROOT))) {
+                return retention;
+            }
+        }
+        throw new IllegalStateException("Unknown retention '" + name + "' given by the system property "
+                + RETENTION_PROPERTY + ", expected strong, soft or weak");
+    }
+
+    @Override
+    public Throwable get() {
+        Object caught = caughtThrowable.get();
+        if (!(caught instanceof Capture)) {
+            return (Throwable) caught;
+        }
+        Capture capture = (Capture) caught;
+        Throwable throwable = capture.get();
+        if (throwable == null || (expireAfterNanos != 0 && System.nanoTime() - capture.capturedAt > expireAfterNanos)) {
+            caughtThrowable.set(null);
+            return null;
+        }
+        return throwable;
+    }
+
+    @Override
+    public void set(Throwable caughtThrowable) {
+        if (caughtThrowable == null || (retention == Retention.STRONG && expireAfterNanos == 0)) {
+            // the common case must not allocate
+            this.caughtThrowable.set(caughtThrowable);
+            return;
+        }
+        this.caughtThrowable.set(new Capture(caughtThrowable, retention, System.nanoTime()));
+    }
+
+}
@@ -26,4 +26,30 @@ class ThrowableCaptor {
             return caught;
         }
     }
+
+    public static <T> Throwable captureThrowable(ThrowingConsumer<? super T> throwableThrower, T input) {
+        try {
+            throwableThrower.accept(input);
+            // not exception was thrown
+            return null;
+        } catch (Throwable caught) {
+            return caught;
+        }
+    }
+
+    /**
+     * Trims the stack trace of the given throwable as configured for the
+     * {@link StackTraceTrimmer#DEFAULT default trimmer}.
+     *
+     * @param caught
+     *            a throwable of the expected type
+     * @return Returns what shall be stored in the {@link ThrowableHolder} for
+     *         the given throwable.
+     */
+    static Throwable retain(Throwable caught) {
+        if (StackTraceTrimmer.DEFAULT.isEnabled()) {
+            StackTraceTrimmer.DEFAULT.trim(caught);
+        }
+        return caught;
+    }
 }
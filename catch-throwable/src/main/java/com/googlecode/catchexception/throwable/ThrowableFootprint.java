@@ -0,0 +1,83 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.throwable;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Estimates the heap memory that is retained by a caught throwable.
+ * <p>
+ * The estimate covers the throwable objects reachable via
+ * {@link Throwable#getCause() causes} and {@link Throwable#getSuppressed()
+ * suppressed exceptions}, their messages and their stack traces. It assumes a
+ * 64-bit JVM with compressed references and does not include fields declared
+ * by custom throwable classes.
+ * <p>
+ * The stack traces are counted via {@link Throwable#getStackTrace()}. Until
+ * this is called the JVM keeps the frames of a throwable in a compact internal
+ * form. The call turns them into {@link StackTraceElement} objects that the
+ * throwable caches and retains from then on, so the estimate reflects the
+ * footprint after the first access of the stack trace, e.g. by a test that
+ * prints it. Captures trimmed by <code>catchthrowable.stacktrace</code> have
+ * materialized their stack traces already.
+ */
+class ThrowableFootprint {
+
+    private static final int THROWABLE_BYTES = 40;
+
+    private static final int STACK_TRACE_ELEMENT_BYTES = 56;
+
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    private static final int STRING_BYTES = 24;
+
+    private static final int REFERENCE_BYTES = 4;
+
+    /**
+     * @param throwable
+     *            the throwable to inspect, may be null
+     * @return Returns the estimated number of bytes retained by the given
+     *         throwable. Returns 0 if the throwable is null.
+     */
+    static long estimate(Throwable throwable) {
+        return estimate(throwable, Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    private static long estimate(Throwable throwable, Set<Throwable> visited) {
+        if (throwable == null || !visited.add(throwable)) {
+            return 0;
+        }
+        long bytes = THROWABLE_BYTES + estimate(throwable.getMessage());
+        StackTraceElement[] stackTrace = throwable.getStackTrace();
+        bytes += align(ARRAY_HEADER_BYTES + (long) REFERENCE_BYTES * stackTrace.length);
+        bytes += (long) STACK_TRACE_ELEMENT_BYTES * stackTrace.length;
+        for (Throwable suppressed : throwable.getSuppressed()) {
+            bytes += estimate(suppressed, visited);
+        }
+        return bytes + estimate(throwable.getCause(), visited);
+    }
+
+    private static long estimate(String string) {
+        return string == null ? 0 : STRING_BYTES + align(ARRAY_HEADER_BYTES + 2L * string.length());
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+}
@@ -15,10 +15,9 @@
  */
 package com.googlecode.catchexception.throwable;
 
-import java.lang.ref.WeakReference;
-
 /**
- * Holds a caught throwable {@link ThreadLocal per Thread}.
+ * Holds the most recently caught throwable. Delegates to the {@link ThrowableHolderStrategy} that is selected at
+ * startup via the system property {@value #STRATEGY_PROPERTY}.
  * 
  * @author rwoo
  * 
@@ -26,15 +25,42 @@ import java.lang.ref.WeakReference;
 class ThrowableHolder {
 
     /**
-     * The container for the most recently caught throwable.
-     * <p>
-     * There is no need to use {@link WeakReference weak references} here as all
-     * the code is for testing so that we don't have to care about memory leaks.
+     * The system property that selects the {@link ThrowableHolderStrategy}.
+     */
+    static final String STRATEGY_PROPERTY = "catchthrowable.holder";
+
+    /**
+     * The name of the default strategy that holds a caught throwable {@link ThreadLocal per Thread}.
      */
-    private static final ThreadLocal<Throwable> caughtThrowable = new ThreadLocal<>();
+    static final String THREAD_LOCAL = "threadlocal";
+
+    /**
+     * The strategy that holds the most recently caught throwable. It is final so that the JIT can inline the calls.
+     */
+    private static final ThrowableHolderStrategy strategy = createStrategy(System.getProperty(STRATEGY_PROPERTY,
+            THREAD_LOCAL));
+
+    /**
+     * @param name
+     *            {@value #THREAD_LOCAL} or the fully qualified name of a {@link ThrowableHolderStrategy}
+     *            implementation
+     * @return Returns a new instance of the strategy with the given name.
+     */
+    static ThrowableHolderStrategy createStrategy(String name) {
+        if (THREAD_LOCAL.equals(name)) {
+            return new ThreadLocalThrowableHolderStrategy();
+        }
+        try {
+            return Class.forName(name, true, ThrowableHolder.class.getClassLoader())
+                    .asSubclass(ThrowableHolderStrategy.class).getConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalStateException("Cannot create the strategy '" + name + "' given by the system property "
+                    + STRATEGY_PROPERTY, e);
+        }
+    }
 
     /**
-     * Saves the given throwable in {@link #caughtThrowable}.
+     * Saves the given throwable via the selected {@link ThrowableHolderStrategy}.
      * 
      * @param <E>
      *            the type of the caught throwable
@@ -42,7 +68,7 @@ class ThrowableHolder {
      *            the caught throwable
      */
     public static <E extends Throwable> void set(E caughtThrowable) {
-        ThrowableHolder.caughtThrowable.set(caughtThrowable);
+        strategy.set(caughtThrowable);
     }
 
     /**
@@ -53,7 +79,7 @@ class ThrowableHolder {
      */
     @SuppressWarnings("unchecked")
     public static <E extends Throwable> E get() {
-        return (E) caughtThrowable.get();
+        return (E) strategy.get();
     }
 
 }
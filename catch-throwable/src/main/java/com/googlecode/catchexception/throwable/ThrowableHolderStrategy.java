@@ -0,0 +1,47 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.throwable;
+
+/**
+ * Stores the most recently caught throwable on behalf of {@link CatchThrowable}.
+ * <p>
+ * The default strategy keeps the throwable in a {@link ThreadLocal}. Test runners that execute tests on virtual
+ * threads or bind a context object per test (e.g. via <code>ScopedValue</code> on Java 21+) can provide their own
+ * implementation. The strategy is selected once at startup via the system property
+ * <code>catchthrowable.holder</code>: either <code>threadlocal</code> (the default) or the fully qualified name of a
+ * class that implements this interface and has a public no-arg constructor.
+ * <p>
+ * Implementations must be thread-safe. {@link #set(Throwable)} and {@link #get()} are called on every catch, so they
+ * should not allocate.
+ *
+ * @since 2.0
+ */
+public interface ThrowableHolderStrategy {
+
+    /**
+     * @return Returns the caught throwable. Returns null if there is no throwable caught.
+     */
+    Throwable get();
+
+    /**
+     * Saves the given throwable.
+     *
+     * @param caughtThrowable
+     *            the caught throwable or null to reset the caught throwable
+     */
+    void set(Throwable caughtThrowable);
+
+}
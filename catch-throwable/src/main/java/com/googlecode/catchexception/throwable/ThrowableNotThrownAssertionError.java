@@ -15,10 +15,18 @@
  */
 package com.googlecode.catchexception.throwable;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 
+import com.googlecode.catchexception.throwable.apis.internal.MessageAbbreviator;
+
 /**
  * Thrown if a method has not thrown an throwable of the expected type.
+ * <p>
+ * The message is built on the first call of {@link #getMessage()}. The
+ * throwable that has been thrown instead of the expected one is attached as
+ * {@link #getCause() cause}.
  * 
  * @author rwoo
  * @since 16.09.2011
@@ -30,6 +38,16 @@ public class ThrowableNotThrownAssertionError extends AssertionError {
      */
     private static final long serialVersionUID = 7044423604241785057L;
 
+    /**
+     * The expectation that is not met, either a {@link Class} or a {@link BatchResult}.
+     */
+    private final transient Object expected;
+
+    /**
+     * The message, null until it is requested the first time.
+     */
+    private String message;
+
     /**
      * Use this constructor if neither an throwable of the expected type nor another throwable is thrown.
      * 
@@ -39,8 +57,7 @@ public class ThrowableNotThrownAssertionError extends AssertionError {
      *            the type of the throwable that is not thrown.
      */
     public <E extends Throwable> ThrowableNotThrownAssertionError(Class<E> clazz) {
-        super(clazz == Throwable.class ? "Throwable expected but not thrown" : "Neither a throwable of type "
-                + clazz.getName() + " nor another throwable was thrown");
+        this(clazz, null);
     }
 
     /**
@@ -54,7 +71,109 @@ public class ThrowableNotThrownAssertionError extends AssertionError {
      *            the throwable that has been thrown instead of the expected one.
      */
     public <E extends Throwable> ThrowableNotThrownAssertionError(Class<E> clazz, Throwable e) {
-        super("Throwable of type " + clazz.getName() + " expected but was not thrown. "
-                + "Instead a throwable of type " + e.getClass() + " with message '" + e.getMessage() + "' was thrown.");
+        this((Object) clazz, e);
+    }
+
+    /**
+     * Use this constructor if not every input of a batch has thrown a throwable of the expected type.
+     * 
+     * @param result
+     *            the outcome of the batch
+     */
+    public ThrowableNotThrownAssertionError(BatchResult result) {
+        this(result, null);
+    }
+
+    private ThrowableNotThrownAssertionError(Object expected, Throwable e) {
+        super();
+        this.expected = expected;
+        if (e != null) {
+            initCause(e);
+        }
+    }
+
+    /**
+     * Creates an error that does not fill in its stack trace. Use it if the error serves as control flow and is not
+     * reported to the user.
+     * 
+     * @param clazz
+     *            the type of the throwable that is not thrown.
+     * @param e
+     *            the throwable that has been thrown instead of the expected one, null if no throwable has been thrown.
+     * @return Returns an error without a stack trace.
+     */
+    public static ThrowableNotThrownAssertionError withoutStackTrace(Class<? extends Throwable> clazz, Throwable e) {
+        return new Stackless(clazz, e);
+    }
+
+    /**
+     * Creates an error that does not fill in its stack trace. Use it if the error serves as control flow and is not
+     * reported to the user.
+     * 
+     * @param result
+     *            the outcome of the batch
+     * @return Returns an error without a stack trace.
+     */
+    public static ThrowableNotThrownAssertionError withoutStackTrace(BatchResult result) {
+        return new Stackless(result, null);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see java.lang.Throwable#getMessage()
+     */
+    @Override
+    public String getMessage() {
+        String result = message;
+        if (result == null) {
+            result = describe(getCause());
+            message = result;
+        }
+        return result;
+    }
+
+    private String describe(Throwable e) {
+        if (expected instanceof BatchResult) {
+            BatchResult result = (BatchResult) expected;
+            return "Throwable of type " + result.getExpectedType().getName()
+                    + " expected but not thrown by all inputs. " + result;
+        }
+        Class<?> clazz = (Class<?>) expected;
+        if (e == null) {
+            return clazz == Throwable.class ? "Throwable expected but not thrown" : "Neither a throwable of type "
+                    + clazz.getName() + " nor another throwable was thrown";
+        }
+        return "Throwable of type " + clazz.getName() + " expected but was not thrown. "
+                + "Instead a throwable of type " + e.getClass() + " with message '"
+                + MessageAbbreviator.abbreviate(e.getMessage()) + "' was thrown.";
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        // the expectation is transient, so the message must be built now
+        getMessage();
+        out.defaultWriteObject();
+    }
+
+    /**
+     * An error that does not fill in its stack trace.
+     */
+    private static final class Stackless extends ThrowableNotThrownAssertionError {
+
+        private static final long serialVersionUID = -2712468338520512497L;
+
+        Stackless(Object expected, Throwable e) {
+            super(expected, e);
+        }
+
+        /*
+         * (non-Javadoc)
+         * 
+         * @see java.lang.Throwable#fillInStackTrace()
+         */
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
     }
 }
@@ -15,6 +15,10 @@
  */
 package com.googlecode.catchexception.throwable.apis;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import com.googlecode.catchexception.throwable.CatchThrowable;
 import com.googlecode.catchexception.throwable.ThrowingCallable;
 
@@ -73,6 +77,43 @@ public class BDDCatchThrowable {
     public static <T extends Throwable> T caughtThrowable(Class<T> caughtThrowableType) {
         return CatchThrowable.caughtThrowable(caughtThrowableType);
     }
+
+    /**
+     * Returns the throwables that were {@link Throwable#getSuppressed() suppressed} by the throwable caught during the
+     * last call in the current thread, e.g. failures of <code>close()</code> in a try-with-resources statement.
+     * <p>
+     * EXAMPLE:
+     * <code>then(caughtSuppressed()).extracting(Throwable::getMessage).containsExactly("close failed");</code>
+     *
+     * @return Returns an unmodifiable list of the suppressed throwables in the order they have been suppressed. Returns
+     * an empty list when no throwable was caught.
+     */
+    public static List<Throwable> caughtSuppressed() {
+        Throwable caught = CatchThrowable.caughtThrowable();
+        if (caught == null) {
+            return Collections.emptyList();
+        }
+        // getSuppressed() returns a copy already, so wrap it instead of copying it again
+        return Collections.unmodifiableList(Arrays.asList(caught.getSuppressed()));
+    }
+
+    /**
+     * Returns a property of the throwable caught during the last call in the current thread, e.g. the error code of a
+     * domain exception.
+     * <p>
+     * EXAMPLE: <code>then(caughtProperty("errorCode")).isEqualTo(500);</code>
+     *
+     * @param name
+     *            the name of the property, see {@link ThrowableProperties}
+     * @return Returns the value of the property. Returns null when no throwable was caught.
+     * @throws IllegalArgumentException
+     *             if the caught throwable does not have the property
+     */
+    public static Object caughtProperty(String name) {
+        Throwable caught = CatchThrowable.caughtThrowable();
+        return caught == null ? null : ThrowableProperties.get(caught, name);
+    }
+
     /**
      * Throws an assertion if no throwable is thrown or if an throwable of an unexpected type is thrown.
      * <p>
@@ -15,11 +15,18 @@
  */
 package com.googlecode.catchexception.throwable.apis;
 
+import java.util.Arrays;
+
 import org.hamcrest.Matcher;
 import org.junit.matchers.JUnitMatchers;
 
+import com.googlecode.catchexception.throwable.apis.internal.hamcrest.ThrowableCauseMatcher;
 import com.googlecode.catchexception.throwable.apis.internal.hamcrest.ThrowableMessageMatcher;
+import com.googlecode.catchexception.throwable.apis.internal.hamcrest.ThrowableMessagePatternMatcher;
 import com.googlecode.catchexception.throwable.apis.internal.hamcrest.ThrowableNoCauseMatcher;
+import com.googlecode.catchexception.throwable.apis.internal.hamcrest.ThrowableOriginMatcher;
+import com.googlecode.catchexception.throwable.apis.internal.hamcrest.ThrowablePropertyMatcher;
+import com.googlecode.catchexception.throwable.apis.internal.hamcrest.ThrowableSuppressedMatcher;
 
 /**
  * Provides some Hamcrest {@link Matcher matchers} to match some {@link Throwable throwable} properties.
@@ -92,4 +99,359 @@ assertThat(caughtThrowable(), hasMessageThat(containsPattern("Index: \\d+"))); /
         return new ThrowableNoCauseMatcher<>();
     }
 
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtThrowable(), hasCause(SQLException.class));</code>
+     * 
+     * @param <T>
+     *            the throwable subclass
+     * @param type
+     *            the expected type of the cause
+     * @return Returns a matcher that matches the throwable if its direct
+     *         {@link Throwable#getCause() cause} is an instance of the given
+     *         type.
+     */
+    public static <T extends Throwable> org.hamcrest.Matcher<T> hasCause(Class<? extends Throwable> type) {
+        if (type == null) throw new IllegalArgumentException("type must not be null");
+        return new ThrowableCauseMatcher<>(ThrowableCauseMatcher.Scope.CAUSE, type);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtThrowable(), hasRootCause(SocketTimeoutException.class));</code>
+     * 
+     * @param <T>
+     *            the throwable subclass
+     * @param type
+     *            the expected type of the root cause
+     * @return Returns a matcher that matches the throwable if the last cause of
+     *         its cause chain is an instance of the given type.
+     */
+    public static <T extends Throwable> org.hamcrest.Matcher<T> hasRootCause(Class<? extends Throwable> type) {
+        if (type == null) throw new IllegalArgumentException("type must not be null");
+        return new ThrowableCauseMatcher<>(ThrowableCauseMatcher.Scope.ROOT_CAUSE, type);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtThrowable(), hasRootCause(hasMessage("timeout")));</code>
+     * 
+     * @param <T>
+     *            the throwable subclass
+     * @param causeMatcher
+     *            the matcher that shall match the root cause
+     * @return Returns a matcher that matches the throwable if the last cause of
+     *         its cause chain matches the given matcher.
+     */
+    public static <T extends Throwable> org.hamcrest.Matcher<T> hasRootCause(Matcher<?> causeMatcher) {
+        if (causeMatcher == null) throw new IllegalArgumentException("causeMatcher must not be null");
+        return new ThrowableCauseMatcher<>(ThrowableCauseMatcher.Scope.ROOT_CAUSE, causeMatcher, Integer.MAX_VALUE);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtThrowable(), hasCauseInChain(instanceOf(SQLException.class)));</code>
+     * 
+     * The chain is walked until the first matching cause, a cycle in the
+     * chain ends the walk.
+     * 
+     * @param <T>
+     *            the throwable subclass
+     * @param causeMatcher
+     *            the matcher that shall match a cause
+     * @return Returns a matcher that matches the throwable if any cause of its
+     *         cause chain matches the given matcher.
+     */
+    public static <T extends Throwable> org.hamcrest.Matcher<T> hasCauseInChain(Matcher<?> causeMatcher) {
+        return hasCauseInChain(causeMatcher, Integer.MAX_VALUE);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtThrowable(), hasCauseInChain(instanceOf(SQLException.class), 3));</code>
+     * 
+     * @param <T>
+     *            the throwable subclass
+     * @param causeMatcher
+     *            the matcher that shall match a cause
+     * @param maxDepth
+     *            the number of causes that are checked, 1 checks the direct
+     *            cause only
+     * @return Returns a matcher that matches the throwable if one of the first
+     *         <code>maxDepth</code> causes of its cause chain matches the
+     *         given matcher.
+     */
+    public static <T extends Throwable> org.hamcrest.Matcher<T> hasCauseInChain(Matcher<?> causeMatcher,
+            int maxDepth) {
+        if (causeMatcher == null) throw new IllegalArgumentException("causeMatcher must not be null");
+        if (maxDepth < 1) throw new IllegalArgumentException("maxDepth must be positive");
+        return new ThrowableCauseMatcher<>(ThrowableCauseMatcher.Scope.CHAIN, causeMatcher, maxDepth);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtThrowable(), hasSuppressedCount(2));</code>
+     * 
+     * @param <T>
+     *            the throwable subclass
+     * @param count
+     *            the expected number of suppressed throwables
+     * @return Returns a matcher that matches the throwable if it has the given
+     *         number of {@link Throwable#getSuppressed() suppressed}
+     *         throwables.
+     */
+    public static <T extends Throwable> org.hamcrest.Matcher<T> hasSuppressedCount(int count) {
+        if (count < 0) throw new IllegalArgumentException("count must not be negative");
+        return new ThrowableSuppressedMatcher<>(count);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtThrowable(), hasSuppressedTypes(IOException.class, SQLException.class));</code>
+     * 
+     * @param <T>
+     *            the throwable subclass
+     * @param types
+     *            the expected types of the suppressed throwables in the order
+     *            they have been suppressed
+     * @return Returns a matcher that matches the throwable if its
+     *         {@link Throwable#getSuppressed() suppressed} throwables are
+     *         instances of the given types in the given order.
+     */
+    @SafeVarargs
+    public static <T extends Throwable> org.hamcrest.Matcher<T> hasSuppressedTypes(
+            Class<? extends Throwable>... types) {
+        if (types == null || Arrays.asList(types).contains(null))
+            throw new IllegalArgumentException("types must not be null");
+        return new ThrowableSuppressedMatcher<>(types);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtThrowable(), hasSuppressedMessages("close failed", "flush failed"));</code>
+     * 
+     * @param <T>
+     *            the throwable subclass
+     * @param messages
+     *            the expected messages of the suppressed throwables in the
+     *            order they have been suppressed
+     * @return Returns a matcher that matches the throwable if its
+     *         {@link Throwable#getSuppressed() suppressed} throwables have the
+     *         given messages in the given order.
+     */
+    public static <T extends Throwable> org.hamcrest.Matcher<T> hasSuppressedMessages(String... messages) {
+        if (messages == null) throw new IllegalArgumentException("messages must not be null");
+        return new ThrowableSuppressedMatcher<>(messages);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtThrowable(), hasSuppressed(hasMessage("close failed")));</code>
+     * 
+     * @param <T>
+     *            the throwable subclass
+     * @param suppressedMatcher
+     *            the matcher that shall match a suppressed throwable
+     * @return Returns a matcher that matches the throwable if any of its
+     *         {@link Throwable#getSuppressed() suppressed} throwables matches
+     *         the given matcher.
+     */
+    public static <T extends Throwable> org.hamcrest.Matcher<T> hasSuppressed(Matcher<?> suppressedMatcher) {
+        if (suppressedMatcher == null) throw new IllegalArgumentException("suppressedMatcher must not be null");
+        return new ThrowableSuppressedMatcher<>(suppressedMatcher);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtThrowable(), thrownFrom(FastPathValidator.class));</code>
+     * 
+     * The stack trace is scanned from the top for the first frame of the given
+     * class, so a throwable thrown by a JDK method or by a helper like
+     * <code>Preconditions.checkArgument()</code> is attributed to the code that
+     * called it. At most {@link ThrowableOriginMatcher#DEFAULT_MAX_DEPTH} frames
+     * outside the JDK are scanned, see
+     * {@link #thrownFrom(Class, String, int)} for longer chains of helpers.
+     * 
+     * @param <T>
+     *            the throwable subclass
+     * @param type
+     *            the class the throwable shall be thrown from
+     * @return Returns a matcher that matches the throwable if it has been
+     *         thrown from the given class.
+     */
+    public static <T extends Throwable> org.hamcrest.Matcher<T> thrownFrom(Class<?> type) {
+        if (type == null) throw new IllegalArgumentException("type must not be null");
+        return new ThrowableOriginMatcher<>(type.getName(), null);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtThrowable(), thrownFrom(FastPathValidator.class, "validate"));</code>
+     * 
+     * @param <T>
+     *            the throwable subclass
+     * @param type
+     *            the class the throwable shall be thrown from
+     * @param methodName
+     *            the name of the method the throwable shall be thrown from
+     * @return Returns a matcher that matches the throwable if it has been
+     *         thrown from the given method, see {@link #thrownFrom(Class)}.
+     */
+    public static <T extends Throwable> org.hamcrest.Matcher<T> thrownFrom(Class<?> type, String methodName) {
+        if (type == null) throw new IllegalArgumentException("type must not be null");
+        if (methodName == null) throw new IllegalArgumentException("methodName must not be null");
+        return new ThrowableOriginMatcher<>(type.getName(), methodName);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtThrowable(), thrownFrom(FastPathValidator.class, "validate", 4));</code>
+     * 
+     * @param <T>
+     *            the throwable subclass
+     * @param type
+     *            the class the throwable shall be thrown from
+     * @param methodName
+     *            the name of the method the throwable shall be thrown from
+     * @param maxDepth
+     *            the maximum number of frames outside the JDK that are
+     *            scanned, i.e. the frame that threw, the frames of helpers
+     *            and the frame of the given method. Must be positive.
+     * @return Returns a matcher that matches the throwable if it has been
+     *         thrown from the given method, see {@link #thrownFrom(Class)}.
+     */
+    public static <T extends Throwable> org.hamcrest.Matcher<T> thrownFrom(Class<?> type, String methodName,
+            int maxDepth) {
+        if (type == null) throw new IllegalArgumentException("type must not be null");
+        if (methodName == null) throw new IllegalArgumentException("methodName must not be null");
+        return new ThrowableOriginMatcher<>(type.getName(), methodName, maxDepth);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtThrowable(), thrownWithin("com.acme.validation.fast"));</code>
+     * 
+     * @param <T>
+     *            the throwable subclass
+     * @param packageName
+     *            the package the throwable shall be thrown within, subpackages
+     *            included
+     * @return Returns a matcher that matches the throwable if it has been
+     *         thrown from a class of the given package, see
+     *         {@link #thrownFrom(Class)}.
+     */
+    public static <T extends Throwable> org.hamcrest.Matcher<T> thrownWithin(String packageName) {
+        if (packageName == null || packageName.isEmpty())
+            throw new IllegalArgumentException("packageName must not be empty");
+        return new ThrowableOriginMatcher<>(packageName);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtThrowable(), hasProperty("errorCode", is(500)));</code>
+     * 
+     * @param <T>
+     *            the throwable subclass
+     * @param name
+     *            the name of the property, see {@link ThrowableProperties}
+     * @param valueMatcher
+     *            the matcher that shall match the value of the property
+     * @return Returns a matcher that matches the throwable if it has the given
+     *         property and the value of the property matches the given
+     *         matcher.
+     */
+    public static <T extends Throwable> org.hamcrest.Matcher<T> hasProperty(String name, Matcher<?> valueMatcher) {
+        if (name == null) throw new IllegalArgumentException("name must not be null");
+        if (valueMatcher == null) throw new IllegalArgumentException("valueMatcher must not be null");
+        return new ThrowablePropertyMatcher<>(name, valueMatcher);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtThrowable(), hasMessageMatching("Index: \\d+, Size: \\d+"));</code>
+     * 
+     * The compiled expression is cached, so checking many throwables against the
+     * same expression does not compile it again.
+     * 
+     * @param <T>
+     *            the throwable subclass
+     * @param regex
+     *            the regular expression the whole message shall match
+     * @return Returns a matcher that matches a throwable if its message matches
+     *         the given regular expression.
+     */
+    public static <T extends Throwable> org.hamcrest.Matcher<T> hasMessageMatching(String regex) {
+        if (regex == null) throw new IllegalArgumentException("regex must not be null");
+        return new ThrowableMessagePatternMatcher<>(regex, false);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtThrowable(), hasMessageFinding("Size: \\d+"));</code>
+     * 
+     * The compiled expression is cached, so checking many throwables against the
+     * same expression does not compile it again.
+     * 
+     * @param <T>
+     *            the throwable subclass
+     * @param regex
+     *            the regular expression a part of the message shall match
+     * @return Returns a matcher that matches a throwable if a part of its message
+     *         matches the given regular expression.
+     */
+    public static <T extends Throwable> org.hamcrest.Matcher<T> hasMessageFinding(String regex) {
+        if (regex == null) throw new IllegalArgumentException("regex must not be null");
+        return new ThrowableMessagePatternMatcher<>(regex, true);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtThrowable(), hasMessageTemplate("Index: {}, Size: {}").withInt(1, 9));</code>
+     * 
+     * @param <T>
+     *            the throwable subclass
+     * @param template
+     *            the template the message shall match, see
+     *            {@link MessageTemplate}
+     * @return Returns a matcher that matches a throwable if its message matches
+     *         the given template.
+     */
+    public static <T extends Throwable> ThrowableMessageTemplateMatcher<T> hasMessageTemplate(String template) {
+        return hasMessageTemplate(MessageTemplate.compile(template));
+    }
+
+    /**
+     * @param <T>
+     *            the throwable subclass
+     * @param template
+     *            the template the message shall match. Must not be
+     *            <code>null</code>.
+     * @return Returns a matcher that matches a throwable if its message matches
+     *         the given template.
+     * @see #hasMessageTemplate(String)
+     */
+    public static <T extends Throwable> ThrowableMessageTemplateMatcher<T> hasMessageTemplate(MessageTemplate template) {
+        if (template == null) throw new IllegalArgumentException("template must not be null");
+        return new ThrowableMessageTemplateMatcher<>(template);
+    }
+
+    /**
+     * EXAMPLE:
+     * <code>assertThat(caughtThrowable(), throwableOfType(IndexOutOfBoundsException.class)
+     *     .withMessage("Index: 9, Size: 9")
+     *     .withNoCause());</code>
+     * 
+     * @param <T>
+     *            the throwable subclass
+     * @param expectedType
+     *            the expected type of the throwable
+     * @return Returns a matcher that checks the type, the message and the cause chain of a throwable in a single
+     *         traversal.
+     */
+    public static <T extends Throwable> CompositeThrowableMatcher<T> throwableOfType(
+            Class<? extends Throwable> expectedType) {
+        if (expectedType == null) throw new IllegalArgumentException("expectedType must not be null");
+        return new CompositeThrowableMatcher<>(expectedType);
+    }
+
 }
@@ -26,7 +26,7 @@ class CatchThrowableUtils {
     if (e == null) {
       // no throwable caught -> assertion failed
       throw new ThrowableNotThrownAssertionError(actualThrowableClazz);
-    } else if (!actualThrowableClazz.isAssignableFrom(CatchThrowable.caughtThrowable().getClass())) {
+    } else if (!actualThrowableClazz.isInstance(e)) {
       // caught throwable is of wrong type -> assertion failed
       throw new ThrowableNotThrownAssertionError(actualThrowableClazz, e);
     } else {
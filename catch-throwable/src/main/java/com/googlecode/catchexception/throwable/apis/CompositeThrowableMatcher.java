@@ -0,0 +1,206 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.throwable.apis;
+
+import java.util.Arrays;
+
+import org.hamcrest.BaseMatcher;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.StringDescription;
+
+import com.googlecode.catchexception.throwable.apis.internal.MessageAbbreviator;
+
+
+/**
+ * A {@link Matcher matcher} that checks the type, the message and the cause
+ * chain of throwable in a single traversal, see
+ * {@link CatchThrowableHamcrestMatchers#throwableOfType(Class)}.
+ * <p>
+ * In contrast to combining
+ * {@link CatchThrowableHamcrestMatchers#hasMessage(String)},
+ * {@link CatchThrowableHamcrestMatchers#hasNoCause()} and others via
+ * <code>allOf()</code> the message is read at most once per evaluation and
+ * mismatches are only described if the matcher fails. Describing a mismatch
+ * evaluates the item again. Instances are immutable and thread-safe, the
+ * <code>with</code> methods return modified copies.
+ * <p>
+ * EXAMPLE:
+ * <code>assertThat(caughtThrowable(), throwableOfType(IndexOutOfBoundsException.class)
+ *     .withMessage("Index: 9, Size: 9")
+ *     .withNoCause());</code>
+ *
+ * @param <T>
+ *            a throwable subclass
+ */
+public final class CompositeThrowableMatcher<T extends Throwable> extends BaseMatcher<T> {
+
+    private final Class<? extends Throwable> type;
+
+    /**
+     * The matcher for the message or null if any message is accepted.
+     */
+    private final Matcher<String> messageMatcher;
+
+    /**
+     * The expected types of the causes from the direct cause on or null if
+     * any cause is accepted. An empty array expects no cause.
+     */
+    private final Class<?>[] causeChain;
+
+    private CompositeThrowableMatcher(Class<? extends Throwable> type, Matcher<String> messageMatcher,
+            Class<?>[] causeChain) {
+        super();
+        this.type = type;
+        this.messageMatcher = messageMatcher;
+        this.causeChain = causeChain;
+    }
+
+    /**
+     * @param type
+     *            the expected type of the throwable
+     */
+    CompositeThrowableMatcher(Class<? extends Throwable> type) {
+        this(type, null, null);
+    }
+
+    /**
+     * @param expectedMessage
+     *            the expected message
+     * @return Returns a copy of this matcher that also expects the given
+     *         message.
+     */
+    public CompositeThrowableMatcher<T> withMessage(String expectedMessage) {
+        return new CompositeThrowableMatcher<>(type, CoreMatchers.is(expectedMessage), causeChain);
+    }
+
+    /**
+     * @param stringMatcher
+     *            a matcher for the message
+     * @return Returns a copy of this matcher that also expects a message that
+     *         is matched by the given matcher.
+     */
+    public CompositeThrowableMatcher<T> withMessageThat(Matcher<String> stringMatcher) {
+        return new CompositeThrowableMatcher<>(type, stringMatcher, causeChain);
+    }
+
+    /**
+     * @return Returns a copy of this matcher that also expects no cause.
+     */
+    public CompositeThrowableMatcher<T> withNoCause() {
+        return new CompositeThrowableMatcher<>(type, messageMatcher, new Class<?>[0]);
+    }
+
+    /**
+     * @param causeTypes
+     *            the expected types of the causes, starting with the direct
+     *            cause
+     * @return Returns a copy of this matcher that also expects a cause chain
+     *         that consists of instances of the given types in the given
+     *         order.
+     */
+    @SafeVarargs
+    public final CompositeThrowableMatcher<T> withCauseChain(Class<? extends Throwable>... causeTypes) {
+        return new CompositeThrowableMatcher<>(type, messageMatcher, causeTypes.clone());
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.hamcrest.Matcher#matches(java.lang.Object)
+     */
+    @Override
+    public boolean matches(Object obj) {
+        return check(obj) == null;
+    }
+
+    /**
+     * @param obj
+     *            the object to match
+     * @return Returns null if the given object matches. Otherwise returns the
+     *         description of the first mismatch.
+     */
+    private String check(Object obj) {
+        if (!(obj instanceof Throwable) || !type.isInstance(obj)) {
+            return "was " + MessageAbbreviator.abbreviate(String.valueOf(obj));
+        }
+        Throwable throwable = (Throwable) obj;
+        if (messageMatcher != null) {
+            String message = throwable.getMessage();
+            if (!messageMatcher.matches(message)) {
+                Description description = new StringDescription().appendText("message ");
+                messageMatcher.describeMismatch(message, description);
+                return MessageAbbreviator.abbreviate(description.toString());
+            }
+        }
+        if (causeChain != null) {
+            Throwable cause = throwable.getCause();
+            for (int i = 0; i < causeChain.length; i++) {
+                if (cause == null) {
+                    return "cause chain ended after " + i + " causes";
+                }
+                if (!causeChain[i].isInstance(cause)) {
+                    return "cause " + i + " was " + MessageAbbreviator.abbreviate(String.valueOf(cause));
+                }
+                cause = cause.getCause();
+            }
+            if (cause != null) {
+                return "cause " + causeChain.length + " was "
+                        + MessageAbbreviator.abbreviate(String.valueOf(cause));
+            }
+        }
+        return null;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.hamcrest.SelfDescribing#describeTo(org.hamcrest.Description)
+     */
+    @Override
+    public void describeTo(Description description) {
+        description.appendText("a throwable of type ").appendText(type.getName());
+        if (messageMatcher != null) {
+            description.appendText(" with a message that ").appendDescriptionOf(messageMatcher);
+        }
+        if (causeChain != null && causeChain.length == 0) {
+            description.appendText(" with no cause");
+        } else if (causeChain != null) {
+            String[] names = new String[causeChain.length];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = causeChain[i].getName();
+            }
+            description.appendText(" with cause chain ").appendText(Arrays.toString(names));
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.hamcrest.BaseMatcher#describeMismatch(java.lang.Object,
+     * org.hamcrest.Description)
+     */
+    @Override
+    public void describeMismatch(Object item, Description description) {
+        String mismatch = check(item);
+        if (mismatch == null) {
+            mismatch = "was " + MessageAbbreviator.abbreviate(String.valueOf(item));
+        }
+        description.appendText(mismatch);
+    }
+
+}
@@ -0,0 +1,262 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.throwable.apis;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A message template like <code>"Index: {}, Size: {}"</code> whose
+ * <code>{}</code> placeholders stand for any text, see
+ * {@link CatchThrowableHamcrestMatchers#hasMessageTemplate(String)}.
+ *
+ * The template is split into its literal parts once. Matching a message and
+ * extracting a placeholder value scan the message linearly, without regular
+ * expressions and without creating substrings. Create a template once and
+ * reuse it.
+ *
+ * <code>MessageTemplate template = MessageTemplate.compile("Index: {}, Size: {}");
+ * assert template.extractInt("Index: 9, Size: 9", 1) == 9;</code>
+ *
+ * A placeholder matches the shortest text up to the next literal part.
+ * Adjacent placeholders are not supported because their boundary is
+ * ambiguous.
+ */
+public final class MessageTemplate {
+
+    /**
+     * The placeholder in a template.
+     */
+    public static final String PLACEHOLDER = "{}";
+
+    /**
+     * Returned by {@link #locate(String, int)} if the message does not match.
+     */
+    private static final long MISMATCH = -1L;
+
+    private final String template;
+
+    /**
+     * The literal parts before, between and after the placeholders.
+     */
+    private final String[] literals;
+
+    private MessageTemplate(String template, String[] literals) {
+        this.template = template;
+        this.literals = literals;
+    }
+
+    /**
+     * @param template
+     *            the template. Must not be <code>null</code>.
+     * @return Returns the compiled template.
+     */
+    public static MessageTemplate compile(String template) {
+        if (template == null) throw new IllegalArgumentException("template must not be null");
+        List<String> literals = new ArrayList<>();
+        int from = 0;
+        int index;
+        while ((index = template.indexOf(PLACEHOLDER, from)) >= 0) {
+            literals.add(template.substring(from, index));
+            from = index + PLACEHOLDER.length();
+        }
+        literals.add(template.substring(from));
+        for (int i = 1; i < literals.size() - 1; i++) {
+            if (literals.get(i).isEmpty()) {
+                throw new IllegalArgumentException("adjacent placeholders are not supported: " + template);
+            }
+        }
+        return new MessageTemplate(template, literals.toArray(new String[0]));
+    }
+
+    /**
+     * @return Returns the number of placeholders.
+     */
+    public int getPlaceholderCount() {
+        return literals.length - 1;
+    }
+
+    /**
+     * @param message
+     *            the message, may be null
+     * @return Returns true if the given message matches this template.
+     */
+    public boolean matches(String message) {
+        return message != null && locate(message, -1, null) != MISMATCH;
+    }
+
+    /**
+     * Locates all placeholders of the given message in a single scan.
+     *
+     * @param message
+     *            the message, may be null
+     * @param bounds
+     *            receives the start and the end index of each placeholder,
+     *            i.e. its length must be twice the number of placeholders
+     * @return Returns true if the given message matches this template.
+     */
+    boolean locateAll(String message, int[] bounds) {
+        return message != null && locate(message, -1, bounds) != MISMATCH;
+    }
+
+    /**
+     * @param message
+     *            the message
+     * @param placeholder
+     *            the index of the placeholder, starting with 0
+     * @return Returns the text the placeholder stands for in the given
+     *         message.
+     * @throws IllegalArgumentException
+     *             if the message does not match this template
+     */
+    public String extract(String message, int placeholder) {
+        long bounds = bounds(message, placeholder);
+        return message.substring((int) (bounds >>> 32), (int) bounds);
+    }
+
+    /**
+     * @param message
+     *            the message
+     * @param placeholder
+     *            the index of the placeholder, starting with 0
+     * @return Returns the decimal <code>int</code> the placeholder stands for
+     *         in the given message.
+     * @throws IllegalArgumentException
+     *             if the message does not match this template
+     * @throws NumberFormatException
+     *             if the placeholder does not stand for an <code>int</code>
+     */
+    public int extractInt(String message, int placeholder) {
+        long bounds = bounds(message, placeholder);
+        long value = parseLong(message, (int) (bounds >>> 32), (int) bounds);
+        if (value != (int) value) {
+            throw numberFormatException(message, (int) (bounds >>> 32), (int) bounds);
+        }
+        return (int) value;
+    }
+
+    /**
+     * @param message
+     *            the message
+     * @param placeholder
+     *            the index of the placeholder, starting with 0
+     * @return Returns the decimal <code>long</code> the placeholder stands for
+     *         in the given message.
+     * @throws IllegalArgumentException
+     *             if the message does not match this template
+     * @throws NumberFormatException
+     *             if the placeholder does not stand for a <code>long</code>
+     */
+    public long extractLong(String message, int placeholder) {
+        long bounds = bounds(message, placeholder);
+        return parseLong(message, (int) (bounds >>> 32), (int) bounds);
+    }
+
+    private long bounds(String message, int placeholder) {
+        if (placeholder < 0 || placeholder >= getPlaceholderCount()) {
+            throw new IndexOutOfBoundsException("placeholder " + placeholder + " of " + template);
+        }
+        long bounds = message == null ? MISMATCH : locate(message, placeholder, null);
+        if (bounds == MISMATCH) {
+            throw new IllegalArgumentException("message \"" + message + "\" does not match " + template);
+        }
+        return bounds;
+    }
+
+    /**
+     * @param message
+     *            the message
+     * @param placeholder
+     *            the index of the placeholder to locate or -1
+     * @param bounds
+     *            receives the start and the end index of each placeholder or
+     *            null
+     * @return Returns {@link #MISMATCH} if the message does not match.
+     *         Otherwise returns the start index of the given placeholder in
+     *         the upper and the end index in the lower 32 bits.
+     */
+    private long locate(String message, int placeholder, int[] bounds) {
+        String first = literals[0];
+        if (!message.startsWith(first)) {
+            return MISMATCH;
+        }
+        int last = literals.length - 1;
+        if (last == 0) {
+            return message.length() == first.length() ? 0 : MISMATCH;
+        }
+        int position = first.length();
+        long located = 0;
+        for (int i = 1; i <= last; i++) {
+            String literal = literals[i];
+            int end;
+            if (i == last) {
+                end = message.length() - literal.length();
+                if (end < position || !message.startsWith(literal, end)) {
+                    return MISMATCH;
+                }
+            } else {
+                end = message.indexOf(literal, position);
+                if (end < 0) {
+                    return MISMATCH;
+                }
+            }
+            if (i - 1 == placeholder) {
+                located = ((long) position << 32) | end;
+            }
+            if (bounds != null) {
+                bounds[2 * i - 2] = position;
+                bounds[2 * i - 1] = end;
+            }
+            position = end + literal.length();
+        }
+        return located;
+    }
+
+    static long parseLong(String text, int start, int end) {
+        int index = start;
+        boolean negative = false;
+        if (index < end && (text.charAt(index) == '-' || text.charAt(index) == '+')) {
+            negative = text.charAt(index) == '-';
+            index++;
+        }
+        if (index == end) {
+            throw numberFormatException(text, start, end);
+        }
+        // accumulate negatively to cover Long.MIN_VALUE
+        long value = 0;
+        try {
+            for (; index < end; index++) {
+                int digit = Character.digit(text.charAt(index), 10);
+                if (digit < 0) {
+                    throw numberFormatException(text, start, end);
+                }
+                value = Math.subtractExact(Math.multiplyExact(value, 10), digit);
+            }
+            return negative ? value : Math.negateExact(value);
+        } catch (ArithmeticException e) {
+            throw numberFormatException(text, start, end);
+        }
+    }
+
+    private static NumberFormatException numberFormatException(String text, int start, int end) {
+        return new NumberFormatException("For input string: \"" + text.substring(start, end) + "\"");
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+}
@@ -0,0 +1,178 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.throwable.apis;
+
+import java.util.Arrays;
+
+import org.hamcrest.BaseMatcher;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+
+import com.googlecode.catchexception.throwable.apis.internal.MessageAbbreviator;
+
+/**
+ * A {@link Matcher matcher} that matches a throwable if its message matches a
+ * {@link MessageTemplate} and the placeholders stand for the expected
+ * numbers, see {@link CatchThrowableHamcrestMatchers#hasMessageTemplate(String)}.
+ * <p>
+ * EXAMPLE:
+ * <code>assertThat(caughtThrowable(), hasMessageTemplate("Index: {}, Size: {}").withInt(1, 9));</code>
+ * <p>
+ * Instances are immutable, the <code>with</code> methods return modified
+ * copies.
+ *
+ * @param <T>
+ *            a throwable subclass
+ */
+public final class ThrowableMessageTemplateMatcher<T extends Throwable> extends BaseMatcher<T> {
+
+    private final MessageTemplate template;
+
+    /**
+     * The indices of the placeholders that shall stand for the numbers in
+     * {@link #expectedValues}.
+     */
+    private final int[] placeholders;
+
+    private final long[] expectedValues;
+
+    private ThrowableMessageTemplateMatcher(MessageTemplate template, int[] placeholders, long[] expectedValues) {
+        super();
+        this.template = template;
+        this.placeholders = placeholders;
+        this.expectedValues = expectedValues;
+    }
+
+    /**
+     * @param template
+     *            the template the message shall match
+     */
+    ThrowableMessageTemplateMatcher(MessageTemplate template) {
+        this(template, new int[0], new long[0]);
+    }
+
+    /**
+     * @param placeholder
+     *            the index of the placeholder, starting with 0
+     * @param expected
+     *            the expected number
+     * @return Returns a copy of this matcher that also expects the given
+     *         placeholder to stand for the given <code>int</code>.
+     */
+    public ThrowableMessageTemplateMatcher<T> withInt(int placeholder, int expected) {
+        return withLong(placeholder, expected);
+    }
+
+    /**
+     * @param placeholder
+     *            the index of the placeholder, starting with 0
+     * @param expected
+     *            the expected number
+     * @return Returns a copy of this matcher that also expects the given
+     *         placeholder to stand for the given <code>long</code>.
+     */
+    public ThrowableMessageTemplateMatcher<T> withLong(int placeholder, long expected) {
+        if (placeholder < 0 || placeholder >= template.getPlaceholderCount()) {
+            throw new IndexOutOfBoundsException("placeholder " + placeholder + " of " + template);
+        }
+        int length = placeholders.length;
+        int[] newPlaceholders = Arrays.copyOf(placeholders, length + 1);
+        long[] newExpectedValues = Arrays.copyOf(expectedValues, length + 1);
+        newPlaceholders[length] = placeholder;
+        newExpectedValues[length] = expected;
+        return new ThrowableMessageTemplateMatcher<>(template, newPlaceholders, newExpectedValues);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.hamcrest.Matcher#matches(java.lang.Object)
+     */
+    @Override
+    public boolean matches(Object obj) {
+        if (!(obj instanceof Throwable)) {
+            return false;
+        }
+        String message = ((Throwable) obj).getMessage();
+        int[] bounds = new int[2 * template.getPlaceholderCount()];
+        return template.locateAll(message, bounds) && firstWrongValue(message, bounds) < 0;
+    }
+
+    /**
+     * @param message
+     *            a message that matches the template
+     * @param bounds
+     *            the bounds of all placeholders in the given message, see
+     *            {@link MessageTemplate#locateAll(String, int[])}
+     * @return Returns the index of the first expectation that is not met or
+     *         -1 if all are met.
+     */
+    private int firstWrongValue(String message, int[] bounds) {
+        for (int i = 0; i < placeholders.length; i++) {
+            int placeholder = placeholders[i];
+            try {
+                if (MessageTemplate.parseLong(message, bounds[2 * placeholder], bounds[2 * placeholder + 1])
+                        != expectedValues[i]) {
+                    return i;
+                }
+            } catch (NumberFormatException e) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.hamcrest.SelfDescribing#describeTo(org.hamcrest.Description)
+     */
+    @Override
+    public void describeTo(Description description) {
+        description.appendText("has a message like ").appendValue(template.toString());
+        for (int i = 0; i < placeholders.length; i++) {
+            description.appendText(i == 0 ? " with " : " and ").appendText("placeholder " + placeholders[i] + " = "
+                    + expectedValues[i]);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.hamcrest.BaseMatcher#describeMismatch(java.lang.Object,
+     * org.hamcrest.Description)
+     */
+    @Override
+    public void describeMismatch(Object item, Description description) {
+        if (!(item instanceof Throwable)) {
+            super.describeMismatch(item, description);
+            return;
+        }
+        String message = ((Throwable) item).getMessage();
+        int[] bounds = new int[2 * template.getPlaceholderCount()];
+        if (!template.locateAll(message, bounds)) {
+            description.appendText("message was ").appendValue(MessageAbbreviator.abbreviate(message));
+            return;
+        }
+        int wrong = firstWrongValue(message, bounds);
+        if (wrong >= 0) {
+            int placeholder = placeholders[wrong];
+            description.appendText("placeholder " + placeholder + " was ")
+                    .appendValue(message.substring(bounds[2 * placeholder], bounds[2 * placeholder + 1]));
+        }
+    }
+
+}
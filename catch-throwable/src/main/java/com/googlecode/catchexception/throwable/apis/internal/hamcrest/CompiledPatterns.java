@@ -0,0 +1,85 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.throwable.apis.internal.hamcrest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A bounded, thread-safe cache of compiled regular expressions. Each entry
+ * keeps one {@link Matcher} per thread, so matching a cached pattern neither
+ * compiles the pattern nor allocates a matcher.
+ */
+final class CompiledPatterns {
+
+    /**
+     * The maximum number of cached patterns. The cache is cleared when it is
+     * full, suites use far fewer distinct patterns.
+     */
+    static final int MAX_SIZE = 256;
+
+    private static final Map<String, CompiledPatterns> CACHE = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<Matcher> matchers;
+
+    private CompiledPatterns(Pattern pattern) {
+        this.matchers = ThreadLocal.withInitial(() -> pattern.matcher(""));
+    }
+
+    /**
+     * @param regex
+     *            the regular expression
+     * @return Returns the cached compiled form of the given regular
+     *         expression.
+     * @throws java.util.regex.PatternSyntaxException
+     *             if the expression is invalid
+     */
+    static CompiledPatterns compile(String regex) {
+        CompiledPatterns compiled = CACHE.get(regex);
+        if (compiled == null) {
+            if (CACHE.size() >= MAX_SIZE) {
+                CACHE.clear();
+            }
+            compiled = CACHE.computeIfAbsent(regex, key -> new CompiledPatterns(Pattern.compile(key)));
+        }
+        return compiled;
+    }
+
+    /**
+     * @param input
+     *            the text to match
+     * @param find
+     *            true if a part of the input shall match, false if the whole
+     *            input shall match
+     * @return Returns true if the input matches the pattern.
+     */
+    boolean matches(CharSequence input, boolean find) {
+        Matcher matcher = matchers.get().reset(input);
+        boolean matches = find ? matcher.find() : matcher.matches();
+        // do not retain the input
+        matcher.reset("");
+        return matches;
+    }
+
+    /**
+     * @return Returns the number of cached patterns.
+     */
+    static int size() {
+        return CACHE.size();
+    }
+}
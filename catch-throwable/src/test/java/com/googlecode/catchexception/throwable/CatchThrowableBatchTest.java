@@ -0,0 +1,211 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.throwable;
+
+import static com.googlecode.catchexception.throwable.CatchThrowable.catchAll;
+import static com.googlecode.catchexception.throwable.CatchThrowable.catchAllConcurrent;
+import static com.googlecode.catchexception.throwable.CatchThrowable.catchAllParallel;
+import static com.googlecode.catchexception.throwable.CatchThrowable.verifyAll;
+import static com.googlecode.catchexception.throwable.CatchThrowable.verifyAllConcurrent;
+import static com.googlecode.catchexception.throwable.CatchThrowable.verifyAllParallel;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+/**
+ * Tests the batch methods of {@link CatchThrowable}.
+ */
+@SuppressWarnings("javadoc")
+public class CatchThrowableBatchTest {
+
+    private final List<Integer> inputs = Arrays.asList(1, 2, 3, 4);
+
+    private static void check(int input) {
+        if (input % 2 == 0) {
+            throw new AssertionError(input);
+        }
+        if (input == 3) {
+            throw new IllegalStateException();
+        }
+    }
+
+    @Test
+    public void testCatchAll() {
+
+        BatchResult result = catchAll(inputs, CatchThrowableBatchTest::check, AssertionError.class);
+
+        assertEquals(4, result.size());
+        assertEquals(2, result.getCaughtCount());
+        assertArrayEquals(new int[] { 0 }, result.getNotThrownIndices());
+        assertArrayEquals(new int[] { 2 }, result.getUnexpectedIndices());
+        assertEquals(Integer.valueOf(2), result.getHistogram().get(AssertionError.class));
+    }
+
+    @Test
+    public void testVerifyAll() {
+
+        assertTrue(verifyAll(new ThrowingCallable[] { () -> check(2) }, Error.class).isAllCaught());
+
+        try {
+            verifyAll(inputs, CatchThrowableBatchTest::check, AssertionError.class);
+            fail("ThrowableNotThrownAssertionError is expected");
+        } catch (ThrowableNotThrownAssertionError e) {
+            assertEquals("Throwable of type java.lang.AssertionError expected but not thrown by all inputs."
+                    + " 2 of 4 inputs threw a throwable of type java.lang.AssertionError."
+                    + " No throwable was thrown by the inputs at [0]."
+                    + " Throwables of other types were thrown by the inputs at [2]."
+                    + " Thrown: {class java.lang.AssertionError=2, class java.lang.IllegalStateException=1}",
+                    e.getMessage());
+        }
+    }
+
+    @Test
+    public void testCatchAll_nullActor() {
+
+        AtomicInteger calls = new AtomicInteger();
+        ThrowingCallable counting = () -> {
+            calls.incrementAndGet();
+            throw new AssertionError();
+        };
+        ThrowingCallable[] actors = { counting, null };
+
+        assertNullActorRejected(() -> catchAll(actors, AssertionError.class));
+        assertNullActorRejected(() -> catchAllParallel(Arrays.asList(actors), AssertionError.class));
+        assertNullActorRejected(() -> catchAllConcurrent(Arrays.asList(actors), 2, AssertionError.class));
+        // the actors of arrays and lists are checked before any actor is called
+        assertEquals(0, calls.get());
+
+        assertNullActorRejected(() -> catchAll(new LinkedList<>(Arrays.asList(actors))::iterator, AssertionError.class));
+        assertNullActorRejected(() -> catchAll(Stream.of(actors), AssertionError.class));
+        assertNullActorRejected(() -> verifyAll(Stream.of(actors), AssertionError.class));
+        assertEquals(3, calls.get());
+    }
+
+    private static void assertNullActorRejected(Runnable batch) {
+        try {
+            batch.run();
+            fail("IllegalArgumentException is expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("actor must not be null", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testCatchAllParallel_sameAsSequential() {
+
+        List<Integer> many = IntStream.range(0, 10_000).boxed().collect(Collectors.toCollection(LinkedList::new));
+
+        BatchResult sequential = catchAll(many, CatchThrowableBatchTest::check, AssertionError.class);
+        BatchResult parallel = catchAllParallel(many, CatchThrowableBatchTest::check, AssertionError.class);
+
+        assertEquals(sequential.size(), parallel.size());
+        assertEquals(sequential.getCaughtCount(), parallel.getCaughtCount());
+        assertArrayEquals(sequential.getNotThrownIndices(), parallel.getNotThrownIndices());
+        assertArrayEquals(sequential.getUnexpectedIndices(), parallel.getUnexpectedIndices());
+        assertEquals(sequential.getHistogram(), parallel.getHistogram());
+    }
+
+    @Test
+    public void testCatchAllParallel_pool() {
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            BatchResult result = catchAllParallel(inputs, CatchThrowableBatchTest::check, AssertionError.class, pool);
+
+            assertEquals(2, result.getCaughtCount());
+            assertArrayEquals(new int[] { 0 }, result.getNotThrownIndices());
+            assertArrayEquals(new int[] { 2 }, result.getUnexpectedIndices());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testVerifyAllParallel_callables() {
+
+        List<ThrowingCallable> actors = Collections.nCopies(1_000, () -> check(2));
+        assertTrue(verifyAllParallel(actors, AssertionError.class).isAllCaught());
+
+        try {
+            verifyAllParallel(inputs, CatchThrowableBatchTest::check, AssertionError.class);
+            fail("ThrowableNotThrownAssertionError is expected");
+        } catch (ThrowableNotThrownAssertionError e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("2 of 4 inputs threw"));
+        }
+    }
+
+    @Test
+    public void testCatchAllConcurrent_boundedConcurrency() {
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<ThrowingCallable> actors = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            boolean throwing = i != 7;
+            actors.add(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    // a blocking actor
+                    Thread.sleep(1);
+                } finally {
+                    running.decrementAndGet();
+                }
+                if (throwing) {
+                    throw new AssertionError("closed");
+                }
+            });
+        }
+
+        BatchResult result = catchAllConcurrent(actors, 8, AssertionError.class);
+
+        assertEquals(200, result.size());
+        assertEquals(199, result.getCaughtCount());
+        assertArrayEquals(new int[] { 7 }, result.getNotThrownIndices());
+        assertTrue(String.valueOf(maxRunning.get()), maxRunning.get() <= 8);
+    }
+
+    @Test
+    public void testVerifyAllConcurrent() {
+
+        try {
+            verifyAllConcurrent(Collections.nCopies(10, () -> { }), 4, AssertionError.class);
+            fail("ThrowableNotThrownAssertionError is expected");
+        } catch (ThrowableNotThrownAssertionError e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("0 of 10 inputs threw"));
+        }
+
+        try {
+            verifyAllConcurrent(Collections.<ThrowingCallable> emptyList(), 0, AssertionError.class);
+            fail("IllegalArgumentException is expected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("maxConcurrency must be positive", e.getMessage());
+        }
+    }
+}
@@ -17,9 +17,12 @@ package com.googlecode.catchexception.throwable;
 
 import static com.googlecode.catchexception.throwable.CatchThrowable.catchThrowable;
 import static com.googlecode.catchexception.throwable.CatchThrowable.caughtThrowable;
+import static com.googlecode.catchexception.throwable.CatchThrowable.throwsThrowable;
 import static com.googlecode.catchexception.throwable.CatchThrowable.verifyThrowable;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -309,4 +312,31 @@ public class CatchThrowableTest {
         assertTrue(caughtThrowable() instanceof MyThrowable);
     }
 
+    @Test
+    public void testEstimateRetainedBytes() {
+
+        CatchThrowable.resetCaughtThrowable();
+        assertEquals(0, CatchThrowable.estimateRetainedBytes());
+
+        catchThrowable(() -> {
+            throw new Error("ddd", new IllegalStateException());
+        });
+        assertTrue(CatchThrowable.estimateRetainedBytes() > 0);
+    }
+
+    @Test
+    public void testThrowsThrowable() {
+
+        Object caughtBefore = caughtThrowable();
+
+        assertTrue(throwsThrowable(() -> list.get(0)));
+        assertTrue(throwsThrowable(() -> list.get(0), IndexOutOfBoundsException.class));
+        assertFalse(throwsThrowable(list::size));
+        assertFalse(throwsThrowable(list::size, IndexOutOfBoundsException.class));
+        // another type is not rethrown
+        assertFalse(throwsThrowable(() -> list.get(0), AssertionError.class));
+
+        // the holder is not touched
+        assertSame(caughtBefore, caughtThrowable());
+    }
 }
@@ -0,0 +1,84 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.throwable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link StackTraceTrimmer}.
+ */
+@SuppressWarnings("javadoc")
+public class StackTraceTrimmerTest {
+
+    private static Throwable catchViaCatchThrowable() {
+        CatchThrowable.catchThrowable(() -> {
+            throw new IllegalStateException("foo", new IllegalArgumentException("bar"));
+        });
+        return CatchThrowable.caughtThrowable();
+    }
+
+    @Test
+    public void testCallSite() {
+
+        Throwable caught = catchViaCatchThrowable();
+        int fullLength = caught.getStackTrace().length;
+
+        new StackTraceTrimmer(true, 0).trim(caught);
+
+        StackTraceElement[] stackTrace = caught.getStackTrace();
+        assertEquals(2, stackTrace.length);
+        assertTrue(stackTrace[0].getMethodName().startsWith("lambda$"));
+        assertEquals("catchViaCatchThrowable", stackTrace[1].getMethodName());
+        assertTrue(fullLength > stackTrace.length);
+
+        // the cause has been created in the same call
+        assertEquals(2, caught.getCause().getStackTrace().length);
+    }
+
+    @Test
+    public void testCallSite_notThrownThroughCaptor() {
+
+        Throwable throwable = new Throwable();
+        int fullLength = throwable.getStackTrace().length;
+
+        new StackTraceTrimmer(true, 0).trim(throwable);
+
+        assertEquals(fullLength, throwable.getStackTrace().length);
+    }
+
+    @Test
+    public void testMaxDepth() {
+
+        Throwable caught = catchViaCatchThrowable();
+
+        new StackTraceTrimmer(false, 3).trim(caught);
+
+        assertEquals(3, caught.getStackTrace().length);
+        assertEquals(3, caught.getCause().getStackTrace().length);
+    }
+
+    @Test
+    public void testDisabled() {
+
+        assertFalse(new StackTraceTrimmer(false, 0).isEnabled());
+        assertTrue(new StackTraceTrimmer(false, 1).isEnabled());
+        assertTrue(new StackTraceTrimmer(true, 0).isEnabled());
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright (C) 2011 rwoo@gmx.de
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.googlecode.catchexception.throwable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import com.googlecode.catchexception.throwable.ThrowableHolder;
+
+/**
+ * Tests {@link ThrowableHolder}
+ */
+@SuppressWarnings("javadoc")
+public class ThrowableHolderTest {
+
+    public static class SingleSlotStrategy implements ThrowableHolderStrategy {
+
+        private volatile Throwable caughtThrowable;
+
+        @Override
+        public Throwable get() {
+            return caughtThrowable;
+        }
+
+        @Override
+        public void set(Throwable caughtThrowable) {
+            this.caughtThrowable = caughtThrowable;
+        }
+    }
+
+    @Test
+    public void testCaughtThrowableIsNull() throws Exception {
+
+        ThrowableHolder.set(null);
+        assertNull(ThrowableHolder.get());
+    }
+
+    @Test
+    public void testCreateStrategy_threadLocal() throws Exception {
+
+        ThrowableHolderStrategy strategy = ThrowableHolder.createStrategy("threadlocal");
+        assertTrue(strategy instanceof ThreadLocalThrowableHolderStrategy);
+
+        Throwable e = new Throwable();
+        strategy.set(e);
+        assertSame(e, strategy.get());
+
+        Throwable[] caughtInOtherThread = { e };
+        Thread other = new Thread(() -> caughtInOtherThread[0] = strategy.get());
+        other.start();
+        other.join();
+        assertNull(caughtInOtherThread[0]);
+    }
+
+    @Test
+    public void testCreateStrategy_customClass() {
+
+        ThrowableHolderStrategy strategy = ThrowableHolder.createStrategy(SingleSlotStrategy.class.getName());
+        assertTrue(strategy instanceof SingleSlotStrategy);
+    }
+
+    @Test
+    public void testCreateStrategy_invalidClass() {
+
+        try {
+            ThrowableHolder.createStrategy(String.class.getName());
+            fail("IllegalStateException is expected");
+        } catch (IllegalStateException e) {
+            assertEquals("Cannot create the strategy 'java.lang.String' given by the system property "
+                    + "catchthrowable.holder", e.getMessage());
+        }
+    }
+}
@@ -16,6 +16,8 @@
 package com.googlecode.catchexception.throwable.test.apis;
 
 import static com.googlecode.catchexception.throwable.apis.BDDCatchThrowable.caughtThrowable;
+import static com.googlecode.catchexception.throwable.apis.BDDCatchThrowable.caughtProperty;
+import static com.googlecode.catchexception.throwable.apis.BDDCatchThrowable.caughtSuppressed;
 import static com.googlecode.catchexception.throwable.apis.BDDCatchThrowable.thenThrown;
 import static com.googlecode.catchexception.throwable.apis.BDDCatchThrowable.when;
 import static org.assertj.core.api.BDDAssertions.then;
@@ -27,6 +29,9 @@ import java.util.List;
 
 import org.junit.Test;
 
+import com.googlecode.catchexception.throwable.MyThrowable;
+import com.googlecode.catchexception.throwable.apis.ThrowableProperties;
+
 /**
  * Tests {@link com.googlecode.catchexception.throwable.apis.BDDCatchThrowable}.
  *
@@ -123,4 +128,31 @@ public class BDDCatchThrowableTest {
 
     }
 
+    @Test
+    public void testCaughtSuppressed() {
+
+        when(() -> {
+            Error primary = new Error("write failed");
+            primary.addSuppressed(new AssertionError("close failed"));
+            throw primary;
+        });
+        then(caughtSuppressed()).extracting(Throwable::getMessage).containsExactly("close failed");
+
+        when(() -> { });
+        then(caughtSuppressed()).isEmpty();
+    }
+
+    @Test
+    public void testCaughtProperty() {
+
+        when(() -> {
+            throw new MyThrowable(500);
+        });
+        then(caughtProperty("errorCode")).isEqualTo(500);
+        then(caughtThrowable()).extracting(ThrowableProperties.property("errorCode")).isEqualTo(500);
+
+        when(() -> { });
+        then(caughtProperty("errorCode")).isNull();
+    }
+
 }
@@ -17,23 +17,40 @@ package com.googlecode.catchexception.throwable.test.apis;
 
 import static com.googlecode.catchexception.throwable.CatchThrowable.catchThrowable;
 import static com.googlecode.catchexception.throwable.CatchThrowable.caughtThrowable;
+import static com.googlecode.catchexception.throwable.apis.CatchThrowableHamcrestMatchers.throwableOfType;
+import static com.googlecode.catchexception.throwable.apis.CatchThrowableHamcrestMatchers.hasCause;
+import static com.googlecode.catchexception.throwable.apis.CatchThrowableHamcrestMatchers.hasCauseInChain;
 import static com.googlecode.catchexception.throwable.apis.CatchThrowableHamcrestMatchers.hasMessage;
+import static com.googlecode.catchexception.throwable.apis.CatchThrowableHamcrestMatchers.hasMessageFinding;
+import static com.googlecode.catchexception.throwable.apis.CatchThrowableHamcrestMatchers.hasMessageMatching;
+import static com.googlecode.catchexception.throwable.apis.CatchThrowableHamcrestMatchers.hasMessageTemplate;
 import static com.googlecode.catchexception.throwable.apis.CatchThrowableHamcrestMatchers.hasMessageThat;
 import static com.googlecode.catchexception.throwable.apis.CatchThrowableHamcrestMatchers.hasNoCause;
+import static com.googlecode.catchexception.throwable.apis.CatchThrowableHamcrestMatchers.hasProperty;
+import static com.googlecode.catchexception.throwable.apis.CatchThrowableHamcrestMatchers.hasRootCause;
+import static com.googlecode.catchexception.throwable.apis.CatchThrowableHamcrestMatchers.hasSuppressed;
+import static com.googlecode.catchexception.throwable.apis.CatchThrowableHamcrestMatchers.hasSuppressedCount;
+import static com.googlecode.catchexception.throwable.apis.CatchThrowableHamcrestMatchers.hasSuppressedMessages;
+import static com.googlecode.catchexception.throwable.apis.CatchThrowableHamcrestMatchers.hasSuppressedTypes;
+import static com.googlecode.catchexception.throwable.apis.CatchThrowableHamcrestMatchers.thrownFrom;
+import static com.googlecode.catchexception.throwable.apis.CatchThrowableHamcrestMatchers.thrownWithin;
 import static org.hamcrest.CoreMatchers.allOf;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.isA;
+import static org.hamcrest.CoreMatchers.not;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import com.googlecode.catchexception.throwable.MyThrowable;
 import com.googlecode.catchexception.throwable.apis.CatchThrowableHamcrestMatchers;
 import com.googlecode.catchexception.throwable.matcher.Find;
 
@@ -218,4 +235,236 @@ public class CatchThrowableHamcrestMatchersTest {
         }
 
     }
+
+    /**
+     * Counts the calls of {@link #getMessage()}.
+     */
+    private static class CountingError extends Error {
+
+        private static final long serialVersionUID = 1L;
+
+        private int messageCalls;
+
+        CountingError(String message, Throwable cause) {
+            super(message, cause);
+        }
+
+        @Override
+        public String getMessage() {
+            messageCalls++;
+            return super.getMessage();
+        }
+    }
+
+    @Test
+    public void testMatcher_throwableOfType() {
+
+        CountingError thrown = new CountingError("computed",
+                new IllegalStateException(new IllegalArgumentException()));
+        org.hamcrest.Matcher<Throwable> matcher = throwableOfType(CountingError.class)
+                .withMessageThat(containsString("comp"))
+                .withCauseChain(IllegalStateException.class, RuntimeException.class);
+
+        assertThat(thrown, matcher);
+        assertEquals(1, thrown.messageCalls);
+
+        assertThat(caughtThrowable(), throwableOfType(IndexOutOfBoundsException.class).withNoCause());
+
+        try {
+            assertThat(thrown, throwableOfType(Error.class)
+                    .withMessage("computed")
+                    .withNoCause());
+            throw new RuntimeException("AssertionError expected");
+        } catch (AssertionError e) {
+            assertMessage(e.getMessage(),
+                    "Expected: a throwable of type java.lang.Error with a message that is \"computed\" with no cause",
+                    "but: cause 0 was java.lang.IllegalStateException: java.lang.IllegalArgumentException");
+        }
+
+        // the message is read once to match and once to describe the mismatch
+        thrown.messageCalls = 0;
+        try {
+            assertThat(thrown, throwableOfType(Error.class).withMessage("other"));
+            throw new RuntimeException("AssertionError expected");
+        } catch (AssertionError e) {
+            assertEquals(2, thrown.messageCalls);
+            assertMessage(e.getMessage(),
+                    "Expected: a throwable of type java.lang.Error with a message that is \"other\"",
+                    "but: message was \"computed\"");
+        }
+
+        try {
+            assertThat(thrown, throwableOfType(Error.class).withCauseChain(IllegalStateException.class,
+                    IllegalArgumentException.class, IllegalArgumentException.class));
+            throw new RuntimeException("AssertionError expected");
+        } catch (AssertionError e) {
+            assertMessage(e.getMessage(),
+                    "Expected: a throwable of type java.lang.Error with cause chain [java.lang.IllegalStateException,"
+                            + " java.lang.IllegalArgumentException, java.lang.IllegalArgumentException]",
+                    "but: cause chain ended after 2 causes");
+        }
+    }
+
+    @Test
+    public void testMatcher_hasMessageMatching() {
+
+        assertThat(caughtThrowable(), hasMessageMatching("Index:? 9.*9"));
+        assertThat(new IllegalStateException("a1b"), hasMessageMatching("a\\db"));
+
+        try {
+            assertThat(new IllegalStateException("a1b"), hasMessageMatching("\\d"));
+            throw new RuntimeException("AssertionError expected");
+        } catch (AssertionError e) {
+            assertMessage(e.getMessage(), "Expected: has a message matching \"\\\\d\"",
+                    "but: message was \"a1b\"");
+        }
+    }
+
+    @Test
+    public void testMatcher_hasMessageFinding() {
+
+        assertThat(caughtThrowable(), hasMessageFinding("\\d+"));
+        assertThat(new IllegalStateException("a1b"), hasMessageFinding("\\d"));
+
+        try {
+            assertThat(new IllegalStateException(), hasMessageFinding("\\d"));
+            throw new RuntimeException("AssertionError expected");
+        } catch (AssertionError e) {
+            assertMessage(e.getMessage(), "Expected: has a message containing a match for \"\\\\d\"",
+                    "but: message was null");
+        }
+    }
+
+    @Test
+    public void testMatcher_hasMessageFinding_parallel() {
+
+        org.hamcrest.Matcher<Throwable> matcher = hasMessageFinding("^item \\d+$");
+
+        assertEquals(10_000, IntStream.range(0, 10_000).parallel()
+                .filter(i -> matcher.matches(new IllegalStateException("item " + i))
+                        && !matcher.matches(new IllegalStateException("item " + i + "x")))
+                .count());
+    }
+
+    @Test
+    public void testMatcher_hasMessageTemplate() {
+
+        IllegalStateException thrown = new IllegalStateException("Index: 9, Size: 10");
+        assertThat(thrown, hasMessageTemplate("Index: {}, Size: {}"));
+        assertThat(thrown, hasMessageTemplate("Index: {}, Size: {}").withInt(0, 9).withLong(1, 10L));
+
+        try {
+            assertThat(thrown, hasMessageTemplate("Index: {}, Size: {}").withInt(0, 9).withInt(1, 9));
+            throw new RuntimeException("AssertionError expected");
+        } catch (AssertionError e) {
+            assertMessage(e.getMessage(),
+                    "Expected: has a message like \"Index: {}, Size: {}\" with placeholder 0 = 9"
+                            + " and placeholder 1 = 9",
+                    "but: placeholder 1 was \"10\"");
+        }
+
+        try {
+            assertThat(thrown, hasMessageTemplate("Size: {}"));
+            throw new RuntimeException("AssertionError expected");
+        } catch (AssertionError e) {
+            assertMessage(e.getMessage(), "Expected: has a message like \"Size: {}\"",
+                    "but: message was \"Index: 9, Size: 10\"");
+        }
+    }
+
+    @Test
+    public void testMatcher_causeChain() {
+
+        Error root = new AssertionError("timeout");
+        RuntimeException middle = new RuntimeException("query failed", root);
+        Error top = new Error("save failed", middle);
+
+        assertThat(top, hasCause(RuntimeException.class));
+        assertThat(top, not(hasCause(AssertionError.class)));
+        assertThat(top, hasRootCause(AssertionError.class));
+        assertThat(top, hasRootCause(hasMessage("timeout")));
+        assertThat(top, hasCauseInChain(instanceOf(AssertionError.class), 2));
+        assertThat(top, not(hasCauseInChain(instanceOf(AssertionError.class), 1)));
+
+        root.initCause(top);
+        assertThat(top, hasCauseInChain(hasMessage("save failed")));
+        assertThat(top, not(hasCauseInChain(hasMessage("none"))));
+        assertThat(top, not(hasRootCause(Throwable.class)));
+    }
+
+    @Test
+    public void testMatcher_suppressed() {
+
+        Error primary = new Error("write failed");
+        primary.addSuppressed(new AssertionError("close failed"));
+        primary.addSuppressed(new IllegalStateException("flush failed"));
+
+        assertThat(primary, hasSuppressedCount(2));
+        assertThat(primary, hasSuppressedTypes(AssertionError.class, RuntimeException.class));
+        assertThat(primary, not(hasSuppressedTypes(RuntimeException.class, AssertionError.class)));
+        assertThat(primary, hasSuppressedMessages("close failed", "flush failed"));
+        assertThat(primary, hasSuppressed(hasMessage("flush failed")));
+        assertThat(primary, not(hasSuppressed(hasMessage("write failed"))));
+    }
+
+    @Test
+    public void testMatcher_thrownFrom() {
+
+        catchThrowable(() -> fail());
+        assertThat(caughtThrowable(), thrownFrom(CatchThrowableHamcrestMatchersTest.class, "fail"));
+        assertThat(caughtThrowable(), thrownFrom(CatchThrowableHamcrestMatchersTest.class));
+        assertThat(caughtThrowable(), not(thrownFrom(CatchThrowableHamcrestMatchersTest.class, "setup")));
+        assertThat(caughtThrowable(), thrownWithin("com.googlecode.catchexception.throwable.test"));
+        assertThat(caughtThrowable(), not(thrownWithin("java.lang")));
+    }
+
+    private static void fail() {
+        throw new AssertionError("failed");
+    }
+
+    @Test
+    public void testMatcher_thrownFrom_helperFrame() {
+
+        // thrown by the helper, called by the validator
+        catchThrowable(() -> validateViaHelper(""));
+        assertThat(caughtThrowable(), thrownFrom(CatchThrowableHamcrestMatchersTest.class, "validateViaHelper"));
+        assertThat(caughtThrowable(), thrownFrom(Preconditions.class, "checkArgument"));
+
+        // a chain of two helpers exceeds the default depth
+        catchThrowable(() -> validateViaHelpers(""));
+        assertThat(caughtThrowable(), not(thrownFrom(CatchThrowableHamcrestMatchersTest.class, "validateViaHelpers")));
+        assertThat(caughtThrowable(), thrownFrom(CatchThrowableHamcrestMatchersTest.class, "validateViaHelpers", 3));
+    }
+
+    private static void validateViaHelper(String value) {
+        Preconditions.checkArgument(!value.isEmpty(), "value must not be empty");
+    }
+
+    private static void validateViaHelpers(String value) {
+        Preconditions.checkNotEmpty(value);
+    }
+
+    /**
+     * A helper like Guava's Preconditions.
+     */
+    private static class Preconditions {
+
+        static void checkArgument(boolean expression, String message) {
+            if (!expression) {
+                throw new AssertionError(message);
+            }
+        }
+
+        static void checkNotEmpty(String value) {
+            checkArgument(!value.isEmpty(), "value must not be empty");
+        }
+    }
+
+    @Test
+    public void testMatcher_hasProperty() {
+
+        assertThat(new MyThrowable(500), hasProperty("errorCode", is(500)));
+        assertThat(new MyThrowable(500), not(hasProperty("errorCode", is(404))));
+        assertThat(new MyThrowable(500), not(hasProperty("tenant", is("acme"))));
+    }
 }